@@ -0,0 +1,96 @@
+package com.eventmanagement.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Count Ring
+ *
+ * Counts per fixed-width time bucket for the most recent buckets, held in one int array
+ * used as a ring. Moving past the newest bucket clears the slots being reused, so adding
+ * and reading are O(1) per bucket and the footprint stays fixed whatever the traffic.
+ *
+ * Times are epoch seconds. Not thread-safe.
+ */
+final class CountRing {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long width;
+    private final int[] counts;
+    private long newest = EMPTY;
+
+    /**
+     * @param width Bucket width in seconds
+     * @param length Number of buckets kept
+     */
+    CountRing(long width, int length) {
+        this.width = width;
+        this.counts = new int[length];
+    }
+
+    /**
+     * Add to the bucket holding a time; times older than the ring are ignored
+     *
+     * @param epochSecond Time
+     * @param delta Amount to add; counts do not go below zero
+     */
+    void add(long epochSecond, int delta) {
+        long bucket = Math.floorDiv(epochSecond, width);
+        if (newest == EMPTY) {
+            newest = bucket;
+        } else if (bucket > newest) {
+            if (bucket - newest >= counts.length) {
+                Arrays.fill(counts, 0);
+            } else {
+                for (long cleared = newest + 1; cleared <= bucket; cleared++) {
+                    counts[slot(cleared)] = 0;
+                }
+            }
+            newest = bucket;
+        } else if (bucket <= newest - counts.length) {
+            return;
+        }
+        int slot = slot(bucket);
+        counts[slot] = Math.max(0, counts[slot] + delta);
+    }
+
+    /**
+     * Take the counts of another ring with the same bucket width out of this one
+     *
+     * @param other Ring whose counts were also added to this one
+     */
+    void subtract(CountRing other) {
+        if (other.newest == EMPTY) {
+            return;
+        }
+        for (long bucket = other.newest - other.counts.length + 1; bucket <= other.newest; bucket++) {
+            int count = other.counts[other.slot(bucket)];
+            if (count > 0) {
+                add(bucket * width, -count);
+            }
+        }
+    }
+
+    /**
+     * Counts of the buckets up to the one holding a time
+     *
+     * @param epochSecond Time in the last bucket returned
+     * @param buckets Number of buckets, at most the ring length
+     * @return Counts, oldest first
+     */
+    int[] last(long epochSecond, int buckets) {
+        int[] result = new int[buckets];
+        long first = Math.floorDiv(epochSecond, width) - buckets + 1;
+        for (int i = 0; i < buckets; i++) {
+            long bucket = first + i;
+            if (newest != EMPTY && bucket <= newest && bucket > newest - counts.length) {
+                result[i] = counts[slot(bucket)];
+            }
+        }
+        return result;
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) counts.length);
+    }
+}
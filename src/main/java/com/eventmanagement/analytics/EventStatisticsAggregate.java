@@ -0,0 +1,347 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.mapper.ParticipantMapper;
+import com.eventmanagement.service.EventService;
+import com.eventmanagement.support.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Event Statistics Aggregate
+ *
+ * In-memory materialization of the event statistics. Each event's status, participant
+ * count and capacity are kept by ID, and the totals are adjusted by the difference
+ * whenever one of them changes, so reading the statistics costs O(1) instead of a scan
+ * of the events table.
+ *
+ * The aggregate is seeded from a full scan at startup. Writes made through EventService
+ * and ParticipantService are applied as soon as their transaction commits. A reconciler
+ * rescans the table on a fixed delay, which also picks up writes made by other instances
+ * and status changes made outside the application. The rescan runs in a serializable
+ * read-only transaction, and participant changes committed meanwhile are matched against
+ * that snapshot by participation ID, so only those it missed are replayed. Before swapping
+ * in the rescanned totals, it publishes how far the incremental totals had drifted from
+ * them as the statistics.drift gauge, tagged by field. For events with sharded seat counters the
+ * table lags registrations until the counters are folded, so small transient drift in
+ * totalParticipants is expected there.
+ *
+ * Until the first scan completes the aggregate reports itself as not ready and the
+ * statistics are queried from the database.
+ */
+@Component
+public class EventStatisticsAggregate {
+
+    private static final String[] DRIFT_FIELDS = {
+            "totalEvents", "activeEvents", "completedEvents", "cancelledEvents", "totalParticipants"};
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @Autowired
+    private ParticipantMapper participantMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${eventmanagement.statistics.incremental.enabled:true}")
+    private boolean enabled;
+
+    private Totals totals = new Totals();
+    private volatile boolean ready;
+
+    /**
+     * Changes committed while the reconciler scans the table, replayed onto the new
+     * totals. Guarded by this object's monitor.
+     */
+    private List<Change> changesDuringScan;
+
+    /**
+     * Incremental minus rescanned value at the last reconcile, in DRIFT_FIELDS order
+     */
+    private final AtomicLong[] drift = new AtomicLong[DRIFT_FIELDS.length];
+
+    @PostConstruct
+    void init() {
+        for (int i = 0; i < drift.length; i++) {
+            drift[i] = new AtomicLong();
+            if (meterRegistry != null) {
+                Gauge.builder("statistics.drift", drift[i], AtomicLong::get)
+                        .tag("field", DRIFT_FIELDS[i])
+                        .description("Incremental event statistics minus a rescan of the events table")
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    /**
+     * Whether the statistics can be answered from memory
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Current statistics
+     *
+     * @return Statistics, or null if the aggregate is not ready
+     */
+    public synchronized EventService.EventStatistics snapshot() {
+        if (!isReady()) {
+            return null;
+        }
+        return totals.toStatistics();
+    }
+
+    /**
+     * Apply a created or updated event once the current transaction commits
+     *
+     * @param event Event with its ID, status, participant count and capacity
+     */
+    public void eventSaved(Event event) {
+        Long eventId = event.getEventId();
+        String status = event.getStatus();
+        int participants = event.getCurrentParticipants() != null ? event.getCurrentParticipants() : 0;
+        int capacity = event.getMaxParticipants() != null ? event.getMaxParticipants() : 0;
+        afterCommit(new Change(next -> next.put(eventId, status, participants, capacity)));
+    }
+
+    /**
+     * Apply a deleted event once the current transaction commits
+     *
+     * @param eventId Event ID
+     */
+    public void eventDeleted(Long eventId) {
+        afterCommit(new Change(next -> next.remove(eventId)));
+    }
+
+    /**
+     * Apply a changed participant count once the current transaction commits
+     *
+     * @param eventId Event ID
+     * @param participationId Participation ID of the registration made (delta 1) or
+     *        cancelled (delta -1)
+     * @param delta Participants added (positive) or removed (negative)
+     */
+    public void participantsChanged(Long eventId, Long participationId, int delta) {
+        afterCommit(new Change(participationId, delta, next -> next.addParticipants(eventId, delta)));
+    }
+
+    /**
+     * Apply an overwritten participant count once the current transaction commits
+     *
+     * @param eventId Event ID
+     * @param participants New participant count
+     */
+    public void participantsSet(Long eventId, int participants) {
+        afterCommit(new Change(next -> next.setParticipants(eventId, participants)));
+    }
+
+    /**
+     * Rebuild the totals from a full scan of the events table and record the drift
+     */
+    @Scheduled(fixedDelayString = "${eventmanagement.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            changesDuringScan = new ArrayList<>();
+        }
+
+        Totals next = new Totals();
+        try {
+            SnapshotReplay.snapshot(transactionManager).executeWithoutResult(status -> {
+                eventMapper.scanStatistics(context -> {
+                    Event event = context.getResultObject();
+                    next.put(event.getEventId(), event.getStatus(),
+                            event.getCurrentParticipants() != null ? event.getCurrentParticipants() : 0,
+                            event.getMaxParticipants() != null ? event.getMaxParticipants() : 0);
+                });
+                // Still in the snapshot, so changes committed from here on are not in it
+                synchronized (this) {
+                    // Event writes carry no participation ID, so they are always replayed
+                    for (Change change : SnapshotReplay.missed(changesDuringScan, participantMapper)) {
+                        change.action.accept(next);
+                    }
+                    if (ready) {
+                        long[] current = totals.driftFields();
+                        long[] rescanned = next.driftFields();
+                        for (int i = 0; i < drift.length; i++) {
+                            drift[i].set(current[i] - rescanned[i]);
+                        }
+                    }
+                    totals = next;
+                    ready = true;
+                }
+            });
+        } finally {
+            synchronized (this) {
+                // A failed scan keeps the current totals
+                changesDuringScan = null;
+            }
+        }
+    }
+
+    /**
+     * Incremental minus rescanned value of a field at the last reconcile
+     *
+     * @param field totalEvents, activeEvents, completedEvents, cancelledEvents or totalParticipants
+     * @return Drift, 0 before the second scan
+     */
+    public long getDrift(String field) {
+        for (int i = 0; i < DRIFT_FIELDS.length; i++) {
+            if (DRIFT_FIELDS[i].equals(field)) {
+                return drift[i].get();
+            }
+        }
+        throw new IllegalArgumentException("Unknown statistics field: " + field);
+    }
+
+    private synchronized void apply(Change change) {
+        if (changesDuringScan != null) {
+            changesDuringScan.add(change);
+        }
+        change.action.accept(totals);
+    }
+
+    private void afterCommit(Change change) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> apply(change));
+    }
+
+    /**
+     * Per-event counts and the totals over them; not thread-safe on its own
+     */
+    private static final class Totals {
+
+        private final Map<Long, EventCounts> countsByEvent = new HashMap<>();
+        private long totalEvents;
+        private long activeEvents;
+        private long completedEvents;
+        private long cancelledEvents;
+        private long totalParticipants;
+        private long eventsWithCapacity;
+        private double fillSum;
+
+        void put(Long eventId, String status, int participants, int capacity) {
+            if (eventId == null) {
+                return;
+            }
+            remove(eventId);
+            EventCounts counts = new EventCounts(status, participants, capacity);
+            countsByEvent.put(eventId, counts);
+            add(counts, 1);
+        }
+
+        void remove(Long eventId) {
+            EventCounts counts = countsByEvent.remove(eventId);
+            if (counts != null) {
+                add(counts, -1);
+            }
+        }
+
+        void addParticipants(Long eventId, int delta) {
+            EventCounts counts = countsByEvent.get(eventId);
+            if (counts != null) {
+                setParticipants(eventId, counts.participants + delta);
+            }
+        }
+
+        void setParticipants(Long eventId, int participants) {
+            EventCounts counts = countsByEvent.get(eventId);
+            if (counts != null) {
+                put(eventId, counts.status, Math.max(0, participants), counts.capacity);
+            }
+        }
+
+        EventService.EventStatistics toStatistics() {
+            return new EventService.EventStatistics((int) totalEvents, (int) activeEvents, (int) completedEvents,
+                    (int) cancelledEvents, totalParticipants,
+                    eventsWithCapacity > 0 ? fillSum / eventsWithCapacity : 0.0);
+        }
+
+        long[] driftFields() {
+            return new long[] {totalEvents, activeEvents, completedEvents, cancelledEvents, totalParticipants};
+        }
+
+        private void add(EventCounts counts, int sign) {
+            totalEvents += sign;
+            if ("ACTIVE".equals(counts.status)) {
+                activeEvents += sign;
+            } else if ("COMPLETED".equals(counts.status)) {
+                completedEvents += sign;
+            } else if ("CANCELLED".equals(counts.status)) {
+                cancelledEvents += sign;
+            }
+            totalParticipants += (long) sign * counts.participants;
+            if (counts.capacity > 0) {
+                eventsWithCapacity += sign;
+                fillSum += sign * ((double) counts.participants / counts.capacity);
+            }
+        }
+    }
+
+    /**
+     * A committed write; participant deltas carry the registration they added or removed
+     */
+    private static final class Change implements SnapshotReplay.Change {
+
+        private final Long participationId;
+        private final int delta;
+        private final Consumer<Totals> action;
+
+        Change(Consumer<Totals> action) {
+            this(null, 0, action);
+        }
+
+        Change(Long participationId, int delta, Consumer<Totals> action) {
+            this.participationId = participationId;
+            this.delta = delta;
+            this.action = action;
+        }
+
+        @Override
+        public Long getParticipationId() {
+            return participationId;
+        }
+
+        @Override
+        public int getDelta() {
+            return delta;
+        }
+    }
+
+    private static final class EventCounts {
+
+        private final String status;
+        private final int participants;
+        private final int capacity;
+
+        EventCounts(String status, int participants, int capacity) {
+            this.status = status;
+            this.participants = participants;
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.eventmanagement.analytics;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog
+ *
+ * Estimates the number of distinct values added, in a fixed 4 KB of registers whatever
+ * that number is. Each value's 64-bit hash picks one of 2^PRECISION registers by its top
+ * bits, which keeps the longest run of leading zeros seen in the rest. Two sketches merge
+ * into the sketch of the union by taking the larger of each pair of registers, so sketches
+ * built separately (per organizer, per month, on other instances) can be combined without
+ * double counting.
+ *
+ * The relative standard error is 1.04 / sqrt(2^PRECISION), about 1.6%; small counts are
+ * corrected with linear counting and are close to exact. Not thread-safe.
+ */
+final class HyperLogLog {
+
+    static final int PRECISION = 12;
+    static final int REGISTERS = 1 << PRECISION;
+    static final double RELATIVE_STANDARD_ERROR = 1.04 / Math.sqrt(REGISTERS);
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    HyperLogLog() {
+        this.registers = new byte[REGISTERS];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Restore a sketch from its registers
+     *
+     * @param registers Registers as returned by toBytes
+     * @return Sketch, or null if the registers are for a different precision
+     */
+    static HyperLogLog fromBytes(byte[] registers) {
+        if (registers == null || registers.length != REGISTERS) {
+            return null;
+        }
+        return new HyperLogLog(registers.clone());
+    }
+
+    /**
+     * Add a value
+     *
+     * @param value Value; callers normalize it so equal values hash alike
+     */
+    void add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - PRECISION));
+        // The low guard bit caps the run at 64 - PRECISION zeros
+        long rest = (hash << PRECISION) | (1L << (PRECISION - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Fold another sketch into this one, making this the sketch of the union
+     *
+     * @param other Sketch to merge
+     */
+    void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Estimated number of distinct values added
+     */
+    long estimate() {
+        double sum = 0.0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    byte[] toBytes() {
+        return registers.clone();
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so every bit of the
+     * result depends on every input byte
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,339 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.dto.RegistrationBucket;
+import com.eventmanagement.dto.RegistrationTimeSeriesResponse;
+import com.eventmanagement.mapper.ParticipantMapper;
+import com.eventmanagement.support.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registration Rollups
+ *
+ * Registrations per minute, hour and day, overall and per event, each kept in a CountRing
+ * covering a fixed window (see Resolution). An event's rings are allocated on its first
+ * registration and take about 2.6 KB; the overall rings keep longer windows.
+ *
+ * The rollups are backfilled from registrations grouped by SQL at startup and on a fixed
+ * delay, which also picks up writes made by other instances; registrations and
+ * cancellations made through ParticipantService are applied as soon as their transaction
+ * commits. A backfill reads every resolution in one serializable read-only transaction, so
+ * all of them see the same snapshot, and replays only the changes that snapshot missed,
+ * matched by participation ID. A cancellation takes the registration out of the buckets it
+ * was counted in, and deleting an event, which deletes its registrations, drops its rings
+ * and takes their counts out of the overall rings, so the counts match what a backfill would
+ * find. The overall rings keep longer windows than an event's, so their buckets older than
+ * that still count a deleted event's registrations until the next backfill. Buckets follow
+ * the wall clock of registered_at, like TRUNC in SQL.
+ *
+ * Until the first backfill completes the rollups report themselves as not ready and time
+ * series are grouped by SQL instead.
+ */
+@Component
+public class RegistrationRollups {
+
+    /**
+     * Bucket width with the number of buckets kept per event and overall
+     */
+    public enum Resolution {
+        MINUTE(60, 120, 1440),
+        HOUR(3600, 168, 720),
+        DAY(86400, 366, 730);
+
+        private final long seconds;
+        private final int eventBuckets;
+        private final int totalBuckets;
+
+        Resolution(long seconds, int eventBuckets, int totalBuckets) {
+            this.seconds = seconds;
+            this.eventBuckets = eventBuckets;
+            this.totalBuckets = totalBuckets;
+        }
+
+        /**
+         * Bucket width in seconds
+         */
+        public long getSeconds() {
+            return seconds;
+        }
+
+        /**
+         * Number of buckets a time series can span
+         *
+         * @param eventId Event ID, or null for all events
+         */
+        public int maxBuckets(Long eventId) {
+            return eventId != null ? eventBuckets : totalBuckets;
+        }
+
+        /**
+         * Start of the first bucket of a time series ending at a time
+         *
+         * @param buckets Number of buckets in the series
+         * @param now Time in the newest bucket
+         */
+        public LocalDateTime firstBucketStart(int buckets, LocalDateTime now) {
+            long newest = Math.floorDiv(epochSecond(now), seconds);
+            return toDateTime((newest - buckets + 1) * seconds);
+        }
+    }
+
+    @Autowired
+    private ParticipantMapper participantMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${eventmanagement.registrations.rollups.enabled:true}")
+    private boolean enabled;
+
+    private Rollups rollups = new Rollups();
+    private volatile boolean ready;
+
+    /**
+     * Changes committed while a backfill runs, replayed onto the new rollups. Guarded by
+     * this object's monitor.
+     */
+    private List<Change> changesDuringBackfill;
+
+    /**
+     * Whether time series can be answered from memory
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Count a registration once the current transaction commits
+     *
+     * @param eventId Event ID
+     * @param participationId Participation ID
+     * @param registeredAt Registration time
+     */
+    public void registered(Long eventId, Long participationId, LocalDateTime registeredAt) {
+        afterCommit(new Change(eventId, participationId, registeredAt, 1));
+    }
+
+    /**
+     * Uncount a cancelled registration once the current transaction commits
+     *
+     * @param eventId Event ID
+     * @param participationId Participation ID of the cancelled registration
+     * @param registeredAt Time the cancelled registration was made
+     */
+    public void cancelled(Long eventId, Long participationId, LocalDateTime registeredAt) {
+        afterCommit(new Change(eventId, participationId, registeredAt, -1));
+    }
+
+    /**
+     * Uncount every registration of a deleted event once the current transaction commits
+     *
+     * @param eventId Event ID
+     */
+    public void eventDeleted(Long eventId) {
+        afterCommit(new Change(eventId, null, null, 0));
+    }
+
+    /**
+     * Registrations per bucket for the buckets up to the current one
+     *
+     * @param eventId Event ID, or null for all events
+     * @param resolution Bucket width
+     * @param buckets Number of buckets, at most resolution.maxBuckets(eventId)
+     * @param now Time in the newest bucket
+     * @return Points oldest first, or null if the rollups are not ready
+     */
+    public synchronized List<RegistrationTimeSeriesResponse.Point> series(Long eventId, Resolution resolution,
+                                                                          int buckets, LocalDateTime now) {
+        if (!isReady()) {
+            return null;
+        }
+        CountRing[] rings = eventId != null ? rollups.ringsByEvent.get(eventId) : rollups.totals;
+        int[] counts = rings != null ? rings[resolution.ordinal()].last(epochSecond(now), buckets) : new int[buckets];
+
+        LocalDateTime first = resolution.firstBucketStart(buckets, now);
+        List<RegistrationTimeSeriesResponse.Point> points = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            points.add(new RegistrationTimeSeriesResponse.Point(first.plusSeconds(i * resolution.seconds), counts[i]));
+        }
+        return points;
+    }
+
+    /**
+     * Rebuild the rollups from the registrations grouped per bucket by SQL
+     */
+    @Scheduled(fixedDelayString = "${eventmanagement.registrations.rollups.backfill-interval-ms:3600000}")
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            changesDuringBackfill = new ArrayList<>();
+        }
+
+        Rollups next = new Rollups();
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            SnapshotReplay.snapshot(transactionManager).executeWithoutResult(status -> {
+                for (Resolution resolution : Resolution.values()) {
+                    // The overall rings keep the longer window
+                    participantMapper.scanRegistrationBuckets(resolution.name(),
+                            resolution.firstBucketStart(resolution.maxBuckets(null), now),
+                            context -> next.add(context.getResultObject(), resolution));
+                }
+                // Still in the snapshot, so changes committed from here on are not in it
+                synchronized (this) {
+                    // Event deletions carry no participation ID, so they are always replayed;
+                    // they only drop what is left of the event
+                    for (Change change : SnapshotReplay.missed(changesDuringBackfill, participantMapper)) {
+                        change.applyTo(next);
+                    }
+                    rollups = next;
+                    ready = true;
+                }
+            });
+        } finally {
+            synchronized (this) {
+                // A failed backfill keeps the current rollups
+                changesDuringBackfill = null;
+            }
+        }
+    }
+
+    /**
+     * Number of events with registration rings
+     */
+    public synchronized int size() {
+        return rollups.ringsByEvent.size();
+    }
+
+    private synchronized void apply(Change change) {
+        if (changesDuringBackfill != null) {
+            changesDuringBackfill.add(change);
+        }
+        change.applyTo(rollups);
+    }
+
+    private void afterCommit(Change change) {
+        if (!enabled || change.eventId == null || (change.registeredAt == null && change.delta != 0)) {
+            return;
+        }
+        AfterCommit.run(() -> apply(change));
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static CountRing[] newRings(boolean totals) {
+        Resolution[] resolutions = Resolution.values();
+        CountRing[] rings = new CountRing[resolutions.length];
+        for (Resolution resolution : resolutions) {
+            rings[resolution.ordinal()] = new CountRing(resolution.seconds,
+                    totals ? resolution.totalBuckets : resolution.eventBuckets);
+        }
+        return rings;
+    }
+
+    /**
+     * Overall and per-event rings; not thread-safe on its own
+     */
+    private static final class Rollups {
+
+        private final CountRing[] totals = newRings(true);
+        private final Map<Long, CountRing[]> ringsByEvent = new HashMap<>();
+
+        /**
+         * Add a bucket grouped by SQL to the rings of one resolution
+         */
+        void add(RegistrationBucket bucket, Resolution resolution) {
+            if (bucket.getEventId() == null || bucket.getBucketStart() == null) {
+                return;
+            }
+            long second = epochSecond(bucket.getBucketStart());
+            totals[resolution.ordinal()].add(second, bucket.getRegistrations());
+            eventRings(bucket.getEventId())[resolution.ordinal()].add(second, bucket.getRegistrations());
+        }
+
+        /**
+         * Add a registration to the rings of every resolution
+         */
+        void add(Long eventId, long second, int delta) {
+            CountRing[] eventRings = delta > 0 ? eventRings(eventId) : ringsByEvent.get(eventId);
+            for (Resolution resolution : Resolution.values()) {
+                totals[resolution.ordinal()].add(second, delta);
+                if (eventRings != null) {
+                    eventRings[resolution.ordinal()].add(second, delta);
+                }
+            }
+        }
+
+        /**
+         * Drop an event's rings and take their counts out of the overall rings
+         */
+        void remove(Long eventId) {
+            CountRing[] eventRings = ringsByEvent.remove(eventId);
+            if (eventRings == null) {
+                return;
+            }
+            for (Resolution resolution : Resolution.values()) {
+                totals[resolution.ordinal()].subtract(eventRings[resolution.ordinal()]);
+            }
+        }
+
+        private CountRing[] eventRings(Long eventId) {
+            return ringsByEvent.computeIfAbsent(eventId, id -> newRings(false));
+        }
+    }
+
+    /**
+     * A registration (+1), cancellation (-1) or event deletion (0, without a time)
+     */
+    private static final class Change implements SnapshotReplay.Change {
+
+        private final Long eventId;
+        private final Long participationId;
+        private final LocalDateTime registeredAt;
+        private final int delta;
+
+        Change(Long eventId, Long participationId, LocalDateTime registeredAt, int delta) {
+            this.eventId = eventId;
+            this.participationId = participationId;
+            this.registeredAt = registeredAt;
+            this.delta = delta;
+        }
+
+        @Override
+        public Long getParticipationId() {
+            return participationId;
+        }
+
+        @Override
+        public int getDelta() {
+            return delta;
+        }
+
+        void applyTo(Rollups rollups) {
+            if (delta == 0) {
+                rollups.remove(eventId);
+            } else {
+                rollups.add(eventId, epochSecond(registeredAt), delta);
+            }
+        }
+    }
+}
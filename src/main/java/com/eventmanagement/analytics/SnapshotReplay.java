@@ -0,0 +1,95 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.mapper.ParticipantMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Snapshot Replay
+ *
+ * A rescan reads the database in one serializable read-only transaction while the
+ * registrations and cancellations committed meanwhile are logged. Some of those committed
+ * before the snapshot was taken and are already in the scan, so the log is matched against
+ * the snapshot by participation ID and only the changes it missed are replayed.
+ */
+final class SnapshotReplay {
+
+    /**
+     * Most participation IDs checked against the snapshot per query
+     */
+    private static final int ID_CHUNK = 1000;
+
+    /**
+     * A logged change; registrations have a positive delta and cancellations a negative one
+     */
+    interface Change {
+
+        /**
+         * Participation ID, or null for a change that is always replayed
+         */
+        Long getParticipationId();
+
+        int getDelta();
+    }
+
+    private SnapshotReplay() {
+    }
+
+    /**
+     * Transaction in which every scan of a rescan sees the same snapshot
+     *
+     * @param transactionManager Transaction manager
+     * @return Serializable read-only transaction template
+     */
+    static TransactionTemplate snapshot(PlatformTransactionManager transactionManager) {
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        snapshot.setReadOnly(true);
+        return snapshot;
+    }
+
+    /**
+     * Changes the current transaction's snapshot missed, to be called inside it
+     *
+     * A registration is missed unless the snapshot holds it or it is cancelled later in the
+     * log; a cancellation is missed while the snapshot still holds the registration.
+     *
+     * @param changes Changes in commit order
+     * @param participantMapper Participant mapper
+     * @return Changes to replay, in commit order
+     */
+    static <C extends Change> List<C> missed(List<C> changes, ParticipantMapper participantMapper) {
+        List<Long> participationIds = new ArrayList<>();
+        Set<Long> cancelled = new HashSet<>();
+        for (C change : changes) {
+            if (change.getParticipationId() != null) {
+                participationIds.add(change.getParticipationId());
+                if (change.getDelta() < 0) {
+                    cancelled.add(change.getParticipationId());
+                }
+            }
+        }
+        Set<Long> inSnapshot = new HashSet<>();
+        for (int from = 0; from < participationIds.size(); from += ID_CHUNK) {
+            inSnapshot.addAll(participantMapper.findExistingParticipationIds(
+                    participationIds.subList(from, Math.min(from + ID_CHUNK, participationIds.size()))));
+        }
+
+        List<C> missed = new ArrayList<>();
+        for (C change : changes) {
+            Long participationId = change.getParticipationId();
+            if (participationId == null || (change.getDelta() > 0
+                    ? !inSnapshot.contains(participationId) && !cancelled.contains(participationId)
+                    : inSnapshot.contains(participationId))) {
+                missed.add(change);
+            }
+        }
+        return missed;
+    }
+}
@@ -0,0 +1,263 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.support.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Trending Events
+ *
+ * Heavy hitters among recent event-detail views and registrations, tracked with the
+ * Space-Saving algorithm over exponentially decayed counts. At most `capacity` events are
+ * counted; when a new event arrives with every counter taken, the lowest counter is handed
+ * over to it and its old count kept as the new event's error. A reported score therefore
+ * overestimates the event's decayed count by at most its error, and any event whose decayed
+ * count exceeds 1/capacity of the total is guaranteed to be tracked. Memory stays fixed
+ * however many events exist.
+ *
+ * A view adds 1 and a registration adds registrationWeight, each halving in weight every
+ * half-life. Decay uses a landmark time: new weights are scaled up by how far they are from
+ * the landmark instead of scaling every counter down, which keeps the order of the counters
+ * unchanged. The counters are rescaled and the landmark moved before the scale factor grows
+ * large.
+ *
+ * Views are counted without taking a lock, in a LongAdder per event, and drained into the
+ * counters in one batch on a fixed delay and before every ranking; a batch is weighted as
+ * if its views happened at drain time. An event with no views over a whole drain interval
+ * gives up its adder, and a view racing that can be lost.
+ *
+ * The counts are per instance and start empty at startup.
+ */
+@Component
+public class TrendingEvents {
+
+    /**
+     * Rescale once new weights are multiplied by more than e^RESCALE_EXPONENT
+     */
+    private static final double RESCALE_EXPONENT = 32.0;
+
+    private static final Comparator<Counter> BY_COUNT =
+            Comparator.comparingDouble((Counter counter) -> counter.count).thenComparingLong(counter -> counter.eventId);
+
+    @Value("${eventmanagement.trending.enabled:true}")
+    private boolean enabled;
+
+    @Value("${eventmanagement.trending.capacity:1000}")
+    private int capacity;
+
+    @Value("${eventmanagement.trending.half-life-seconds:3600}")
+    private long halfLifeSeconds;
+
+    @Value("${eventmanagement.trending.registration-weight:5}")
+    private double registrationWeight;
+
+    /**
+     * Views since the last drain by event
+     */
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    /**
+     * Counters by event and ordered by count; both guarded by this object's monitor
+     */
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+    private long landmarkMillis;
+
+    /**
+     * Whether views and registrations are being counted
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Count a view of an event's details
+     *
+     * @param eventId Event ID
+     */
+    public void viewed(Long eventId) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        LongAdder views = pendingViews.get(eventId);
+        if (views == null) {
+            views = pendingViews.computeIfAbsent(eventId, id -> new LongAdder());
+        }
+        views.increment();
+    }
+
+    /**
+     * Count a registration once the current transaction commits
+     *
+     * @param eventId Event ID
+     */
+    public void registered(Long eventId) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> record(eventId, registrationWeight, System.currentTimeMillis()));
+    }
+
+    /**
+     * Events with the highest decayed counts
+     *
+     * @param limit Maximum number of events
+     * @return Events, highest score first
+     */
+    public List<Score> top(int limit) {
+        long nowMillis = System.currentTimeMillis();
+        drainViews(nowMillis);
+        return top(limit, nowMillis);
+    }
+
+    /**
+     * Add the views counted since the last drain to the counters
+     */
+    @Scheduled(fixedDelayString = "${eventmanagement.trending.drain-interval-ms:1000}")
+    public void drainViews() {
+        drainViews(System.currentTimeMillis());
+    }
+
+    /**
+     * Number of events being counted, at most the capacity
+     */
+    public synchronized int size() {
+        return counters.size();
+    }
+
+    synchronized void record(Long eventId, double weight, long nowMillis) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        add(eventId, weight, nowMillis);
+    }
+
+    void drainViews(long nowMillis) {
+        List<Map.Entry<Long, Long>> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pendingViews.entrySet()) {
+            long views = entry.getValue().sumThenReset();
+            if (views > 0) {
+                batch.add(Map.entry(entry.getKey(), views));
+            } else {
+                pendingViews.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (Map.Entry<Long, Long> views : batch) {
+                add(views.getKey(), views.getValue(), nowMillis);
+            }
+        }
+    }
+
+    private void add(long eventId, double weight, long nowMillis) {
+        if (counters.isEmpty()) {
+            landmarkMillis = nowMillis;
+        }
+        double exponent = decayRate() * (nowMillis - landmarkMillis);
+        if (exponent > RESCALE_EXPONENT) {
+            rescale(nowMillis);
+            exponent = 0.0;
+        }
+        double scaled = weight * Math.exp(exponent);
+
+        Counter counter = counters.get(eventId);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count += scaled;
+        } else if (counters.size() < capacity) {
+            counter = new Counter(eventId, scaled, 0.0);
+            counters.put(eventId, counter);
+        } else {
+            Counter lowest = byCount.pollFirst();
+            counters.remove(lowest.eventId);
+            counter = new Counter(eventId, lowest.count + scaled, lowest.count);
+            counters.put(eventId, counter);
+        }
+        byCount.add(counter);
+    }
+
+    synchronized List<Score> top(int limit, long nowMillis) {
+        List<Score> scores = new ArrayList<>(Math.min(limit, counters.size()));
+        double decay = Math.exp(-decayRate() * (nowMillis - landmarkMillis));
+        Iterator<Counter> highest = byCount.descendingIterator();
+        while (highest.hasNext() && scores.size() < limit) {
+            Counter counter = highest.next();
+            scores.add(new Score(counter.eventId, counter.count * decay, counter.error * decay));
+        }
+        return scores;
+    }
+
+    /**
+     * Decay the counters to the current time and move the landmark there
+     */
+    private void rescale(long nowMillis) {
+        double decay = Math.exp(-decayRate() * (nowMillis - landmarkMillis));
+        List<Counter> all = new ArrayList<>(byCount);
+        byCount.clear();
+        for (Counter counter : all) {
+            counter.count *= decay;
+            counter.error *= decay;
+            byCount.add(counter);
+        }
+        landmarkMillis = nowMillis;
+    }
+
+    private double decayRate() {
+        return Math.log(2) / (halfLifeSeconds * 1000.0);
+    }
+
+    private static final class Counter {
+
+        private final long eventId;
+        private double count;
+        private double error;
+
+        Counter(long eventId, double count, double error) {
+            this.eventId = eventId;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Decayed score of an event with the most it may overestimate by
+     */
+    public static final class Score {
+
+        private final long eventId;
+        private final double score;
+        private final double error;
+
+        public Score(long eventId, double score, double error) {
+            this.eventId = eventId;
+            this.score = score;
+            this.error = error;
+        }
+
+        public long getEventId() {
+            return eventId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public double getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.support.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Event Cache
+ *
+ * Bounded in-process read-through cache of events by ID. Entries are weighed by their
+ * approximate size, so a few events with long descriptions cannot push out many small ones.
+ * Every write path invalidates the event it touched; inside a transaction the entry is
+ * invalidated again once the transaction completes, so a read that raced the write cannot
+ * leave the pre-commit row behind. Seat claims and releases only move the participant
+ * count, so they keep the entry and adjust its count after commit instead, and hot events
+ * stay cached while they fill up. Entries expire a fixed time after they were loaded, and
+ * adjustments do not extend it, which bounds staleness from writes made by other
+ * application instances.
+ *
+ * Cached events are shared between callers and must not be modified.
+ */
+@Component
+public class EventCache {
+
+    public static final String CACHE_NAME = "events";
+
+    /**
+     * Approximate fixed footprint of an Event with its boxed fields and timestamps
+     */
+    private static final int EVENT_BASE_BYTES = 320;
+
+    @Value("${eventmanagement.event-cache.max-weight-bytes:67108864}")
+    private long maxWeightBytes;
+
+    @Value("${eventmanagement.event-cache.expire-after-write-seconds:60}")
+    private long expireAfterWriteSeconds;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Ticker ticker = Ticker.systemTicker();
+
+    private Cache<Long, Event> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((Long eventId, Event event) -> weigh(event))
+                .expireAfter(expireAfterLoad(Duration.ofSeconds(expireAfterWriteSeconds)))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            // cache.gets{result=hit|miss}, cache.evictions, cache.size, ... tagged cache=events
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    /**
+     * Get an event, loading it on a miss
+     *
+     * Concurrent misses for the same ID share a single load; the other callers block
+     * until it completes.
+     *
+     * @param eventId Event ID
+     * @param loader Loads the event from the database; may return null, which is not cached
+     * @return Event or null if not found
+     */
+    public Event get(Long eventId, Function<Long, Event> loader) {
+        return cache.get(eventId, loader);
+    }
+
+    /**
+     * Invalidate an event after a write, and again when the current transaction completes
+     *
+     * @param eventId Event ID
+     */
+    public void invalidate(Long eventId) {
+        invalidateAll(List.of(eventId));
+    }
+
+    /**
+     * Invalidate several events after a write, and again when the current transaction completes
+     *
+     * @param eventIds Event IDs
+     */
+    public void invalidateAll(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        List<Long> keys = List.copyOf(eventIds);
+        cache.invalidateAll(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(keys);
+                }
+            });
+        }
+    }
+
+    /**
+     * Move the participant count of a cached event once the current transaction commits
+     * 
+     * The entry is replaced by a copy, since cached events are shared. A read that loaded
+     * the row between the commit and this adjustment can leave the count off by the seats
+     * claimed meanwhile, until the entry expires; replacing it keeps its expiry time.
+     * 
+     * @param eventId Event ID
+     * @param delta Seats claimed (positive) or released (negative)
+     */
+    public void adjustParticipants(Long eventId, int delta) {
+        AfterCommit.run(() -> cache.asMap().computeIfPresent(eventId, (id, event) -> withParticipants(event,
+                (event.getCurrentParticipants() != null ? event.getCurrentParticipants() : 0) + delta)));
+    }
+
+    /**
+     * Drop every cached event
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Expire entries a fixed time after they were loaded
+     * 
+     * Unlike expireAfterWrite, replacing an entry keeps its expiry time, so an event whose
+     * count is adjusted on every seat claim is still reloaded once the time is up.
+     * 
+     * @param timeToLive Time from load to expiry
+     * @return Expiry policy
+     */
+    private static Expiry<Long, Event> expireAfterLoad(Duration timeToLive) {
+        long timeToLiveNanos = timeToLive.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Long eventId, Event event, long currentTime) {
+                return timeToLiveNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(Long eventId, Event event, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(Long eventId, Event event, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static Event withParticipants(Event event, int currentParticipants) {
+        Event copy = new Event();
+        copy.setEventId(event.getEventId());
+        copy.setEventName(event.getEventName());
+        copy.setDescription(event.getDescription());
+        copy.setStartDateTime(event.getStartDateTime());
+        copy.setEndDateTime(event.getEndDateTime());
+        copy.setLocation(event.getLocation());
+        copy.setOrganizer(event.getOrganizer());
+        copy.setMaxParticipants(event.getMaxParticipants());
+        copy.setCurrentParticipants(currentParticipants);
+        copy.setStatus(event.getStatus());
+        copy.setCounterSlots(event.getCounterSlots());
+        copy.setScheduleConflicts(event.getScheduleConflicts());
+        copy.setCreatedAt(event.getCreatedAt());
+        copy.setUpdatedAt(event.getUpdatedAt());
+        copy.setVersion(event.getVersion());
+        copy.clearDirtyFields();
+        return copy;
+    }
+
+    private static int weigh(Event event) {
+        long chars = length(event.getEventName()) + length(event.getDescription())
+                + length(event.getLocation()) + length(event.getOrganizer()) + length(event.getStatus());
+        return (int) Math.min(Integer.MAX_VALUE, EVENT_BASE_BYTES + 2 * chars);
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
@@ -0,0 +1,148 @@
+package com.eventmanagement.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Known ID Filter
+ *
+ * Bloom filter of the IDs that exist in a table, rebuilt from a full ID scan. It only
+ * answers for IDs up to the largest ID seen by the last scan; anything above that may
+ * have been inserted since (by this or another instance) and is reported as possibly
+ * existing. IDs inserted through this instance are added as they are created.
+ *
+ * False positives fall through to the database; there are no false negatives for IDs
+ * that existed at scan time or were added here. Deleted IDs stay in the filter until
+ * the next rebuild.
+ */
+public class KnownIdFilter {
+
+    private final long expectedIds;
+    private final double falsePositiveRate;
+
+    private volatile Bits bits;
+
+    private boolean rebuilding;
+    private final List<Long> addedDuringRebuild = new ArrayList<>();
+
+    public KnownIdFilter(long expectedIds, double falsePositiveRate) {
+        this.expectedIds = expectedIds;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Whether an ID may exist
+     *
+     * @param id ID
+     * @return false only if the ID definitely does not exist
+     */
+    public boolean mightExist(long id) {
+        Bits current = bits;
+        return current == null || id > current.maxId || current.mightContain(id);
+    }
+
+    /**
+     * Record a newly created ID
+     *
+     * @param id ID
+     */
+    public synchronized void add(long id) {
+        if (bits != null) {
+            bits.add(id);
+        }
+        if (rebuilding) {
+            addedDuringRebuild.add(id);
+        }
+    }
+
+    /**
+     * Rebuild the filter from a scan of every existing ID
+     *
+     * @param scan Feeds every existing ID to the given consumer
+     */
+    public void rebuild(Consumer<LongConsumer> scan) {
+        synchronized (this) {
+            rebuilding = true;
+            addedDuringRebuild.clear();
+        }
+        try {
+            Bits next = new Bits(expectedIds, falsePositiveRate);
+            scan.accept(id -> {
+                next.add(id);
+                next.maxId = Math.max(next.maxId, id);
+            });
+            synchronized (this) {
+                // IDs committed while the scan ran may be missing from it
+                addedDuringRebuild.forEach(next::add);
+                bits = next;
+            }
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                addedDuringRebuild.clear();
+            }
+        }
+    }
+
+    /**
+     * Bit array with k hash positions per ID derived from two 64-bit mixes
+     */
+    private static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+        /**
+         * Largest scanned ID; set before the bits are published and not raised by later adds
+         */
+        private long maxId = Long.MIN_VALUE;
+
+        Bits(long expectedIds, double falsePositiveRate) {
+            long n = Math.max(1, expectedIds);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        }
+
+        void add(long id) {
+            long h1 = mix(id);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                while (((current = words.get(word)) & mask) == 0
+                        && !words.compareAndSet(word, current, current | mask)) {
+                    // retry until the bit is set
+                }
+            }
+        }
+
+        boolean mightContain(long id) {
+            long h1 = mix(id);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * SplitMix64 finalizer
+         */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.eventmanagement.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Negative Cache
+ *
+ * Remembers IDs that were looked up and not found, for a short TTL, so repeated lookups of
+ * missing IDs are answered from memory. Optionally backed by a {@link KnownIdFilter}, which
+ * rejects IDs that definitely do not exist before they ever reach the database.
+ *
+ * An ID is forgotten when it is created, and again once the creating transaction completes.
+ */
+public class NegativeCache {
+
+    private final Cache<Long, Boolean> missing;
+    private final KnownIdFilter knownIds;
+
+    /**
+     * @param name Cache name used for metrics
+     * @param ttl How long a missing ID is remembered
+     * @param maximumSize Maximum number of remembered missing IDs
+     * @param knownIds Filter of existing IDs, or null to rely on the TTL cache only
+     * @param meterRegistry Registry for hit/miss metrics, or null
+     */
+    public NegativeCache(String name, Duration ttl, long maximumSize,
+                         KnownIdFilter knownIds, MeterRegistry meterRegistry) {
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.knownIds = knownIds;
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, missing, name);
+        }
+    }
+
+    /**
+     * Whether an ID is known not to exist
+     *
+     * @param id ID
+     * @return true if the ID was recently not found or is rejected by the known ID filter
+     */
+    public boolean isMissing(Long id) {
+        if (id == null) {
+            return false;
+        }
+        if (knownIds != null && !knownIds.mightExist(id)) {
+            return true;
+        }
+        return missing.getIfPresent(id) != null;
+    }
+
+    /**
+     * Remember that an ID was not found
+     *
+     * @param id ID
+     */
+    public void markMissing(Long id) {
+        if (id != null) {
+            missing.put(id, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Record a newly created ID
+     *
+     * @param id ID
+     */
+    public void markCreated(Long id) {
+        if (id == null) {
+            return;
+        }
+        if (knownIds != null) {
+            knownIds.add(id);
+        }
+        missing.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    missing.invalidate(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Whether a known ID filter backs this cache
+     */
+    public boolean hasKnownIdFilter() {
+        return knownIds != null;
+    }
+
+    /**
+     * Rebuild the known ID filter from a scan of every existing ID
+     *
+     * @param scan Feeds every existing ID to the given consumer
+     */
+    public void rebuildKnownIds(Consumer<LongConsumer> scan) {
+        if (knownIds != null) {
+            knownIds.rebuild(scan);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.dto.EventSearchRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Search Count Cache
+ *
+ * Caches search totals by filter criteria (ignoring page, sort and cursor) for searches that
+ * accept an estimated total. Entries expire after the configured maximum age, which is the
+ * staleness bound reported to clients through the count timestamp.
+ */
+@Component
+public class SearchCountCache {
+
+    public static final String CACHE_NAME = "search.counts";
+
+    @Value("${eventmanagement.search.count-cache.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    @Value("${eventmanagement.search.count-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Cache<List<Object>, CachedCount> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(maxAgeSeconds))
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    /**
+     * Get the cached total for the request's criteria, counting on a miss
+     *
+     * @param searchRequest Search criteria
+     * @param counter Runs the exact count
+     * @return Total and when it was counted
+     */
+    public CachedCount get(EventSearchRequest searchRequest, IntSupplier counter) {
+        return cache.get(criteriaKey(searchRequest),
+                key -> new CachedCount(counter.getAsInt(), LocalDateTime.now()));
+    }
+
+    private static List<Object> criteriaKey(EventSearchRequest searchRequest) {
+        return Arrays.asList(searchRequest.getKeyword(), searchRequest.getStatus(),
+                searchRequest.getOrganizer(), searchRequest.getLocation(),
+                searchRequest.getStartDateFrom(), searchRequest.getStartDateTo(),
+                searchRequest.getEndDateFrom(), searchRequest.getEndDateTo(),
+                searchRequest.getOverlapFrom(), searchRequest.getOverlapTo(),
+                searchRequest.isFuzzy(), searchRequest.getSimilarity());
+    }
+
+    /**
+     * Cached search total
+     */
+    public static class CachedCount {
+        private final int count;
+        private final LocalDateTime countedAt;
+
+        public CachedCount(int count, LocalDateTime countedAt) {
+            this.count = count;
+            this.countedAt = countedAt;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public LocalDateTime getCountedAt() {
+            return countedAt;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.eventmanagement.config;
+
+import com.eventmanagement.cache.KnownIdFilter;
+import com.eventmanagement.cache.NegativeCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache Configuration
+ * 
+ * Negative caches for event and participation IDs that were looked up and not found.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Value("${eventmanagement.negative-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${eventmanagement.negative-cache.maximum-size:100000}")
+    private long maximumSize;
+
+    @Value("${eventmanagement.negative-cache.bloom-filter.enabled:false}")
+    private boolean bloomFilterEnabled;
+
+    @Value("${eventmanagement.negative-cache.bloom-filter.expected-ids:1000000}")
+    private long expectedIds;
+
+    @Value("${eventmanagement.negative-cache.bloom-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Bean
+    public NegativeCache eventNegativeCache(ObjectProvider<MeterRegistry> meterRegistry) {
+        return negativeCache("events.missing", meterRegistry);
+    }
+
+    @Bean
+    public NegativeCache participationNegativeCache(ObjectProvider<MeterRegistry> meterRegistry) {
+        return negativeCache("participations.missing", meterRegistry);
+    }
+
+    private NegativeCache negativeCache(String name, ObjectProvider<MeterRegistry> meterRegistry) {
+        KnownIdFilter knownIds = bloomFilterEnabled ? new KnownIdFilter(expectedIds, falsePositiveRate) : null;
+        return new NegativeCache(name, Duration.ofSeconds(ttlSeconds), maximumSize,
+                knownIds, meterRegistry.getIfAvailable());
+    }
+}
@@ -0,0 +1,98 @@
+package com.eventmanagement.config;
+
+import com.eventmanagement.entity.Event;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * MyBatis Configuration
+ * 
+ * Registers MyBatis plugins picked up by the MyBatis Spring Boot auto-configuration.
+ */
+@Configuration
+public class MyBatisConfig {
+
+    /**
+     * Mapped statement of the search count, which runs under the search count timeout
+     */
+    static final String SEARCH_COUNT_STATEMENT = "com.eventmanagement.mapper.EventMapper.countSearchEvents";
+
+    @Bean
+    public Interceptor loadedEventInterceptor() {
+        return new LoadedEventInterceptor();
+    }
+
+    @Bean
+    public Interceptor searchCountTimeoutInterceptor(
+            @Value("${eventmanagement.search.count-timeout-ms:5000}") long countTimeoutMs) {
+        // JDBC query timeouts are whole seconds
+        return new QueryTimeoutInterceptor(SEARCH_COUNT_STATEMENT, (int) Math.max(1, (countTimeoutMs + 999) / 1000));
+    }
+
+    /**
+     * Clears the dirty fields that result mapping marks through the Event setters,
+     * so an event read from the database starts out clean.
+     */
+    @Intercepts(@Signature(type = ResultSetHandler.class, method = "handleResultSets", args = Statement.class))
+    static class LoadedEventInterceptor implements Interceptor {
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            if (result instanceof List<?> rows) {
+                for (Object row : rows) {
+                    if (row instanceof Event event) {
+                        event.clearDirtyFields();
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Sets a query timeout on one mapped statement, so the driver cancels the statement in
+     * the database once it runs past it. Interrupting the thread that waits on a JDBC call
+     * does not stop the statement or release its connection.
+     */
+    @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+    static class QueryTimeoutInterceptor implements Interceptor {
+
+        private final String statementId;
+        private final int timeoutSeconds;
+
+        QueryTimeoutInterceptor(String statementId, int timeoutSeconds) {
+            this.statementId = statementId;
+            this.timeoutSeconds = timeoutSeconds;
+        }
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            Statement statement = (Statement) invocation.proceed();
+            MetaObject handler = SystemMetaObject.forObject(invocation.getTarget());
+            // Unwrap handlers proxied by other plugins
+            while (handler.hasGetter("h")) {
+                handler = SystemMetaObject.forObject(handler.getValue("h.target"));
+            }
+            MappedStatement mappedStatement = (MappedStatement) handler.getValue("delegate.mappedStatement");
+            if (statementId.equals(mappedStatement.getId())) {
+                statement.setQueryTimeout(timeoutSeconds);
+            }
+            return statement;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.eventmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * 
+ * Enables background jobs such as folding sharded seat counters.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
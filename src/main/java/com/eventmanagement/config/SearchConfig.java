@@ -0,0 +1,36 @@
+package com.eventmanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Search Configuration
+ * 
+ * Bounded executor that runs search count queries alongside the page query. When it is
+ * saturated the count runs on the request thread instead, still bounded by its query
+ * timeout (see MyBatisConfig).
+ */
+@Configuration
+public class SearchConfig {
+
+    @Value("${eventmanagement.search.count-executor.pool-size:4}")
+    private int poolSize;
+
+    @Value("${eventmanagement.search.count-executor.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor searchCountExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("search-count-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
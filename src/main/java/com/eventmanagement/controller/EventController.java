@@ -5,6 +5,10 @@ import com.eventmanagement.dto.EventRequest;
 import com.eventmanagement.dto.EventResponse;
 import com.eventmanagement.dto.EventSearchRequest;
 import com.eventmanagement.dto.EventSearchResult;
+import com.eventmanagement.dto.RegistrationTimeSeriesResponse;
+import com.eventmanagement.dto.SuggestionResponse;
+import com.eventmanagement.dto.TrendingEventResponse;
+import com.eventmanagement.dto.VenueConflictResponse;
 import com.eventmanagement.service.EventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -71,6 +76,7 @@ public class EventController {
         try {
             EventResponse event = eventService.getEventById(id);
             if (event != null) {
+                eventService.recordEventView(id);
                 return ResponseEntity.ok(ApiResponse.success("Event retrieved successfully", event));
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -171,6 +177,7 @@ public class EventController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully updated event"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request data"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Event not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Event was modified since the given version"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ApiResponse<EventResponse>> updateEvent(
@@ -188,6 +195,9 @@ public class EventController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error("Invalid request: " + e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to update event: " + e.getMessage()));
@@ -205,24 +215,213 @@ public class EventController {
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully deleted event"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Event not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Event was modified since the given version"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ApiResponse<String>> deleteEvent(
-            @Parameter(description = "Event ID", required = true) @PathVariable Long id) {
+            @Parameter(description = "Event ID", required = true) @PathVariable Long id,
+            @Parameter(description = "Expected event version") @RequestParam(required = false) Long version) {
         try {
-            boolean deleted = eventService.deleteEvent(id);
+            boolean deleted = version != null ? eventService.deleteEvent(id, version) : eventService.deleteEvent(id);
             if (deleted) {
                 return ResponseEntity.ok(ApiResponse.success("Event deleted successfully", "Event ID: " + id));
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Event not found with ID: " + id));
             }
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to delete event: " + e.getMessage()));
         }
     }
 
+    /**
+     * Configure sharded seat counting for a hot event
+     * 
+     * @param id Event ID
+     * @param slots Number of seat counter slots (1 disables sharded counting)
+     * @return Success message
+     */
+    @PutMapping("/{id}/seat-counter")
+    @Operation(summary = "Configure seat counter slots", description = "Spread the seat count of a hot event over several counter slots to reduce row lock contention")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully configured seat counter"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid slot count"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Event not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<String>> configureSeatCounter(
+            @Parameter(description = "Event ID", required = true) @PathVariable Long id,
+            @Parameter(description = "Number of counter slots (1 = single counter)", required = true) @RequestParam int slots) {
+        try {
+            boolean configured = eventService.configureSeatCounterSlots(id, slots);
+            if (configured) {
+                return ResponseEntity.ok(ApiResponse.success("Seat counter configured successfully", "Slots: " + slots));
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Event not found with ID: " + id));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid request: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to configure seat counter: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Configure how registrations overlapping a participant's other events are handled
+     * 
+     * @param id Event ID
+     * @param policy WARN or REJECT
+     * @return Success message
+     */
+    @PutMapping("/{id}/schedule-conflicts")
+    @Operation(summary = "Configure schedule conflict policy", description = "Reject registrations from participants already registered for an overlapping event, or only warn about them")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully configured schedule conflict policy"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid policy"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Event not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<String>> configureScheduleConflicts(
+            @Parameter(description = "Event ID", required = true) @PathVariable Long id,
+            @Parameter(description = "Policy (WARN, REJECT)", required = true) @RequestParam String policy) {
+        try {
+            boolean configured = eventService.configureScheduleConflicts(id, policy);
+            if (configured) {
+                return ResponseEntity.ok(ApiResponse.success("Schedule conflict policy configured successfully", "Policy: " + policy));
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Event not found with ID: " + id));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid request: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to configure schedule conflict policy: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * List venue double-bookings
+     * 
+     * @return Pairs of events booked at the same location at overlapping times
+     */
+    @GetMapping("/conflicts")
+    @Operation(summary = "List venue conflicts", description = "List pairs of upcoming events booked at the same location at overlapping times")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved conflicts"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<List<VenueConflictResponse>>> getVenueConflicts() {
+        try {
+            List<VenueConflictResponse> conflicts = eventService.getVenueConflicts();
+            return ResponseEntity.ok(ApiResponse.success("Conflicts retrieved successfully", conflicts));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve conflicts: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get registrations per time bucket for an event
+     * 
+     * @param id Event ID
+     * @param resolution Bucket width: MINUTE, HOUR or DAY
+     * @param buckets Number of buckets up to the current one
+     * @return Registration time series, oldest first
+     */
+    @GetMapping("/{id}/registrations/timeseries")
+    @Operation(summary = "Get event registration time series", description = "Registrations per minute, hour or day for an event, from in-memory rollups")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved time series"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid resolution or number of buckets"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Event not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<RegistrationTimeSeriesResponse>> getRegistrationTimeSeries(
+            @Parameter(description = "Event ID", required = true) @PathVariable Long id,
+            @Parameter(description = "Bucket width (MINUTE, HOUR, DAY)") @RequestParam(defaultValue = "HOUR") String resolution,
+            @Parameter(description = "Number of buckets (per event up to 120 minutes, 168 hours or 366 days)") @RequestParam(defaultValue = "24") int buckets) {
+        try {
+            RegistrationTimeSeriesResponse series = eventService.getRegistrationTimeSeries(id, resolution, buckets);
+            if (series != null) {
+                return ResponseEntity.ok(ApiResponse.success("Time series retrieved successfully", series));
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Event not found with ID: " + id));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid request: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve time series: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get registrations per time bucket across all events
+     * 
+     * @param resolution Bucket width: MINUTE, HOUR or DAY
+     * @param buckets Number of buckets up to the current one
+     * @return Registration time series, oldest first
+     */
+    @GetMapping("/registrations/timeseries")
+    @Operation(summary = "Get registration time series", description = "Registrations per minute, hour or day across all events, from in-memory rollups")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved time series"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid resolution or number of buckets"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<RegistrationTimeSeriesResponse>> getTotalRegistrationTimeSeries(
+            @Parameter(description = "Bucket width (MINUTE, HOUR, DAY)") @RequestParam(defaultValue = "HOUR") String resolution,
+            @Parameter(description = "Number of buckets (up to 1440 minutes, 720 hours or 730 days)") @RequestParam(defaultValue = "24") int buckets) {
+        try {
+            RegistrationTimeSeriesResponse series = eventService.getRegistrationTimeSeries(null, resolution, buckets);
+            return ResponseEntity.ok(ApiResponse.success("Time series retrieved successfully", series));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid request: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve time series: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get trending events
+     * 
+     * @param limit Maximum number of events
+     * @return Active events with the most recent views and registrations
+     */
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending events", description = "Active events ranked by recent detail views and registrations, with older activity decaying")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved trending events"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid limit"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<List<TrendingEventResponse>>> getTrendingEvents(
+            @Parameter(description = "Maximum number of events (1-50)") @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<TrendingEventResponse> events = eventService.getTrendingEvents(limit);
+            return ResponseEntity.ok(ApiResponse.success("Trending events retrieved successfully", events));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid request: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve trending events: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get event statistics
      * 
@@ -244,6 +443,37 @@ public class EventController {
         }
     }
     
+    /**
+     * Suggest organizer or location values for autocomplete
+     * 
+     * @param field Field to complete: organizer or location
+     * @param prefix Prefix typed so far
+     * @param limit Maximum number of suggestions
+     * @return Suggestions, most used first
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest organizers or locations", description = "Autocomplete organizer or location values by prefix, ranked by the number of events using them")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid field, prefix or limit"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> suggest(
+            @Parameter(description = "Field to complete (organizer or location)", required = true) @RequestParam String field,
+            @Parameter(description = "Prefix typed so far", required = true) @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions (1-20)") @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<SuggestionResponse> suggestions = eventService.suggest(field, prefix, limit);
+            return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved successfully", suggestions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid request: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve suggestions: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Search events with advanced criteria
      * 
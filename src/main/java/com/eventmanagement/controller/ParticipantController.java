@@ -3,6 +3,7 @@ package com.eventmanagement.controller;
 import com.eventmanagement.dto.ApiResponse;
 import com.eventmanagement.dto.ParticipantRequest;
 import com.eventmanagement.dto.ParticipantResponse;
+import com.eventmanagement.dto.UniqueParticipantsResponse;
 import com.eventmanagement.service.ParticipantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -80,6 +81,37 @@ public class ParticipantController {
         }
     }
 
+    /**
+     * Get the approximate number of distinct participants per organizer and month
+     * 
+     * @param organizer Organizer, or all organizers if omitted
+     * @param from First month of event start (YYYY-MM)
+     * @param to Last month of event start (YYYY-MM)
+     * @return Distinct participants over the range and per month
+     */
+    @GetMapping("/unique")
+    @Operation(summary = "Get unique participant counts", description = "Approximate distinct participants of the events starting in a range of months, from HyperLogLog sketches")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved counts"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid month range"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<UniqueParticipantsResponse>> getUniqueParticipants(
+            @Parameter(description = "Organizer (all organizers if omitted)") @RequestParam(required = false) String organizer,
+            @Parameter(description = "First month (YYYY-MM, default 11 months before to)") @RequestParam(required = false) String from,
+            @Parameter(description = "Last month (YYYY-MM, default current month)") @RequestParam(required = false) String to) {
+        try {
+            UniqueParticipantsResponse counts = participantService.getUniqueParticipants(organizer, from, to);
+            return ResponseEntity.ok(ApiResponse.success("Unique participants retrieved successfully", counts));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid request: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve unique participants: " + e.getMessage()));
+        }
+    }
+
     /**
      * Register a participant for an event
      * 
@@ -34,6 +34,8 @@ public class EventRequest {
     
     @Positive(message = "Maximum participants must be positive")
     private Integer maxParticipants;
+    
+    private Long version; // Version read by the client; updates are rejected if it is stale
 
     // Constructors
     public EventRequest() {}
@@ -106,4 +108,12 @@ public class EventRequest {
     public void setMaxParticipants(Integer maxParticipants) {
         this.maxParticipants = maxParticipants;
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -1,6 +1,7 @@
 package com.eventmanagement.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Event Response DTO
@@ -20,6 +21,8 @@ public class EventResponse {
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
+    private List<Long> conflictingEventIds;  // Events booked at the same location and time; set when warning only
 
     // Constructors
     public EventResponse() {}
@@ -139,4 +142,20 @@ public class EventResponse {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public List<Long> getConflictingEventIds() {
+        return conflictingEventIds;
+    }
+
+    public void setConflictingEventIds(List<Long> conflictingEventIds) {
+        this.conflictingEventIds = conflictingEventIds;
+    }
+}
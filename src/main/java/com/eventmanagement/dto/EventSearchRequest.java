@@ -1,7 +1,14 @@
 package com.eventmanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Event Search Request DTO
@@ -10,6 +17,15 @@ import java.time.LocalDateTime;
  */
 public class EventSearchRequest {
     
+    /**
+     * How the total number of matching events is reported
+     */
+    public enum TotalMode {
+        EXACT,      // Count on every request
+        ESTIMATED,  // Cached count, at most eventmanagement.search.count-cache.max-age-seconds old
+        NONE        // No count; only hasNext
+    }
+    
     private String keyword;          // Search in event name and description
     private String status;           // Event status (ACTIVE, COMPLETED, CANCELLED)
     private String organizer;        // Organizer name
@@ -18,6 +34,8 @@ public class EventSearchRequest {
     private LocalDateTime startDateTo;    // Start date range - to
     private LocalDateTime endDateFrom;    // End date range - from
     private LocalDateTime endDateTo;      // End date range - to
+    private LocalDateTime overlapFrom;    // Running during window - from (event ends at or after)
+    private LocalDateTime overlapTo;      // Running during window - to (event starts at or before)
     
     // Pagination and sorting
     @Min(value = 0, message = "Page number must be non-negative")
@@ -26,9 +44,43 @@ public class EventSearchRequest {
     @Min(value = 1, message = "Page size must be at least 1")
     private Integer size = 10;
     
-    private String sortBy = "createdAt";        // Sort field
+    private String sortBy = "createdAt";        // Sort field (relevance ranks keyword matches, best first)
     private String sortOrder = "desc";          // Sort order (asc/desc)
     
+    private String cursor;                      // Keyset cursor from a previous result (nextCursor); overrides page
+    
+    private TotalMode totalMode = TotalMode.EXACT;  // Total reporting mode
+    
+    private boolean fuzzy;                      // Typo-tolerant matching of keyword, organizer and location
+    
+    @DecimalMin(value = "0.0", inclusive = false, message = "Similarity must be greater than 0")
+    @DecimalMax(value = "1.0", message = "Similarity cannot exceed 1")
+    private Double similarity;                  // Fuzzy mode: minimum share of query trigrams a match must contain
+    
+    private List<String> facets;                // Fields to count matches by: status, organizer, location
+    
+    @Min(value = 1, message = "Facet size must be at least 1")
+    @Max(value = 100, message = "Facet size cannot exceed 100")
+    private Integer facetSize = 10;             // Maximum number of values per facet
+    
+    // Seek position decoded from the cursor
+    @JsonIgnore
+    private Long afterEventId;
+    @JsonIgnore
+    private Object afterValue;
+    
+    // Event IDs matching the keyword and filters, resolved from the search index; null to match them in SQL
+    @JsonIgnore
+    private List<Long> candidateIds;
+    
+    // Organizer and location were matched by the search index, so SQL skips their LIKE; status and overlap are rechecked
+    @JsonIgnore
+    private boolean filtersApplied;
+    
+    // candidateIds are too many for IN lists and were written to the search_candidates temporary table
+    @JsonIgnore
+    private boolean candidatesStaged;
+    
     // Constructors
     public EventSearchRequest() {}
     
@@ -104,6 +156,22 @@ public class EventSearchRequest {
         this.endDateTo = endDateTo;
     }
     
+    public LocalDateTime getOverlapFrom() {
+        return overlapFrom;
+    }
+    
+    public void setOverlapFrom(LocalDateTime overlapFrom) {
+        this.overlapFrom = overlapFrom;
+    }
+    
+    public LocalDateTime getOverlapTo() {
+        return overlapTo;
+    }
+    
+    public void setOverlapTo(LocalDateTime overlapTo) {
+        this.overlapTo = overlapTo;
+    }
+    
     public Integer getPage() {
         return page;
     }
@@ -136,6 +204,118 @@ public class EventSearchRequest {
         this.sortOrder = sortOrder;
     }
     
+    public String getCursor() {
+        return cursor;
+    }
+    
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+    
+    public TotalMode getTotalMode() {
+        return totalMode;
+    }
+    
+    public void setTotalMode(TotalMode totalMode) {
+        this.totalMode = totalMode;
+    }
+    
+    public boolean isFuzzy() {
+        return fuzzy;
+    }
+    
+    public void setFuzzy(boolean fuzzy) {
+        this.fuzzy = fuzzy;
+    }
+    
+    public Double getSimilarity() {
+        return similarity;
+    }
+    
+    public void setSimilarity(Double similarity) {
+        this.similarity = similarity;
+    }
+    
+    public List<String> getFacets() {
+        return facets;
+    }
+    
+    public void setFacets(List<String> facets) {
+        this.facets = facets;
+    }
+    
+    public Integer getFacetSize() {
+        return facetSize;
+    }
+    
+    public void setFacetSize(Integer facetSize) {
+        this.facetSize = facetSize;
+    }
+    
+    public Long getAfterEventId() {
+        return afterEventId;
+    }
+    
+    public void setAfterEventId(Long afterEventId) {
+        this.afterEventId = afterEventId;
+    }
+    
+    public Object getAfterValue() {
+        return afterValue;
+    }
+    
+    public void setAfterValue(Object afterValue) {
+        this.afterValue = afterValue;
+    }
+    
+    public List<Long> getCandidateIds() {
+        return candidateIds;
+    }
+    
+    public void setCandidateIds(List<Long> candidateIds) {
+        this.candidateIds = candidateIds;
+    }
+    
+    public boolean isFiltersApplied() {
+        return filtersApplied;
+    }
+    
+    public void setFiltersApplied(boolean filtersApplied) {
+        this.filtersApplied = filtersApplied;
+    }
+    
+    public boolean isCandidatesStaged() {
+        return candidatesStaged;
+    }
+    
+    public void setCandidatesStaged(boolean candidatesStaged) {
+        this.candidatesStaged = candidatesStaged;
+    }
+    
+    /**
+     * Candidate IDs split into IN lists of at most 1000 (Oracle's limit)
+     * 
+     * The last list is padded by repeating its final ID up to 10, 100 or 1000 entries,
+     * so searches share a handful of statement shapes instead of one per candidate count.
+     */
+    @JsonIgnore
+    public List<List<Long>> getCandidateIdChunks() {
+        if (candidateIds == null || candidateIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < candidateIds.size(); from += 1000) {
+            List<Long> chunk = new ArrayList<>(candidateIds.subList(from, Math.min(from + 1000, candidateIds.size())));
+            int padded = chunk.size() <= 10 ? 10 : chunk.size() <= 100 ? 100 : 1000;
+            Long last = chunk.get(chunk.size() - 1);
+            while (chunk.size() < padded) {
+                chunk.add(last);
+            }
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+    
     // Helper methods
     public boolean hasKeyword() {
         return keyword != null && !keyword.trim().isEmpty();
@@ -161,10 +341,37 @@ public class EventSearchRequest {
         return endDateFrom != null || endDateTo != null;
     }
     
+    public boolean hasOverlapWindow() {
+        return overlapFrom != null || overlapTo != null;
+    }
+    
+    /**
+     * Whether any criterion other than the keyword narrows the search
+     */
+    public boolean hasColumnFilters() {
+        return hasStatus() || hasOrganizer() || hasLocation() || hasStartDateRange() || hasEndDateRange()
+                || hasOverlapWindow();
+    }
+    
+    public boolean hasFacets() {
+        return facets != null && !facets.isEmpty();
+    }
+    
+    public boolean hasCursor() {
+        return cursor != null && !cursor.trim().isEmpty();
+    }
+    
     public int getOffset() {
         return page * size;
     }
     
+    /**
+     * Rows to fetch: one more than the page size, to tell whether a next page exists
+     */
+    public int getLimit() {
+        return size + 1;
+    }
+    
     @Override
     public String toString() {
         return "EventSearchRequest{" +
@@ -176,10 +383,18 @@ public class EventSearchRequest {
                 ", startDateTo=" + startDateTo +
                 ", endDateFrom=" + endDateFrom +
                 ", endDateTo=" + endDateTo +
+                ", overlapFrom=" + overlapFrom +
+                ", overlapTo=" + overlapTo +
                 ", page=" + page +
                 ", size=" + size +
                 ", sortBy='" + sortBy + '\'' +
                 ", sortOrder='" + sortOrder + '\'' +
+                ", cursor='" + cursor + '\'' +
+                ", totalMode=" + totalMode +
+                ", fuzzy=" + fuzzy +
+                ", similarity=" + similarity +
+                ", facets=" + facets +
+                ", facetSize=" + facetSize +
                 '}';
     }
 }
\ No newline at end of file
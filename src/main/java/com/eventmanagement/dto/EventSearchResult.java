@@ -1,6 +1,8 @@
 package com.eventmanagement.dto;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Event Search Result DTO
@@ -10,12 +12,16 @@ import java.util.List;
 public class EventSearchResult {
     
     private List<EventResponse> events;
-    private int totalElements;
-    private int totalPages;
+    private Integer totalElements;  // Null when the search was run without a total
+    private Integer totalPages;
     private int currentPage;
     private int pageSize;
     private boolean hasNext;
     private boolean hasPrevious;
+    private String nextCursor;      // Keyset cursor for the next page, null on the last page
+    private EventSearchRequest.TotalMode totalAccuracy = EventSearchRequest.TotalMode.EXACT;
+    private LocalDateTime totalAsOf;    // When an estimated total was counted
+    private Map<String, List<FacetValue>> facets;  // Requested facets, null if not requested or unavailable
     
     // Constructors
     public EventSearchResult() {}
@@ -30,6 +36,21 @@ public class EventSearchResult {
         this.hasPrevious = currentPage > 0;
     }
     
+    /**
+     * Result without a total; whether a next page exists comes from the lookahead row
+     */
+    public static EventSearchResult withoutTotal(List<EventResponse> events, int currentPage, int pageSize,
+                                                 boolean hasNext) {
+        EventSearchResult result = new EventSearchResult();
+        result.events = events;
+        result.currentPage = currentPage;
+        result.pageSize = pageSize;
+        result.hasNext = hasNext;
+        result.hasPrevious = currentPage > 0;
+        result.totalAccuracy = EventSearchRequest.TotalMode.NONE;
+        return result;
+    }
+    
     // Getters and Setters
     public List<EventResponse> getEvents() {
         return events;
@@ -39,19 +60,19 @@ public class EventSearchResult {
         this.events = events;
     }
     
-    public int getTotalElements() {
+    public Integer getTotalElements() {
         return totalElements;
     }
     
-    public void setTotalElements(int totalElements) {
+    public void setTotalElements(Integer totalElements) {
         this.totalElements = totalElements;
     }
     
-    public int getTotalPages() {
+    public Integer getTotalPages() {
         return totalPages;
     }
     
-    public void setTotalPages(int totalPages) {
+    public void setTotalPages(Integer totalPages) {
         this.totalPages = totalPages;
     }
     
@@ -87,6 +108,38 @@ public class EventSearchResult {
         this.hasPrevious = hasPrevious;
     }
     
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public EventSearchRequest.TotalMode getTotalAccuracy() {
+        return totalAccuracy;
+    }
+    
+    public void setTotalAccuracy(EventSearchRequest.TotalMode totalAccuracy) {
+        this.totalAccuracy = totalAccuracy;
+    }
+    
+    public LocalDateTime getTotalAsOf() {
+        return totalAsOf;
+    }
+    
+    public void setTotalAsOf(LocalDateTime totalAsOf) {
+        this.totalAsOf = totalAsOf;
+    }
+    
+    public Map<String, List<FacetValue>> getFacets() {
+        return facets;
+    }
+    
+    public void setFacets(Map<String, List<FacetValue>> facets) {
+        this.facets = facets;
+    }
+    
     @Override
     public String toString() {
         return "EventSearchResult{" +
@@ -97,6 +150,42 @@ public class EventSearchResult {
                 ", pageSize=" + pageSize +
                 ", hasNext=" + hasNext +
                 ", hasPrevious=" + hasPrevious +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", totalAccuracy=" + totalAccuracy +
+                ", totalAsOf=" + totalAsOf +
+                ", facets=" + facets +
                 '}';
     }
+    
+    /**
+     * Facet value with the number of matching events
+     */
+    public static class FacetValue {
+        
+        private String value;
+        private int count;
+        
+        public FacetValue() {}
+        
+        public FacetValue(String value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+        
+        public String getValue() {
+            return value;
+        }
+        
+        public void setValue(String value) {
+            this.value = value;
+        }
+        
+        public int getCount() {
+            return count;
+        }
+        
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.eventmanagement.dto;
+
+/**
+ * Monthly Participant DTO
+ * 
+ * Data Transfer Object for one registration with its event's organizer and start month,
+ * as streamed for backfilling the unique participant sketches.
+ */
+public class MonthlyParticipant {
+    private String organizer;
+    private String month;  // YYYY-MM
+    private String participantEmail;
+
+    // Constructors
+    public MonthlyParticipant() {}
+
+    public MonthlyParticipant(String organizer, String month, String participantEmail) {
+        this.organizer = organizer;
+        this.month = month;
+        this.participantEmail = participantEmail;
+    }
+
+    // Getters and Setters
+    public String getOrganizer() {
+        return organizer;
+    }
+
+    public void setOrganizer(String organizer) {
+        this.organizer = organizer;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public String getParticipantEmail() {
+        return participantEmail;
+    }
+
+    public void setParticipantEmail(String participantEmail) {
+        this.participantEmail = participantEmail;
+    }
+}
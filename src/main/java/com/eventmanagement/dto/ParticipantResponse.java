@@ -1,6 +1,7 @@
 package com.eventmanagement.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Participant Response DTO
@@ -14,6 +15,7 @@ public class ParticipantResponse {
     private String participantEmail;
     private String participantPhone;
     private LocalDateTime registeredAt;
+    private List<Long> conflictingEventIds;  // Participant's other events at overlapping times; set when warning only
 
     // Constructors
     public ParticipantResponse() {}
@@ -77,4 +79,12 @@ public class ParticipantResponse {
     public void setRegisteredAt(LocalDateTime registeredAt) {
         this.registeredAt = registeredAt;
     }
-}
\ No newline at end of file
+
+    public List<Long> getConflictingEventIds() {
+        return conflictingEventIds;
+    }
+
+    public void setConflictingEventIds(List<Long> conflictingEventIds) {
+        this.conflictingEventIds = conflictingEventIds;
+    }
+}
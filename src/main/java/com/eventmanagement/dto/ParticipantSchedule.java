@@ -0,0 +1,60 @@
+package com.eventmanagement.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Participant Schedule DTO
+ * 
+ * Data Transfer Object for one registration with the schedule of its event, as scanned
+ * to build the participant schedule index.
+ */
+public class ParticipantSchedule {
+    private String participantEmail;
+    private Long eventId;
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+
+    // Constructors
+    public ParticipantSchedule() {}
+
+    public ParticipantSchedule(String participantEmail, Long eventId,
+                               LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        this.participantEmail = participantEmail;
+        this.eventId = eventId;
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+    }
+
+    // Getters and Setters
+    public String getParticipantEmail() {
+        return participantEmail;
+    }
+
+    public void setParticipantEmail(String participantEmail) {
+        this.participantEmail = participantEmail;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public void setStartDateTime(LocalDateTime startDateTime) {
+        this.startDateTime = startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public void setEndDateTime(LocalDateTime endDateTime) {
+        this.endDateTime = endDateTime;
+    }
+}
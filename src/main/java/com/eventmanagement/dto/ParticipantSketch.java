@@ -0,0 +1,47 @@
+package com.eventmanagement.dto;
+
+/**
+ * Participant Sketch DTO
+ * 
+ * Data Transfer Object for the persisted HyperLogLog registers of the participants of one
+ * organizer's events starting in one month.
+ */
+public class ParticipantSketch {
+    private String organizer;
+    private String month;  // YYYY-MM
+    private byte[] registers;
+
+    // Constructors
+    public ParticipantSketch() {}
+
+    public ParticipantSketch(String organizer, String month, byte[] registers) {
+        this.organizer = organizer;
+        this.month = month;
+        this.registers = registers;
+    }
+
+    // Getters and Setters
+    public String getOrganizer() {
+        return organizer;
+    }
+
+    public void setOrganizer(String organizer) {
+        this.organizer = organizer;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    public void setRegisters(byte[] registers) {
+        this.registers = registers;
+    }
+}
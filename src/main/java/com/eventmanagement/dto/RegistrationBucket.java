@@ -0,0 +1,49 @@
+package com.eventmanagement.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registration Bucket DTO
+ * 
+ * Data Transfer Object for the number of registrations for an event within one time bucket,
+ * as grouped by SQL for backfilling the registration rollups.
+ */
+public class RegistrationBucket {
+    private Long eventId;
+    private LocalDateTime bucketStart;
+    private int registrations;
+
+    // Constructors
+    public RegistrationBucket() {}
+
+    public RegistrationBucket(Long eventId, LocalDateTime bucketStart, int registrations) {
+        this.eventId = eventId;
+        this.bucketStart = bucketStart;
+        this.registrations = registrations;
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public int getRegistrations() {
+        return registrations;
+    }
+
+    public void setRegistrations(int registrations) {
+        this.registrations = registrations;
+    }
+}
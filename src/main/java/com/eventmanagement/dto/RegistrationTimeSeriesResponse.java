@@ -0,0 +1,81 @@
+package com.eventmanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Registration Time Series Response DTO
+ * 
+ * Data Transfer Object for returning registration counts per time bucket, oldest first.
+ */
+public class RegistrationTimeSeriesResponse {
+    private Long eventId;  // null for registrations across all events
+    private String resolution;
+    private List<Point> points;
+
+    // Constructors
+    public RegistrationTimeSeriesResponse() {}
+
+    public RegistrationTimeSeriesResponse(Long eventId, String resolution, List<Point> points) {
+        this.eventId = eventId;
+        this.resolution = resolution;
+        this.points = points;
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(String resolution) {
+        this.resolution = resolution;
+    }
+
+    public List<Point> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<Point> points) {
+        this.points = points;
+    }
+
+    /**
+     * Number of registrations in the bucket starting at a time
+     */
+    public static class Point {
+
+        private LocalDateTime start;
+        private int registrations;
+
+        public Point() {}
+
+        public Point(LocalDateTime start, int registrations) {
+            this.start = start;
+            this.registrations = registrations;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public void setStart(LocalDateTime start) {
+            this.start = start;
+        }
+
+        public int getRegistrations() {
+            return registrations;
+        }
+
+        public void setRegistrations(int registrations) {
+            this.registrations = registrations;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.eventmanagement.dto;
+
+/**
+ * Suggestion Response DTO
+ * 
+ * Data Transfer Object for returning an autocomplete suggestion with the number of events using it.
+ */
+public class SuggestionResponse {
+    private String value;
+    private int eventCount;
+
+    // Constructors
+    public SuggestionResponse() {}
+
+    public SuggestionResponse(String value, int eventCount) {
+        this.value = value;
+        this.eventCount = eventCount;
+    }
+
+    // Getters and Setters
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(int eventCount) {
+        this.eventCount = eventCount;
+    }
+}
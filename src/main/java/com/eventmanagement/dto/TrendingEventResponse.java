@@ -0,0 +1,79 @@
+package com.eventmanagement.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trending Event Response DTO
+ * 
+ * Data Transfer Object for returning a trending event with its decayed activity score.
+ */
+public class TrendingEventResponse {
+    private Long eventId;
+    private String eventName;
+    private LocalDateTime startDateTime;
+    private String location;
+    private double score;
+    private double scoreError;  // the score overestimates by at most this much
+
+    // Constructors
+    public TrendingEventResponse() {}
+
+    public TrendingEventResponse(Long eventId, String eventName, LocalDateTime startDateTime, String location,
+                                 double score, double scoreError) {
+        this.eventId = eventId;
+        this.eventName = eventName;
+        this.startDateTime = startDateTime;
+        this.location = location;
+        this.score = score;
+        this.scoreError = scoreError;
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public void setEventName(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public void setStartDateTime(LocalDateTime startDateTime) {
+        this.startDateTime = startDateTime;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public double getScoreError() {
+        return scoreError;
+    }
+
+    public void setScoreError(double scoreError) {
+        this.scoreError = scoreError;
+    }
+}
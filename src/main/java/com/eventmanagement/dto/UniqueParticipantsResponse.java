@@ -0,0 +1,112 @@
+package com.eventmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Unique Participants Response DTO
+ *
+ * Data Transfer Object for returning the approximate number of distinct participants of the
+ * events starting in a range of months, overall and per month.
+ */
+public class UniqueParticipantsResponse {
+    private String organizer;  // null for all organizers
+    private String fromMonth;
+    private String toMonth;
+    private long uniqueParticipants;
+    private double relativeStandardError;  // 0 when counted exactly by SQL
+    private List<MonthCount> months;
+
+    // Constructors
+    public UniqueParticipantsResponse() {}
+
+    public UniqueParticipantsResponse(String organizer, String fromMonth, String toMonth, long uniqueParticipants,
+                                      double relativeStandardError, List<MonthCount> months) {
+        this.organizer = organizer;
+        this.fromMonth = fromMonth;
+        this.toMonth = toMonth;
+        this.uniqueParticipants = uniqueParticipants;
+        this.relativeStandardError = relativeStandardError;
+        this.months = months;
+    }
+
+    // Getters and Setters
+    public String getOrganizer() {
+        return organizer;
+    }
+
+    public void setOrganizer(String organizer) {
+        this.organizer = organizer;
+    }
+
+    public String getFromMonth() {
+        return fromMonth;
+    }
+
+    public void setFromMonth(String fromMonth) {
+        this.fromMonth = fromMonth;
+    }
+
+    public String getToMonth() {
+        return toMonth;
+    }
+
+    public void setToMonth(String toMonth) {
+        this.toMonth = toMonth;
+    }
+
+    public long getUniqueParticipants() {
+        return uniqueParticipants;
+    }
+
+    public void setUniqueParticipants(long uniqueParticipants) {
+        this.uniqueParticipants = uniqueParticipants;
+    }
+
+    public double getRelativeStandardError() {
+        return relativeStandardError;
+    }
+
+    public void setRelativeStandardError(double relativeStandardError) {
+        this.relativeStandardError = relativeStandardError;
+    }
+
+    public List<MonthCount> getMonths() {
+        return months;
+    }
+
+    public void setMonths(List<MonthCount> months) {
+        this.months = months;
+    }
+
+    /**
+     * Distinct participants of the events starting in one month
+     */
+    public static class MonthCount {
+
+        private String month;  // YYYY-MM; null for the whole range
+        private long uniqueParticipants;
+
+        public MonthCount() {}
+
+        public MonthCount(String month, long uniqueParticipants) {
+            this.month = month;
+            this.uniqueParticipants = uniqueParticipants;
+        }
+
+        public String getMonth() {
+            return month;
+        }
+
+        public void setMonth(String month) {
+            this.month = month;
+        }
+
+        public long getUniqueParticipants() {
+            return uniqueParticipants;
+        }
+
+        public void setUniqueParticipants(long uniqueParticipants) {
+            this.uniqueParticipants = uniqueParticipants;
+        }
+    }
+}
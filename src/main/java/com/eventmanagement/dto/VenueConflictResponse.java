@@ -0,0 +1,69 @@
+package com.eventmanagement.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Venue Conflict Response DTO
+ * 
+ * Data Transfer Object for returning two events booked at the same location at overlapping times.
+ */
+public class VenueConflictResponse {
+    private String location;
+    private Long eventId;
+    private Long conflictingEventId;
+    private LocalDateTime overlapStart;
+    private LocalDateTime overlapEnd;
+
+    // Constructors
+    public VenueConflictResponse() {}
+
+    public VenueConflictResponse(String location, Long eventId, Long conflictingEventId,
+                                 LocalDateTime overlapStart, LocalDateTime overlapEnd) {
+        this.location = location;
+        this.eventId = eventId;
+        this.conflictingEventId = conflictingEventId;
+        this.overlapStart = overlapStart;
+        this.overlapEnd = overlapEnd;
+    }
+
+    // Getters and Setters
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getConflictingEventId() {
+        return conflictingEventId;
+    }
+
+    public void setConflictingEventId(Long conflictingEventId) {
+        this.conflictingEventId = conflictingEventId;
+    }
+
+    public LocalDateTime getOverlapStart() {
+        return overlapStart;
+    }
+
+    public void setOverlapStart(LocalDateTime overlapStart) {
+        this.overlapStart = overlapStart;
+    }
+
+    public LocalDateTime getOverlapEnd() {
+        return overlapEnd;
+    }
+
+    public void setOverlapEnd(LocalDateTime overlapEnd) {
+        this.overlapEnd = overlapEnd;
+    }
+}
@@ -1,6 +1,10 @@
 package com.eventmanagement.entity;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Event Entity
@@ -18,8 +22,14 @@ public class Event {
     private Integer maxParticipants;
     private Integer currentParticipants;
     private String status; // ACTIVE, CANCELLED, COMPLETED
+    private Integer counterSlots; // 1 = counted on the events row, >1 = sharded seat counter slots
+    private String scheduleConflicts; // WARN or REJECT registrations overlapping the participant's other events
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version; // Bumped whenever an editable column changes
+
+    // Updatable fields changed since the entity was loaded or last written
+    private final Set<String> dirtyFields = new LinkedHashSet<>();
 
     // Constructors
     public Event() {}
@@ -36,6 +46,9 @@ public class Event {
         this.maxParticipants = maxParticipants;
         this.currentParticipants = 0;
         this.status = "ACTIVE";
+        this.counterSlots = 1;
+        this.scheduleConflicts = "WARN";
+        this.version = 0L;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -54,6 +67,7 @@ public class Event {
     }
 
     public void setEventName(String eventName) {
+        markDirty("eventName", this.eventName, eventName);
         this.eventName = eventName;
     }
 
@@ -62,6 +76,7 @@ public class Event {
     }
 
     public void setDescription(String description) {
+        markDirty("description", this.description, description);
         this.description = description;
     }
 
@@ -70,6 +85,7 @@ public class Event {
     }
 
     public void setStartDateTime(LocalDateTime startDateTime) {
+        markDirty("startDateTime", this.startDateTime, startDateTime);
         this.startDateTime = startDateTime;
     }
 
@@ -78,6 +94,7 @@ public class Event {
     }
 
     public void setEndDateTime(LocalDateTime endDateTime) {
+        markDirty("endDateTime", this.endDateTime, endDateTime);
         this.endDateTime = endDateTime;
     }
 
@@ -86,6 +103,7 @@ public class Event {
     }
 
     public void setLocation(String location) {
+        markDirty("location", this.location, location);
         this.location = location;
     }
 
@@ -94,6 +112,7 @@ public class Event {
     }
 
     public void setOrganizer(String organizer) {
+        markDirty("organizer", this.organizer, organizer);
         this.organizer = organizer;
     }
 
@@ -102,6 +121,7 @@ public class Event {
     }
 
     public void setMaxParticipants(Integer maxParticipants) {
+        markDirty("maxParticipants", this.maxParticipants, maxParticipants);
         this.maxParticipants = maxParticipants;
     }
 
@@ -110,6 +130,7 @@ public class Event {
     }
 
     public void setCurrentParticipants(Integer currentParticipants) {
+        markDirty("currentParticipants", this.currentParticipants, currentParticipants);
         this.currentParticipants = currentParticipants;
     }
 
@@ -118,9 +139,26 @@ public class Event {
     }
 
     public void setStatus(String status) {
+        markDirty("status", this.status, status);
         this.status = status;
     }
 
+    public Integer getCounterSlots() {
+        return counterSlots;
+    }
+
+    public void setCounterSlots(Integer counterSlots) {
+        this.counterSlots = counterSlots;
+    }
+
+    public String getScheduleConflicts() {
+        return scheduleConflicts;
+    }
+
+    public void setScheduleConflicts(String scheduleConflicts) {
+        this.scheduleConflicts = scheduleConflicts;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -137,6 +175,40 @@ public class Event {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    // Dirty field tracking
+    public Set<String> getDirtyFields() {
+        return Collections.unmodifiableSet(dirtyFields);
+    }
+
+    public boolean hasDirtyFields() {
+        return !dirtyFields.isEmpty();
+    }
+
+    /**
+     * Whether an editable column changed, as opposed to only the participant count
+     */
+    public boolean isContentDirty() {
+        return dirtyFields.stream().anyMatch(field -> !"currentParticipants".equals(field));
+    }
+
+    public void clearDirtyFields() {
+        dirtyFields.clear();
+    }
+
+    private void markDirty(String field, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            dirtyFields.add(field);
+        }
+    }
+
     @Override
     public String toString() {
         return "Event{" +
@@ -150,8 +222,11 @@ public class Event {
                 ", maxParticipants=" + maxParticipants +
                 ", currentParticipants=" + currentParticipants +
                 ", status='" + status + '\'' +
+                ", counterSlots=" + counterSlots +
+                ", scheduleConflicts='" + scheduleConflicts + '\'' +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
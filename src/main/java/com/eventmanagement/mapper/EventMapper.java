@@ -1,9 +1,14 @@
 package com.eventmanagement.mapper;
 
 import com.eventmanagement.dto.EventSearchRequest;
+import com.eventmanagement.dto.SuggestionResponse;
+import com.eventmanagement.dto.VenueConflictResponse;
 import com.eventmanagement.entity.Event;
+import com.eventmanagement.service.EventService;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -29,6 +34,14 @@ public interface EventMapper {
      */
     Event findById(@Param("eventId") Long eventId);
     
+    /**
+     * Find event by ID and lock the row until the transaction ends
+     * 
+     * @param eventId Event ID
+     * @return Event if found, null otherwise
+     */
+    Event findByIdForUpdate(@Param("eventId") Long eventId);
+    
     /**
      * Find events by status
      * 
@@ -61,6 +74,25 @@ public interface EventMapper {
      */
     int update(Event event);
     
+    /**
+     * Update only the columns whose fields changed since the event was loaded
+     * 
+     * @param event Event with dirty fields to write
+     * @return Number of rows affected
+     */
+    int updateDirty(Event event);
+    
+    /**
+     * Update the editable columns of an event and read back the remaining columns
+     * 
+     * Guarded by event.version when it is set. On return the event carries the
+     * row's current participants, status, counter slots, timestamps and new version;
+     * the version is null if no row was updated.
+     * 
+     * @param event Event with editable fields and optional expected version
+     */
+    void updateReturning(Event event);
+    
     /**
      * Delete event by ID
      * 
@@ -69,6 +101,74 @@ public interface EventMapper {
      */
     int deleteById(@Param("eventId") Long eventId);
     
+    /**
+     * Delete event by ID if it still has the expected version
+     * 
+     * @param eventId Event ID
+     * @param version Expected version, or null to delete unconditionally
+     * @return Number of rows affected
+     */
+    int deleteVersioned(@Param("eventId") Long eventId, @Param("version") Long version);
+    
+    /**
+     * Claim one seat for an event
+     * 
+     * Increments current_participants in a single conditional update, only while
+     * the event is active and below capacity, so concurrent registrations cannot overbook.
+     * Events using seat counter slots are not claimed here (see SeatCounterMapper).
+     * 
+     * @param eventId Event ID
+     * @return 1 if a seat was claimed, 0 if the event is missing, not active or full
+     */
+    int claimSeat(@Param("eventId") Long eventId);
+    
+    /**
+     * Release one previously claimed seat for an event
+     * 
+     * @param eventId Event ID
+     * @return Number of rows affected
+     */
+    int releaseSeat(@Param("eventId") Long eventId);
+    
+    /**
+     * Update the number of seat counter slots for an event
+     * 
+     * @param eventId Event ID
+     * @param counterSlots Number of slots (1 = count on the events row)
+     * @return Number of rows affected
+     */
+    int updateCounterSlots(@Param("eventId") Long eventId, @Param("counterSlots") int counterSlots);
+    
+    /**
+     * Update how registrations overlapping a participant's other events are handled
+     * 
+     * @param eventId Event ID
+     * @param scheduleConflicts WARN or REJECT
+     * @return Number of rows affected
+     */
+    int updateScheduleConflicts(@Param("eventId") Long eventId, @Param("scheduleConflicts") String scheduleConflicts);
+    
+    /**
+     * Stream every event ID, for rebuilding the known ID filter
+     * 
+     * @param handler Receives each event ID
+     */
+    void scanEventIds(ResultHandler<Long> handler);
+    
+    /**
+     * Stream the ID, name, description, schedule, status, organizer and location of every event, for rebuilding the search index
+     * 
+     * @param handler Receives each event with only those fields set
+     */
+    void scanSearchDocuments(ResultHandler<Event> handler);
+    
+    /**
+     * Stream the columns counted by the event statistics
+     * 
+     * @param handler Receives each event with only eventId, status, currentParticipants and maxParticipants set
+     */
+    void scanStatistics(ResultHandler<Event> handler);
+    
     /**
      * Count total events
      * 
@@ -84,14 +184,81 @@ public interface EventMapper {
      */
     int countByStatus(@Param("status") String status);
     
+    /**
+     * Count events per status, total participants and average fill in one pass
+     * 
+     * @return Event statistics
+     */
+    EventService.EventStatistics getStatistics();
+    
     /**
      * Search events with advanced criteria
      * 
      * @param searchRequest Search criteria
-     * @return List of events matching the search criteria
+     * @return Events of the requested page, plus one lookahead row if a next page exists
      */
     List<Event> searchEvents(EventSearchRequest searchRequest);
     
+    /**
+     * Find the IDs of all events matching search criteria, unordered
+     * 
+     * @param searchRequest Search criteria
+     * @return Matching event IDs
+     */
+    List<Long> searchEventIds(EventSearchRequest searchRequest);
+    
+    /**
+     * Remove the search candidates staged in the current transaction
+     */
+    void clearSearchCandidates();
+    
+    /**
+     * Stage search candidates in the search_candidates temporary table for the current
+     * transaction, where searches with candidatesStaged read them
+     * 
+     * @param eventIds Event IDs (at most 1000, not empty)
+     */
+    void insertSearchCandidates(@Param("eventIds") List<Long> eventIds);
+    
+    /**
+     * Find events by ID
+     * 
+     * @param eventIds Event IDs (at most 1000, not empty)
+     * @return Events found, in no particular order
+     */
+    List<Event> findByIds(@Param("eventIds") List<Long> eventIds);
+    
+    /**
+     * Find the most used organizer or location values starting with a prefix
+     * 
+     * @param field "organizer" or "location"
+     * @param prefix Value prefix
+     * @param limit Maximum number of values
+     * @return Values with their event counts, most used first
+     */
+    List<SuggestionResponse> suggestValues(@Param("field") String field, @Param("prefix") String prefix,
+                                           @Param("limit") int limit);
+    
+    /**
+     * Find the events booked at a location during a time slot, for double-booking checks
+     * 
+     * @param location Location
+     * @param start Slot start
+     * @param end Slot end
+     * @param excludeEventId Event to leave out, or null
+     * @return IDs of events, not cancelled, overlapping the slot
+     */
+    List<Long> findVenueConflicts(@Param("location") String location, @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end, @Param("excludeEventId") Long excludeEventId);
+    
+    /**
+     * Find every pair of events booked at the same location at overlapping times
+     * 
+     * @param endingAfter Only bookings ending after this time are considered
+     * @return Overlapping pairs by overlap start
+     */
+    List<VenueConflictResponse> findVenueOverlaps(@Param("endingAfter") LocalDateTime endingAfter);
+    
     /**
      * Count events matching search criteria
      * 
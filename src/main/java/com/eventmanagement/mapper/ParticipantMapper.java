@@ -1,8 +1,15 @@
 package com.eventmanagement.mapper;
 
+import com.eventmanagement.dto.MonthlyParticipant;
+import com.eventmanagement.dto.ParticipantSchedule;
+import com.eventmanagement.dto.RegistrationBucket;
+import com.eventmanagement.dto.UniqueParticipantsResponse;
 import com.eventmanagement.entity.Participant;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -77,4 +84,72 @@ public interface ParticipantMapper {
      * @return Number of participants
      */
     int countByEventId(@Param("eventId") Long eventId);
-}
\ No newline at end of file
+    
+    /**
+     * Stream every participation ID, for rebuilding the known ID filter
+     * 
+     * @param handler Receives each participation ID
+     */
+    void scanParticipationIds(ResultHandler<Long> handler);
+    
+    /**
+     * Stream every registration for an event that has not ended and is not cancelled,
+     * for rebuilding the participant schedule index
+     * 
+     * @param endingAfter Only events ending after this time
+     * @param handler Receives each registration with its event's schedule
+     */
+    void scanSchedules(@Param("endingAfter") LocalDateTime endingAfter,
+                       ResultHandler<ParticipantSchedule> handler);
+    
+    /**
+     * Stream registration counts per event and time bucket, for backfilling the registration rollups
+     * 
+     * @param resolution MINUTE, HOUR or DAY
+     * @param since Only registrations made at or after this time
+     * @param handler Receives each event's count for each bucket with registrations
+     */
+    void scanRegistrationBuckets(@Param("resolution") String resolution, @Param("since") LocalDateTime since,
+                                 ResultHandler<RegistrationBucket> handler);
+    
+    /**
+     * Find which of the given registrations exist
+     * 
+     * @param participationIds Participation IDs (at most 1000, not empty)
+     * @return IDs of the registrations found
+     */
+    List<Long> findExistingParticipationIds(@Param("participationIds") List<Long> participationIds);
+    
+    /**
+     * Count registrations per time bucket
+     * 
+     * @param eventId Event ID, or null for all events
+     * @param resolution MINUTE, HOUR or DAY
+     * @param since Only registrations made at or after this time
+     * @return Counts of the buckets with registrations, oldest first; eventId is not set
+     */
+    List<RegistrationBucket> countRegistrationBuckets(@Param("eventId") Long eventId,
+                                                      @Param("resolution") String resolution,
+                                                      @Param("since") LocalDateTime since);
+    
+    /**
+     * Stream every registration with its event's organizer and start month, for backfilling
+     * the unique participant sketches
+     * 
+     * @param handler Receives each registration
+     */
+    void scanMonthlyParticipants(ResultHandler<MonthlyParticipant> handler);
+    
+    /**
+     * Count distinct participant emails of the events starting in a range of months
+     * 
+     * @param organizer Organizer, or null for all organizers
+     * @param from Only events starting at or after this time
+     * @param until Only events starting before this time
+     * @return Counts per month with participants, oldest first, followed by the count for the
+     *         whole range with a null month
+     */
+    List<UniqueParticipantsResponse.MonthCount> countUniqueParticipants(@Param("organizer") String organizer,
+                                                                        @Param("from") LocalDateTime from,
+                                                                        @Param("until") LocalDateTime until);
+}
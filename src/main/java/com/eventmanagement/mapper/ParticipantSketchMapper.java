@@ -0,0 +1,47 @@
+package com.eventmanagement.mapper;
+
+import com.eventmanagement.dto.ParticipantSketch;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+/**
+ * Participant Sketch Mapper Interface
+ * 
+ * MyBatis mapper interface for the persisted unique participant sketches.
+ */
+@Mapper
+public interface ParticipantSketchMapper {
+    
+    /**
+     * Stream every persisted sketch
+     * 
+     * @param handler Receives each organizer's sketch for each month
+     */
+    void scanAll(ResultHandler<ParticipantSketch> handler);
+    
+    /**
+     * Find and lock the saved sketch of an organizer and month
+     * 
+     * @param organizer Organizer
+     * @param month Month (YYYY-MM)
+     * @return Saved sketch, or null if none is saved yet
+     */
+    ParticipantSketch findForUpdate(@Param("organizer") String organizer, @Param("month") String month);
+    
+    /**
+     * Insert the first sketch of an organizer and month
+     * 
+     * @param sketch Sketch to save
+     * @return Number of rows affected
+     */
+    int insert(ParticipantSketch sketch);
+    
+    /**
+     * Replace the registers of a saved sketch
+     * 
+     * @param sketch Sketch to save
+     * @return Number of rows affected
+     */
+    int update(ParticipantSketch sketch);
+}
@@ -0,0 +1,99 @@
+package com.eventmanagement.mapper;
+
+import com.eventmanagement.entity.Event;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import java.util.List;
+
+/**
+ * Seat Counter Mapper Interface
+ * 
+ * MyBatis mapper interface for sharded seat counter slots of hot events.
+ */
+@Mapper
+public interface SeatCounterMapper {
+    
+    /**
+     * Claim one seat in a specific slot
+     * 
+     * @param eventId Event ID
+     * @param slotNo Slot number
+     * @return 1 if a seat was claimed, 0 if the slot is full or the event is not active
+     */
+    int claimSlot(@Param("eventId") Long eventId, @Param("slotNo") int slotNo);
+    
+    /**
+     * Claim one seat in the lowest slot that still has capacity
+     * 
+     * @param eventId Event ID
+     * @return 1 if a seat was claimed, 0 otherwise
+     */
+    int claimAnySlot(@Param("eventId") Long eventId);
+    
+    /**
+     * Release one seat from a specific slot
+     * 
+     * @param eventId Event ID
+     * @param slotNo Slot number
+     * @return Number of rows affected
+     */
+    int releaseSlot(@Param("eventId") Long eventId, @Param("slotNo") int slotNo);
+    
+    /**
+     * Release one seat from the highest slot that has claimed seats
+     * 
+     * @param eventId Event ID
+     * @return Number of rows affected
+     */
+    int releaseAnySlot(@Param("eventId") Long eventId);
+    
+    /**
+     * Sum the seats still free across all slots (0 when the event is not active)
+     * 
+     * @param eventId Event ID
+     * @return Free seats, or null if the event has no slots
+     */
+    Integer sumFreeSeats(@Param("eventId") Long eventId);
+    
+    /**
+     * Sum the claimed seats across all slots
+     * 
+     * @param eventId Event ID
+     * @return Claimed seats, or null if the event has no slots
+     */
+    Integer sumClaimed(@Param("eventId") Long eventId);
+    
+    /**
+     * Find the events that use seat counter slots
+     * 
+     * @return Events with only eventId and counterSlots populated
+     */
+    List<Event> findSlotCounts();
+    
+    /**
+     * Insert a seat counter slot
+     * 
+     * @param eventId Event ID
+     * @param slotNo Slot number
+     * @param capacity Seats available in the slot
+     * @param claimed Seats already claimed in the slot
+     * @return Number of rows affected
+     */
+    int insertSlot(@Param("eventId") Long eventId, @Param("slotNo") int slotNo,
+                   @Param("capacity") int capacity, @Param("claimed") int claimed);
+    
+    /**
+     * Delete all seat counter slots for an event
+     * 
+     * @param eventId Event ID
+     * @return Number of rows affected
+     */
+    int deleteByEventId(@Param("eventId") Long eventId);
+    
+    /**
+     * Fold slot totals into events.current_participants where they differ
+     * 
+     * @return Number of events updated
+     */
+    int foldIntoEvents();
+}
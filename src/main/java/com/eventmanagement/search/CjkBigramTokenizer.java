@@ -0,0 +1,102 @@
+package com.eventmanagement.search;
+
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CJK Bigram Tokenizer
+ *
+ * Tokenizes mixed Japanese and Latin text without a dictionary. Text is first normalized:
+ * NFKC folds full-width letters and digits to half-width and half-width katakana to
+ * full-width, katakana is folded to hiragana, and Latin is lower-cased. Runs of letters
+ * and digits then become word terms, while runs of kanji, kana and hangul become
+ * overlapping two-character terms ("東京都" gives "東京" and "京都").
+ *
+ * Documents additionally index the last character of every CJK run, so a one-character
+ * query matches wherever that character occurs: either as the first character of a bigram
+ * or as the last character of a run. Longer CJK queries match on their bigrams only, which
+ * can accept documents that contain every bigram but not the whole phrase.
+ */
+@Component
+public class CjkBigramTokenizer implements Tokenizer {
+
+    private static final int KATAKANA_FIRST = 0x30A1;   // ァ
+    private static final int KATAKANA_LAST = 0x30F6;    // ヶ
+    private static final int KATAKANA_TO_HIRAGANA = 0x60;
+    private static final int PROLONGED_SOUND_MARK = 0x30FC;  // ー
+
+    @Override
+    public List<String> tokenize(String text) {
+        return split(text, true);
+    }
+
+    @Override
+    public List<String> tokenizeQuery(String text) {
+        return split(text, false);
+    }
+
+    /**
+     * Normalize text for matching: NFKC, katakana to hiragana, lower case
+     *
+     * @param text Text to normalize
+     * @return Normalized text
+     */
+    public static String normalize(String text) {
+        String nfkc = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        StringBuilder normalized = new StringBuilder(nfkc.length());
+        nfkc.codePoints().forEach(cp -> normalized.appendCodePoint(
+                cp >= KATAKANA_FIRST && cp <= KATAKANA_LAST ? cp - KATAKANA_TO_HIRAGANA : cp));
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> split(String text, boolean document) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+
+        int[] cps = normalize(text).codePoints().toArray();
+        int i = 0;
+        while (i < cps.length) {
+            int start = i;
+            if (isCjk(cps[i])) {
+                while (i < cps.length && isCjk(cps[i])) {
+                    i++;
+                }
+                addBigrams(terms, cps, start, i, document);
+            } else if (Character.isLetterOrDigit(cps[i])) {
+                while (i < cps.length && !isCjk(cps[i]) && Character.isLetterOrDigit(cps[i])) {
+                    i++;
+                }
+                terms.add(new String(cps, start, i - start));
+            } else {
+                i++;
+            }
+        }
+        return terms;
+    }
+
+    private static void addBigrams(List<String> terms, int[] cps, int start, int end, boolean document) {
+        for (int i = start; i + 1 < end; i++) {
+            terms.add(new String(cps, i, 2));
+        }
+        if (document || end - start == 1) {
+            terms.add(new String(cps, end - 1, 1));
+        }
+    }
+
+    private static boolean isCjk(int cp) {
+        if (cp == PROLONGED_SOUND_MARK) {
+            return true;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,979 @@
+package com.eventmanagement.search;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.support.AfterCommit;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Event Search Index
+ *
+ * In-memory inverted index over event name and description, tokenized by the Tokenizer
+ * bean (CJK bigrams and Latin words). Each term maps to a compressed bitmap of event IDs,
+ * and each event keeps its term frequencies and length for BM25 relevance ranking. Terms,
+ * organizers and locations are also indexed by trigram for typo-tolerant matching, and
+ * counted in prefix tries for autocomplete. Per-value bitmaps of status, organizer and
+ * location answer equality and partial-match filters and give facet counts for any set of
+ * matches, and interval trees over start and end times find the events running during a
+ * window, overall and per location for double-booking checks.
+ *
+ * The index is built from a full scan at startup and rebuilt on a fixed delay, which also
+ * picks up writes made by other instances; writes made through EventService are applied
+ * as soon as their transaction commits.
+ *
+ * Until the first build completes, or if an event ID does not fit in an int, the index
+ * reports itself as not ready and searches fall back to SQL.
+ */
+@Component
+public class EventSearchIndex {
+
+    @Autowired
+    private Tokenizer tokenizer;
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @Value("${eventmanagement.search.index.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * BM25 parameters; name terms count NAME_WEIGHT times towards frequency and length
+     */
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    private static final int NAME_WEIGHT = 2;
+
+    /**
+     * Start of an event without a complete schedule, which the interval tree does not hold
+     */
+    private static final long NOT_SCHEDULED = Long.MIN_VALUE;
+
+    private static final String CANCELLED = "CANCELLED";
+
+    /**
+     * Best first: higher score, then higher event ID
+     */
+    private static final Comparator<Hit> RANK_ORDER = Comparator.comparingDouble(Hit::getScore).reversed()
+            .thenComparing(Comparator.comparingLong(Hit::getEventId).reversed());
+
+    /**
+     * Facet values first: higher count, then value
+     */
+    private static final Comparator<Map.Entry<String, Integer>> FACET_ORDER =
+            Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Postings postings = new Postings();
+    private volatile boolean ready;
+
+    /**
+     * Changes committed while a rebuild scans the table, replayed onto the new postings;
+     * a null event marks a removal. Guarded by the write lock.
+     */
+    private Map<Long, Event> changesDuringRebuild;
+
+    /**
+     * Whether the index can answer keyword queries
+     */
+    public boolean isReady() {
+        return enabled && ready && !postings.overflowed;
+    }
+
+    /**
+     * Index a created or updated event once the current transaction commits
+     *
+     * @param event Event with its ID, name, description, schedule, status, organizer and location
+     */
+    public void index(Event event) {
+        AfterCommit.run(() -> apply(event.getEventId(), event));
+    }
+
+    /**
+     * Remove a deleted event once the current transaction commits
+     *
+     * @param eventId Event ID
+     */
+    public void remove(Long eventId) {
+        AfterCommit.run(() -> apply(eventId, null));
+    }
+
+    /**
+     * Find events whose name or description has a term starting with each query term
+     *
+     * @param keyword Keyword as entered by the user
+     * @return Matching event IDs, or null if the index cannot answer the query
+     */
+    public RoaringBitmap match(String keyword) {
+        List<String> terms = distinct(tokenizer.tokenizeQuery(keyword));
+        if (!isReady() || terms.isEmpty()) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> perTerm = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                RoaringBitmap docs = postings.prefixMatch(term);
+                if (docs.isEmpty()) {
+                    return docs;
+                }
+                perTerm.add(docs);
+            }
+            // Intersect the most selective terms first
+            perTerm.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+            RoaringBitmap result = perTerm.get(0);
+            for (int i = 1; i < perTerm.size() && !result.isEmpty(); i++) {
+                result = RoaringBitmap.and(result, perTerm.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find events matching every given criterion despite typos
+     *
+     * Each keyword term matches the indexed terms it is a prefix of and those containing at
+     * least the given share of its trigrams. Organizer and location match the distinct
+     * organizer and location values containing that share of their trigrams.
+     *
+     * @param keyword Keyword, or null
+     * @param organizer Organizer, or null
+     * @param location Location, or null
+     * @param similarity Minimum share of query trigrams a match must contain, in (0, 1]
+     * @return Matching event IDs, or null if the index cannot answer the query
+     */
+    public RoaringBitmap fuzzyMatch(String keyword, String organizer, String location, double similarity) {
+        boolean hasKeyword = keyword != null && !keyword.isBlank();
+        List<String> terms = hasKeyword ? distinct(tokenizer.tokenizeQuery(keyword)) : List.of();
+        boolean hasOrganizer = organizer != null && !organizer.isBlank();
+        boolean hasLocation = location != null && !location.isBlank();
+        if (!isReady() || (hasKeyword && terms.isEmpty()) || (!hasKeyword && !hasOrganizer && !hasLocation)) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> perCriterion = new ArrayList<>();
+            for (String term : terms) {
+                RoaringBitmap docs = postings.prefixMatch(term);
+                for (String similarTerm : postings.termTrigrams.similar(term, similarity)) {
+                    docs.or(postings.docsByTerm.get(similarTerm));
+                }
+                perCriterion.add(docs);
+            }
+            if (hasOrganizer) {
+                perCriterion.add(postings.similarValues(postings.docsByOrganizer, postings.organizerTrigrams,
+                        organizer, similarity));
+            }
+            if (hasLocation) {
+                perCriterion.add(postings.similarValues(postings.docsByLocation, postings.locationTrigrams,
+                        location, similarity));
+            }
+            return FastAggregation.and(perCriterion.iterator());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find events passing the status, organizer and location filters
+     *
+     * Status matches exactly. Organizer and location match every distinct value containing
+     * the filter once both are normalized, so width, case and kana variants match too.
+     *
+     * @param status Status, or null
+     * @param organizer Part of the organizer, or null
+     * @param location Part of the location, or null
+     * @return Matching event IDs, or null if there is no filter or the index cannot answer
+     */
+    public RoaringBitmap filter(String status, String organizer, String location) {
+        boolean hasStatus = status != null && !status.isBlank();
+        boolean hasOrganizer = organizer != null && !organizer.isBlank();
+        boolean hasLocation = location != null && !location.isBlank();
+        if (!isReady() || (!hasStatus && !hasOrganizer && !hasLocation)) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> perFilter = new ArrayList<>(3);
+            if (hasStatus) {
+                perFilter.add(postings.docsByStatus.getOrDefault(status, new RoaringBitmap()));
+            }
+            if (hasOrganizer) {
+                perFilter.add(postings.containingValues(postings.docsByOrganizer, organizer));
+            }
+            if (hasLocation) {
+                perFilter.add(postings.containingValues(postings.docsByLocation, location));
+            }
+            // Intersect the most selective filters first, never modifying the postings
+            perFilter.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+            RoaringBitmap result = perFilter.get(0).clone();
+            for (int i = 1; i < perFilter.size() && !result.isEmpty(); i++) {
+                result.and(perFilter.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find events running at any time during a window
+     *
+     * An event overlaps the window when it starts no later than the window ends and ends
+     * no earlier than the window starts; both ends are inclusive.
+     *
+     * @param from Window start, or null for no lower bound
+     * @param to Window end, or null for no upper bound
+     * @return Matching event IDs, or null if there is no bound or the index cannot answer
+     */
+    public RoaringBitmap overlapping(LocalDateTime from, LocalDateTime to) {
+        if (!isReady() || (from == null && to == null)) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap docs = new RoaringBitmap();
+            postings.schedule.overlapping(from != null ? epochSecond(from) : Long.MIN_VALUE,
+                    to != null ? epochSecond(to) : Long.MAX_VALUE, docs);
+            return docs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find events whose start and end fall in the given ranges
+     *
+     * @param startFrom Earliest start, or null
+     * @param startTo Latest start, or null
+     * @param endFrom Earliest end, or null
+     * @param endTo Latest end, or null
+     * @return Matching event IDs, or null if there is no bound or the index cannot answer
+     */
+    public RoaringBitmap scheduledWithin(LocalDateTime startFrom, LocalDateTime startTo, LocalDateTime endFrom,
+                                         LocalDateTime endTo) {
+        if (!isReady() || (startFrom == null && startTo == null && endFrom == null && endTo == null)) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap docs = new RoaringBitmap();
+            postings.schedule.within(startFrom != null ? epochSecond(startFrom) : Long.MIN_VALUE,
+                    startTo != null ? epochSecond(startTo) : Long.MAX_VALUE,
+                    endFrom != null ? epochSecond(endFrom) : Long.MIN_VALUE,
+                    endTo != null ? epochSecond(endTo) : Long.MAX_VALUE, docs);
+            return docs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the events booked at a location during a time slot
+     *
+     * Bookings touching end to start do not overlap. Cancelled events hold no booking.
+     *
+     * @param location Location, compared in normalized form
+     * @param start Slot start
+     * @param end Slot end
+     * @param excludeEventId Event to leave out, e.g. the one being rescheduled, or null
+     * @return IDs of the overlapping events, or null if the index cannot answer
+     */
+    public List<Long> venueConflicts(String location, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        if (!isReady()) {
+            return null;
+        }
+        List<Long> eventIds = new ArrayList<>();
+        if (location == null || location.isBlank()) {
+            return eventIds;
+        }
+
+        lock.readLock().lock();
+        try {
+            IntervalTree schedule = postings.scheduleByLocation.get(normalizeValue(location));
+            if (schedule == null) {
+                return eventIds;
+            }
+            RoaringBitmap docs = new RoaringBitmap();
+            schedule.overlapping(epochSecond(start) + 1, epochSecond(end) - 1, docs);
+            docs.andNot(postings.docsByStatus.getOrDefault(CANCELLED, new RoaringBitmap()));
+            docs.forEach((int docId) -> {
+                if (excludeEventId == null || docId != excludeEventId) {
+                    eventIds.add((long) docId);
+                }
+            });
+            return eventIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find every pair of events booked at the same location at overlapping times
+     *
+     * Each location's bookings are swept in start order, keeping those still running, so
+     * the cost is linear in the bookings plus the pairs found.
+     *
+     * @param endingAfter Only bookings ending after this time are considered
+     * @return Overlapping pairs by overlap start, then event IDs, or null if the index cannot answer
+     */
+    public List<Overlap> venueOverlaps(LocalDateTime endingAfter) {
+        if (!isReady()) {
+            return null;
+        }
+        long threshold = epochSecond(endingAfter);
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap cancelled = postings.docsByStatus.getOrDefault(CANCELLED, new RoaringBitmap());
+            List<Overlap> overlaps = new ArrayList<>();
+            postings.scheduleByLocation.forEach((key, schedule) -> {
+                String location = postings.displayValue("location", key);
+                List<long[]> running = new ArrayList<>();
+                schedule.forEach((start, end, id) -> {
+                    if (end <= threshold || cancelled.contains(id)) {
+                        return;
+                    }
+                    running.removeIf(booking -> booking[1] <= start);
+                    for (long[] booking : running) {
+                        overlaps.add(new Overlap(location, Math.min(booking[2], id), Math.max(booking[2], id),
+                                toDateTime(start), toDateTime(Math.min(booking[1], end))));
+                    }
+                    running.add(new long[] {start, end, id});
+                });
+            });
+            overlaps.sort(Comparator.comparing(Overlap::getStart)
+                    .thenComparingLong(Overlap::getEventId)
+                    .thenComparingLong(Overlap::getOtherEventId));
+            return overlaps;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank events by BM25 relevance to a keyword
+     *
+     * Only the best limit events are kept while scoring, in a bounded heap, so the cost is
+     * linear in the number of candidates however deep the page. Ties are broken by higher
+     * event ID first. With a seek position, only events ranked strictly after it count.
+     *
+     * @param keyword Keyword as entered by the user
+     * @param candidates Event IDs to rank, usually the keyword matches narrowed by other filters
+     * @param limit Maximum number of hits to return
+     * @param afterScore Score of the last hit already returned, or null to start from the top
+     * @param afterEventId Event ID of the last hit already returned
+     * @param similarity Fuzzy mode: terms containing this share of a query term's trigrams
+     *                   count as occurrences of it; null to count prefix matches only
+     * @return Hits best first, or null if the index cannot answer the query
+     */
+    public List<Hit> rank(String keyword, RoaringBitmap candidates, int limit, Double afterScore, Long afterEventId,
+                          Double similarity) {
+        List<String> terms = distinct(tokenizer.tokenizeQuery(keyword));
+        if (!isReady() || terms.isEmpty()) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = postings.termsByDoc.size();
+            double averageLength = postings.averageLength();
+            double[] idf = new double[terms.size()];
+            List<List<String>> similarTerms = new ArrayList<>(terms.size());
+            for (int t = 0; t < idf.length; t++) {
+                String term = terms.get(t);
+                RoaringBitmap docs = postings.prefixMatch(term);
+                List<String> similar = new ArrayList<>();
+                if (similarity != null) {
+                    for (String similarTerm : postings.termTrigrams.similar(term, similarity)) {
+                        // Prefix matches are counted already
+                        if (!similarTerm.startsWith(term)) {
+                            similar.add(similarTerm);
+                            docs.or(postings.docsByTerm.get(similarTerm));
+                        }
+                    }
+                }
+                similarTerms.add(similar);
+                int df = docs.getCardinality();
+                idf[t] = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            }
+
+            // Min-heap on rank: the root is the worst hit kept so far
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, RANK_ORDER.reversed());
+            for (int docId : candidates) {
+                DocTerms doc = postings.termsByDoc.get(docId);
+                if (doc == null) {
+                    continue;
+                }
+                double norm = BM25_K1 * (1 - BM25_B + BM25_B * doc.length / averageLength);
+                double score = 0;
+                for (int t = 0; t < idf.length; t++) {
+                    int tf = doc.prefixFrequency(terms.get(t));
+                    for (String similarTerm : similarTerms.get(t)) {
+                        tf += doc.frequency(similarTerm);
+                    }
+                    score += idf[t] * tf * (BM25_K1 + 1) / (tf + norm);
+                }
+                Hit hit = new Hit(docId, score);
+                if (afterScore != null && RANK_ORDER.compare(hit, new Hit(afterEventId, afterScore)) <= 0) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(hit);
+                } else if (RANK_ORDER.compare(hit, best.peek()) < 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(RANK_ORDER);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Most frequent organizers or locations starting with a prefix
+     *
+     * Values are matched and counted by their normalized form, so width, case and kana
+     * variants of one value count together and are returned as first indexed.
+     *
+     * @param field "organizer" or "location"
+     * @param prefix Prefix as entered by the user
+     * @param limit Maximum number of suggestions
+     * @return Suggestions by descending event count, or null if the index cannot answer
+     */
+    public List<ValueCount> suggest(String field, String prefix, int limit) {
+        if (!isReady()) {
+            return null;
+        }
+        String key = normalizeValue(prefix);
+
+        lock.readLock().lock();
+        try {
+            PrefixTrie trie = "organizer".equals(field) ? postings.organizerSuggestions : postings.locationSuggestions;
+            List<ValueCount> suggestions = new ArrayList<>(limit);
+            for (PrefixTrie.Entry entry : trie.top(key, limit)) {
+                suggestions.add(new ValueCount(entry.getValue(), entry.getCount()));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count matching events per status, organizer and location value
+     *
+     * Organizer and location values are counted by their normalized form and returned as
+     * first indexed.
+     *
+     * @param matches Matching event IDs, or null for all events
+     * @param fields Fields to count: any of "status", "organizer" and "location"
+     * @param limit Maximum number of values per field
+     * @return Values of each field by descending event count, then by value, or null if
+     *         the index cannot answer
+     */
+    public Map<String, List<ValueCount>> facets(RoaringBitmap matches, List<String> fields, int limit) {
+        if (!isReady()) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, List<ValueCount>> facets = new LinkedHashMap<>();
+            for (String field : fields) {
+                // Min-heap on rank: the root is the weakest value kept so far
+                PriorityQueue<Map.Entry<String, Integer>> best = new PriorityQueue<>(limit + 1,
+                        FACET_ORDER.reversed());
+                for (Map.Entry<String, Integer> count : postings.countValues(field, matches).entrySet()) {
+                    best.add(count);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+                List<Map.Entry<String, Integer>> top = new ArrayList<>(best);
+                top.sort(FACET_ORDER);
+                List<ValueCount> values = new ArrayList<>(top.size());
+                for (Map.Entry<String, Integer> count : top) {
+                    values.add(new ValueCount(postings.displayValue(field, count.getKey()), count.getValue()));
+                }
+                facets.put(field, values);
+            }
+            return facets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the index from a full scan of the events table
+     */
+    @Scheduled(fixedDelayString = "${eventmanagement.search.index.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Postings next = new Postings();
+        boolean scanned = false;
+        try {
+            eventMapper.scanSearchDocuments(context -> next.add(context.getResultObject(), tokenizer));
+            scanned = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // A failed scan keeps the current postings
+                if (scanned) {
+                    changesDuringRebuild.forEach((eventId, event) -> next.replace(eventId, event, tokenizer));
+                    postings = next;
+                    ready = true;
+                }
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Number of indexed events
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return postings.termsByDoc.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Long eventId, Event event) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(eventId, event);
+            }
+            postings.replace(eventId, event, tokenizer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<String> distinct(List<String> terms) {
+        return new ArrayList<>(new LinkedHashSet<>(terms));
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static String normalizeValue(String value) {
+        return CjkBigramTokenizer.normalize(value).trim();
+    }
+
+    /**
+     * Term dictionary and postings; not thread-safe on its own
+     */
+    private static final class Postings {
+
+        private final TreeMap<String, RoaringBitmap> docsByTerm = new TreeMap<>();
+        private final Map<Integer, DocTerms> termsByDoc = new HashMap<>();
+        private final Map<String, RoaringBitmap> docsByStatus = new HashMap<>();
+        private final Map<String, RoaringBitmap> docsByOrganizer = new HashMap<>();
+        private final Map<String, RoaringBitmap> docsByLocation = new HashMap<>();
+        private final TrigramMatcher termTrigrams = new TrigramMatcher();
+        private final TrigramMatcher organizerTrigrams = new TrigramMatcher();
+        private final TrigramMatcher locationTrigrams = new TrigramMatcher();
+        private final PrefixTrie organizerSuggestions = new PrefixTrie();
+        private final PrefixTrie locationSuggestions = new PrefixTrie();
+        private final IntervalTree schedule = new IntervalTree();
+        private final Map<String, IntervalTree> scheduleByLocation = new HashMap<>();
+        private long totalLength;
+        private boolean overflowed;
+
+        void add(Event event, Tokenizer tokenizer) {
+            replace(event.getEventId(), event, tokenizer);
+        }
+
+        void replace(Long eventId, Event event, Tokenizer tokenizer) {
+            if (eventId == null) {
+                return;
+            }
+            if (eventId < 0 || eventId > Integer.MAX_VALUE) {
+                overflowed = true;
+                return;
+            }
+            int docId = eventId.intValue();
+            removeDoc(docId);
+            if (event != null) {
+                addDoc(docId, event, tokenizer);
+            }
+        }
+
+        RoaringBitmap prefixMatch(String prefix) {
+            NavigableMap<String, RoaringBitmap> matches =
+                    docsByTerm.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+            if (matches.size() == 1) {
+                return matches.firstEntry().getValue().clone();
+            }
+            return FastAggregation.or(matches.values().iterator());
+        }
+
+        double averageLength() {
+            return termsByDoc.isEmpty() ? 1 : Math.max(1.0, (double) totalLength / termsByDoc.size());
+        }
+
+        private void addDoc(int docId, Event event, Tokenizer tokenizer) {
+            Map<String, Integer> freqs = new TreeMap<>();
+            for (String term : tokenizer.tokenize(event.getEventName())) {
+                freqs.merge(term, NAME_WEIGHT, Integer::sum);
+            }
+            for (String term : tokenizer.tokenize(event.getDescription())) {
+                freqs.merge(term, 1, Integer::sum);
+            }
+
+            String[] terms = new String[freqs.size()];
+            int[] counts = new int[freqs.size()];
+            int length = 0;
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+                String term = entry.getKey();
+                RoaringBitmap docs = docsByTerm.get(term);
+                if (docs == null) {
+                    docs = new RoaringBitmap();
+                    docsByTerm.put(term, docs);
+                    termTrigrams.add(term);
+                } else {
+                    // Share the dictionary's copy of the term
+                    term = docsByTerm.ceilingKey(term);
+                }
+                docs.add(docId);
+                terms[i] = term;
+                counts[i++] = entry.getValue();
+                length += entry.getValue();
+            }
+            String organizer = addValue(docsByOrganizer, organizerTrigrams, organizerSuggestions,
+                    event.getOrganizer(), docId);
+            String location = addValue(docsByLocation, locationTrigrams, locationSuggestions,
+                    event.getLocation(), docId);
+            String status = event.getStatus();
+            if (status != null) {
+                docsByStatus.computeIfAbsent(status, key -> new RoaringBitmap()).add(docId);
+            }
+            long start = NOT_SCHEDULED;
+            if (event.getStartDateTime() != null && event.getEndDateTime() != null) {
+                start = epochSecond(event.getStartDateTime());
+                long end = epochSecond(event.getEndDateTime());
+                schedule.add(start, end, docId);
+                if (location != null) {
+                    scheduleByLocation.computeIfAbsent(location, key -> new IntervalTree()).add(start, end, docId);
+                }
+            }
+            termsByDoc.put(docId, new DocTerms(terms, counts, length, start, status, organizer, location));
+            totalLength += length;
+        }
+
+        private void removeDoc(int docId) {
+            DocTerms removed = termsByDoc.remove(docId);
+            if (removed == null) {
+                return;
+            }
+            totalLength -= removed.length;
+            for (String term : removed.terms) {
+                removeFrom(docsByTerm, termTrigrams, null, term, docId);
+            }
+            if (removed.start != NOT_SCHEDULED) {
+                schedule.remove(removed.start, docId);
+                IntervalTree venueSchedule = removed.location == null ? null
+                        : scheduleByLocation.get(removed.location);
+                if (venueSchedule != null) {
+                    venueSchedule.remove(removed.start, docId);
+                    if (venueSchedule.size() == 0) {
+                        scheduleByLocation.remove(removed.location);
+                    }
+                }
+            }
+            removeFrom(docsByStatus, null, null, removed.status, docId);
+            removeFrom(docsByOrganizer, organizerTrigrams, organizerSuggestions, removed.organizer, docId);
+            removeFrom(docsByLocation, locationTrigrams, locationSuggestions, removed.location, docId);
+        }
+
+        /**
+         * Count the events of each value of one field among the matches
+         *
+         * Intersects the matches with each value's bitmap when the field has no more values
+         * than there are matches, and otherwise reads each match's value, so the cost is the
+         * smaller of the two.
+         */
+        Map<String, Integer> countValues(String field, RoaringBitmap matches) {
+            Map<String, RoaringBitmap> docsByValue = "status".equals(field) ? docsByStatus
+                    : "organizer".equals(field) ? docsByOrganizer : docsByLocation;
+            Map<String, Integer> counts = new HashMap<>();
+            if (matches == null || docsByValue.size() <= matches.getCardinality()) {
+                docsByValue.forEach((value, docs) -> {
+                    int count = matches == null ? docs.getCardinality() : RoaringBitmap.andCardinality(matches, docs);
+                    if (count > 0) {
+                        counts.put(value, count);
+                    }
+                });
+                return counts;
+            }
+            for (int docId : matches) {
+                DocTerms doc = termsByDoc.get(docId);
+                String value = doc == null ? null
+                        : "status".equals(field) ? doc.status : "organizer".equals(field) ? doc.organizer : doc.location;
+                if (value != null) {
+                    counts.merge(value, 1, Integer::sum);
+                }
+            }
+            return counts;
+        }
+
+        /**
+         * Value of a field as shown to users
+         */
+        String displayValue(String field, String key) {
+            PrefixTrie suggestions = "organizer".equals(field) ? organizerSuggestions
+                    : "location".equals(field) ? locationSuggestions : null;
+            PrefixTrie.Entry entry = suggestions == null ? null : suggestions.get(key);
+            return entry == null ? key : entry.getValue();
+        }
+
+        /**
+         * Events whose value contains the query
+         */
+        RoaringBitmap containingValues(Map<String, RoaringBitmap> docsByValue, String query) {
+            String part = normalizeValue(query);
+            List<RoaringBitmap> matches = new ArrayList<>();
+            docsByValue.forEach((value, docs) -> {
+                if (value.contains(part)) {
+                    matches.add(docs);
+                }
+            });
+            return FastAggregation.or(matches.iterator());
+        }
+
+        /**
+         * Events whose value contains at least a share of the query's trigrams
+         */
+        RoaringBitmap similarValues(Map<String, RoaringBitmap> docsByValue, TrigramMatcher trigrams,
+                                    String query, double similarity) {
+            RoaringBitmap docs = new RoaringBitmap();
+            for (String value : trigrams.similar(normalizeValue(query), similarity)) {
+                docs.or(docsByValue.get(value));
+            }
+            return docs;
+        }
+
+        private static String addValue(Map<String, RoaringBitmap> docsByValue, TrigramMatcher trigrams,
+                                       PrefixTrie suggestions, String value, int docId) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            String key = normalizeValue(value);
+            RoaringBitmap docs = docsByValue.get(key);
+            if (docs == null) {
+                docs = new RoaringBitmap();
+                docsByValue.put(key, docs);
+                trigrams.add(key);
+            }
+            docs.add(docId);
+            suggestions.increment(key, value.trim());
+            return key;
+        }
+
+        private static void removeFrom(Map<String, RoaringBitmap> docsByValue, TrigramMatcher trigrams,
+                                       PrefixTrie suggestions, String value, int docId) {
+            if (value == null) {
+                return;
+            }
+            if (suggestions != null) {
+                suggestions.decrement(value);
+            }
+            RoaringBitmap docs = docsByValue.get(value);
+            if (docs != null) {
+                docs.remove(docId);
+                if (docs.isEmpty()) {
+                    docsByValue.remove(value);
+                    if (trigrams != null) {
+                        trigrams.remove(value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Distinct terms of one event in term order, with their name-weighted frequencies,
+     * its start time, its status and its normalized organizer and location
+     */
+    private static final class DocTerms {
+
+        private final String[] terms;
+        private final int[] freqs;
+        private final int length;
+        private final long start;
+        private final String status;
+        private final String organizer;
+        private final String location;
+
+        DocTerms(String[] terms, int[] freqs, int length, long start, String status, String organizer,
+                 String location) {
+            this.terms = terms;
+            this.freqs = freqs;
+            this.length = length;
+            this.start = start;
+            this.status = status;
+            this.organizer = organizer;
+            this.location = location;
+        }
+
+        /**
+         * Frequency of a term
+         */
+        int frequency(String term) {
+            int i = Arrays.binarySearch(terms, term);
+            return i >= 0 ? freqs[i] : 0;
+        }
+
+        /**
+         * Summed frequency of the terms starting with prefix
+         */
+        int prefixFrequency(String prefix) {
+            int i = Arrays.binarySearch(terms, prefix);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            int frequency = 0;
+            for (; i < terms.length && terms[i].startsWith(prefix); i++) {
+                frequency += freqs[i];
+            }
+            return frequency;
+        }
+    }
+
+    /**
+     * Event ranked by relevance
+     */
+    public static final class Hit {
+
+        private final long eventId;
+        private final double score;
+
+        public Hit(long eventId, double score) {
+            this.eventId = eventId;
+            this.score = score;
+        }
+
+        public long getEventId() {
+            return eventId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Status, organizer or location value with a number of events
+     */
+    public static final class ValueCount {
+
+        private final String value;
+        private final int eventCount;
+
+        public ValueCount(String value, int eventCount) {
+            this.value = value;
+            this.eventCount = eventCount;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public int getEventCount() {
+            return eventCount;
+        }
+    }
+
+    /**
+     * Two events booked at the same location at overlapping times
+     */
+    public static final class Overlap {
+
+        private final String location;
+        private final long eventId;
+        private final long otherEventId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        public Overlap(String location, long eventId, long otherEventId, LocalDateTime start, LocalDateTime end) {
+            this.location = location;
+            this.eventId = eventId;
+            this.otherEventId = otherEventId;
+            this.start = start;
+            this.end = end;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public long getEventId() {
+            return eventId;
+        }
+
+        public long getOtherEventId() {
+            return otherEventId;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDateTime getEnd() {
+            return end;
+        }
+    }
+}
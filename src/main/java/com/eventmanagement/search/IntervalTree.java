@@ -0,0 +1,251 @@
+package com.eventmanagement.search;
+
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Interval Tree
+ *
+ * AVL tree of closed intervals ordered by start, each node also holding the latest end in
+ * its subtree. A subtree whose latest end is before a window, or whose starts are all after
+ * it, is skipped whole, so finding the k intervals overlapping a window takes O(log n + k).
+ *
+ * Each ID holds at most one interval. Not thread-safe.
+ */
+final class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    /**
+     * Add an interval
+     *
+     * @param start Start, inclusive
+     * @param end End, inclusive
+     * @param id ID not held by another interval
+     */
+    void add(long start, long end, int id) {
+        root = insert(root, new Node(start, end, id));
+        size++;
+    }
+
+    /**
+     * Remove an interval added with the same start and ID
+     *
+     * @param start Start of the interval
+     * @param id ID of the interval
+     */
+    void remove(long start, int id) {
+        root = delete(root, start, id);
+    }
+
+    /**
+     * Add the IDs of the intervals overlapping a window
+     *
+     * @param from Window start, inclusive
+     * @param to Window end, inclusive
+     * @param ids Receives the IDs of intervals with start &lt;= to and end &gt;= from
+     */
+    void overlapping(long from, long to, RoaringBitmap ids) {
+        collect(root, from, to, ids);
+    }
+
+    /**
+     * Add the IDs of the intervals whose start and end each fall in a range
+     *
+     * @param startFrom Earliest start, inclusive
+     * @param startTo Latest start, inclusive
+     * @param endFrom Earliest end, inclusive
+     * @param endTo Latest end, inclusive
+     * @param ids Receives the IDs of the matching intervals
+     */
+    void within(long startFrom, long startTo, long endFrom, long endTo, RoaringBitmap ids) {
+        collectWithin(root, startFrom, startTo, endFrom, endTo, ids);
+    }
+
+    /**
+     * Visit every interval in start order
+     *
+     * @param visitor Receives each interval
+     */
+    void forEach(Visitor visitor) {
+        visit(root, visitor);
+    }
+
+    /**
+     * Number of intervals held
+     */
+    int size() {
+        return size;
+    }
+
+    private static void visit(Node node, Visitor visitor) {
+        while (node != null) {
+            visit(node.left, visitor);
+            visitor.visit(node.start, node.end, node.id);
+            node = node.right;
+        }
+    }
+
+    private static void collect(Node node, long from, long to, RoaringBitmap ids) {
+        while (node != null && node.maxEnd >= from) {
+            collect(node.left, from, to, ids);
+            if (node.start > to) {
+                // Everything to the right starts later still
+                return;
+            }
+            if (node.end >= from) {
+                ids.add(node.id);
+            }
+            node = node.right;
+        }
+    }
+
+    private static void collectWithin(Node node, long startFrom, long startTo, long endFrom, long endTo,
+                                      RoaringBitmap ids) {
+        while (node != null && node.maxEnd >= endFrom) {
+            if (node.start >= startFrom) {
+                // Starts on the left are no later than this one; below startFrom they are all skipped
+                collectWithin(node.left, startFrom, startTo, endFrom, endTo, ids);
+            }
+            if (node.start > startTo) {
+                return;
+            }
+            if (node.start >= startFrom && node.end >= endFrom && node.end <= endTo) {
+                ids.add(node.id);
+            }
+            node = node.right;
+        }
+    }
+
+    private static int compare(long start, int id, Node node) {
+        int byStart = Long.compare(start, node.start);
+        return byStart != 0 ? byStart : Integer.compare(id, node.id);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return balance(node);
+    }
+
+    private Node delete(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace with the next interval in order
+            Node next = node.right;
+            while (next.left != null) {
+                next = next.left;
+            }
+            next.right = deleteMin(node.right);
+            next.left = node.left;
+            node = next;
+        }
+        return balance(node);
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Receives intervals from forEach
+     */
+    interface Visitor {
+
+        void visit(long start, long end, int id);
+    }
+
+    private static final class Node {
+
+        private final long start;
+        private final long end;
+        private final int id;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        Node(long start, long end, int id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.eventmanagement.search;
+
+import com.eventmanagement.dto.ParticipantSchedule;
+import com.eventmanagement.mapper.ParticipantMapper;
+import com.eventmanagement.support.AfterCommit;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Participant Schedule Index
+ *
+ * In-memory interval tree per participant email of the events that person is registered
+ * for, so a registration can be checked against the participant's other events without
+ * loading their registrations. Emails are compared trimmed and lower-cased.
+ *
+ * The index is built from a scan of the registrations for events that have not ended and
+ * are not cancelled, at startup and on a fixed delay, which also drops finished events and
+ * picks up writes made by other instances; registrations and cancellations made through
+ * ParticipantService are applied as soon as their transaction commits. An event moved or
+ * cancelled after registration keeps its old interval until the next rebuild, so callers
+ * should confirm reported conflicts against the current event.
+ *
+ * Until the first build completes, or if an event ID does not fit in an int, the index
+ * reports itself as not ready and no conflicts are checked.
+ */
+@Component
+public class ParticipantScheduleIndex {
+
+    @Autowired
+    private ParticipantMapper participantMapper;
+
+    @Value("${eventmanagement.participants.schedule-check.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Schedule> schedulesByEmail = new HashMap<>();
+    private volatile boolean ready;
+    private volatile boolean overflowed;
+
+    /**
+     * Changes committed while a rebuild scans the table, replayed onto the new schedules.
+     * Guarded by the write lock.
+     */
+    private List<Change> changesDuringRebuild;
+
+    /**
+     * Whether registrations are tracked at all
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the index can answer conflict checks
+     */
+    public boolean isReady() {
+        return enabled && ready && !overflowed;
+    }
+
+    /**
+     * Record a registration once the current transaction commits
+     *
+     * @param participantEmail Participant email
+     * @param eventId Event ID
+     * @param start Event start
+     * @param end Event end
+     */
+    public void register(String participantEmail, Long eventId, LocalDateTime start, LocalDateTime end) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> apply(new Change(participantEmail, eventId, start, end)));
+    }
+
+    /**
+     * Forget a registration once the current transaction commits
+     *
+     * @param participantEmail Participant email
+     * @param eventId Event ID
+     */
+    public void unregister(String participantEmail, Long eventId) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> apply(new Change(participantEmail, eventId, null, null)));
+    }
+
+    /**
+     * Find the participant's registered events overlapping a time slot
+     *
+     * Events touching end to start do not overlap.
+     *
+     * @param participantEmail Participant email
+     * @param start Slot start
+     * @param end Slot end
+     * @param excludeEventId Event to leave out, e.g. the one being registered for, or null
+     * @return IDs of the overlapping events, or null if the index cannot answer
+     */
+    public List<Long> overlapping(String participantEmail, LocalDateTime start, LocalDateTime end,
+                                  Long excludeEventId) {
+        if (!isReady()) {
+            return null;
+        }
+        List<Long> eventIds = new ArrayList<>();
+        if (participantEmail == null || start == null || end == null) {
+            return eventIds;
+        }
+
+        lock.readLock().lock();
+        try {
+            Schedule schedule = schedulesByEmail.get(normalizeEmail(participantEmail));
+            if (schedule == null) {
+                return eventIds;
+            }
+            RoaringBitmap docs = new RoaringBitmap();
+            schedule.events.overlapping(epochSecond(start) + 1, epochSecond(end) - 1, docs);
+            docs.forEach((int docId) -> {
+                if (excludeEventId == null || docId != excludeEventId) {
+                    eventIds.add((long) docId);
+                }
+            });
+            return eventIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the index from a scan of the upcoming registrations
+     */
+    @Scheduled(fixedDelayString = "${eventmanagement.participants.schedule-check.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, Schedule> next = new HashMap<>();
+        boolean[] nextOverflowed = new boolean[1];
+        boolean scanned = false;
+        try {
+            participantMapper.scanSchedules(LocalDateTime.now(), context -> {
+                ParticipantSchedule registration = context.getResultObject();
+                Change change = new Change(registration.getParticipantEmail(), registration.getEventId(),
+                        registration.getStartDateTime(), registration.getEndDateTime());
+                nextOverflowed[0] |= !change.applyTo(next);
+            });
+            scanned = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // A failed scan keeps the current schedules
+                if (scanned) {
+                    for (Change change : changesDuringRebuild) {
+                        nextOverflowed[0] |= !change.applyTo(next);
+                    }
+                    schedulesByEmail = next;
+                    overflowed = nextOverflowed[0];
+                    ready = true;
+                }
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Number of participants with at least one indexed registration
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return schedulesByEmail.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+            if (!change.applyTo(schedulesByEmail)) {
+                overflowed = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One participant's registered events, with the start each was added under
+     */
+    private static final class Schedule {
+
+        private final IntervalTree events = new IntervalTree();
+        private final Map<Integer, Long> startsByEvent = new HashMap<>();
+    }
+
+    /**
+     * A registration to add, or to remove when it has no schedule
+     */
+    private static final class Change {
+
+        private final String participantEmail;
+        private final Long eventId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        Change(String participantEmail, Long eventId, LocalDateTime start, LocalDateTime end) {
+            this.participantEmail = participantEmail;
+            this.eventId = eventId;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * @return false if the event ID does not fit in an int
+         */
+        boolean applyTo(Map<String, Schedule> schedules) {
+            if (participantEmail == null || eventId == null) {
+                return true;
+            }
+            if (eventId < 0 || eventId > Integer.MAX_VALUE) {
+                return false;
+            }
+            int docId = eventId.intValue();
+            String email = normalizeEmail(participantEmail);
+
+            Schedule schedule = schedules.get(email);
+            if (schedule != null) {
+                Long previousStart = schedule.startsByEvent.remove(docId);
+                if (previousStart != null) {
+                    schedule.events.remove(previousStart, docId);
+                }
+            }
+            if (start == null || end == null) {
+                if (schedule != null && schedule.startsByEvent.isEmpty()) {
+                    schedules.remove(email);
+                }
+                return true;
+            }
+            if (schedule == null) {
+                schedule = new Schedule();
+                schedules.put(email, schedule);
+            }
+            long startSecond = epochSecond(start);
+            schedule.events.add(startSecond, epochSecond(end), docId);
+            schedule.startsByEvent.put(docId, startSecond);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.eventmanagement.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Prefix Trie
+ *
+ * Counts occurrences of distinct values under normalized keys and returns the most frequent
+ * values starting with a prefix. Children are kept in sorted parallel arrays, and every node
+ * records the highest count in its subtree, so top-k lookups expand the most promising
+ * branches first and stop after k values instead of visiting every value under the prefix.
+ *
+ * Not thread-safe.
+ */
+final class PrefixTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final char[] NO_LABELS = new char[0];
+
+    private final Node root = new Node();
+
+    /**
+     * Value with its count
+     */
+    static final class Entry {
+
+        private final String value;
+        private final int count;
+
+        Entry(String value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        String getValue() {
+            return value;
+        }
+
+        int getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Count one more occurrence of a value
+     *
+     * @param key Normalized value
+     * @param value Value as first seen, returned by suggestions
+     */
+    void increment(String key, String value) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            path.add(node);
+        }
+        if (node.count == 0) {
+            node.value = value;
+        }
+        node.count++;
+        updateMax(path, key);
+    }
+
+    /**
+     * Count one occurrence of a value less, dropping it at zero
+     *
+     * @param key Normalized value
+     */
+    void decrement(String key) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+            path.add(node);
+        }
+        if (node == null || node.count == 0) {
+            return;
+        }
+        node.count--;
+        if (node.count == 0) {
+            node.value = null;
+        }
+        updateMax(path, key);
+    }
+
+    /**
+     * Value counted under a key
+     *
+     * @param key Normalized value
+     * @return Value as first seen with its count, or null if not counted
+     */
+    Entry get(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node == null || node.count == 0 ? null : new Entry(node.value, node.count);
+    }
+
+    /**
+     * Most frequent values whose key starts with a prefix
+     *
+     * @param prefix Normalized prefix
+     * @param limit Maximum number of values
+     * @return Values by descending count
+     */
+    List<Entry> top(String prefix, int limit) {
+        List<Entry> result = new ArrayList<>(limit);
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null || node.max == 0) {
+            return result;
+        }
+
+        // Nodes are expanded by subtree max; a node's own value is queued with its count
+        PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        long order = 0;
+        queue.add(new Candidate(node, node.max, false, order++));
+        while (!queue.isEmpty() && result.size() < limit) {
+            Candidate next = queue.poll();
+            if (next.terminal) {
+                result.add(new Entry(next.node.value, next.node.count));
+                continue;
+            }
+            if (next.node.count > 0) {
+                queue.add(new Candidate(next.node, next.node.count, true, order++));
+            }
+            for (Node child : next.node.children) {
+                queue.add(new Candidate(child, child.max, false, order++));
+            }
+        }
+        return result;
+    }
+
+    private static void updateMax(List<Node> path, String key) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            int max = node.count;
+            for (Node child : node.children) {
+                max = Math.max(max, child.max);
+            }
+            node.max = max;
+            if (max == 0 && depth > 0) {
+                // Nothing is counted below this node any more
+                path.get(depth - 1).removeChild(key.charAt(depth - 1));
+            }
+        }
+    }
+
+    /**
+     * Queue entry: a subtree to expand, or a node's own value to emit
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+
+        private final Node node;
+        private final int priority;
+        private final boolean terminal;
+        private final long order;
+
+        Candidate(Node node, int priority, boolean terminal, long order) {
+            this.node = node;
+            this.priority = priority;
+            this.terminal = terminal;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            if (priority != other.priority) {
+                return Integer.compare(other.priority, priority);
+            }
+            // Emit a ready value before expanding an equally promising subtree, then queue order
+            if (terminal != other.terminal) {
+                return terminal ? -1 : 1;
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+
+    private static final class Node {
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private int count;
+        private int max;
+        private String value;
+
+        Node child(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node child = new Node();
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newLabels[at] = label;
+            newChildren[at] = child;
+            System.arraycopy(labels, at, newLabels, at + 1, labels.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(labels, i + 1, newLabels, i, labels.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            labels = newLabels.length == 0 ? NO_LABELS : newLabels;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.eventmanagement.search;
+
+import java.util.List;
+
+/**
+ * Tokenizer
+ *
+ * Splits text into normalized index terms. Queries go through tokenizeQuery, which
+ * must produce terms that line up with the terms tokenize produced for documents.
+ */
+public interface Tokenizer {
+
+    /**
+     * Split document text into index terms
+     *
+     * @param text Text to tokenize, may be null
+     * @return Terms in text order, possibly repeated; empty for null or blank text
+     */
+    List<String> tokenize(String text);
+
+    /**
+     * Split a query into terms that must all match
+     *
+     * @param text Query text, may be null
+     * @return Query terms; empty for null or blank text
+     */
+    default List<String> tokenizeQuery(String text) {
+        return tokenize(text);
+    }
+}
@@ -0,0 +1,150 @@
+package com.eventmanagement.search;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram Matcher
+ *
+ * Finds the strings of a changing set that are similar to a query despite typos. Each word
+ * is padded ("  word ") and cut into overlapping three-character grams; a string matches
+ * when it contains at least the given share of the query's trigrams. Only the rarest
+ * (n - minOverlap + 1) query trigrams are probed for candidates, since any string reaching
+ * minOverlap must contain one of them, and candidates are then counted against the rest.
+ *
+ * Strings are expected to be normalized already. Not thread-safe.
+ */
+final class TrigramMatcher {
+
+    private static final RoaringBitmap NONE = new RoaringBitmap();
+
+    private final Map<String, Integer> idByValue = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+    private final Map<String, RoaringBitmap> idsByTrigram = new HashMap<>();
+
+    /**
+     * Add a string; adding it again has no effect
+     */
+    void add(String value) {
+        if (idByValue.containsKey(value)) {
+            return;
+        }
+        int id;
+        if (freeIds.isEmpty()) {
+            id = values.size();
+            values.add(value);
+        } else {
+            id = freeIds.pop();
+            values.set(id, value);
+        }
+        idByValue.put(value, id);
+        for (String trigram : trigrams(value)) {
+            idsByTrigram.computeIfAbsent(trigram, key -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    /**
+     * Remove a string if present
+     */
+    void remove(String value) {
+        Integer id = idByValue.remove(value);
+        if (id == null) {
+            return;
+        }
+        for (String trigram : trigrams(value)) {
+            RoaringBitmap ids = idsByTrigram.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    idsByTrigram.remove(trigram);
+                }
+            }
+        }
+        values.set(id, null);
+        freeIds.push(id);
+    }
+
+    /**
+     * Strings containing at least a share of the query's trigrams
+     *
+     * @param query Normalized query
+     * @param similarity Minimum share of query trigrams, in (0, 1]
+     * @return Matching strings, in no particular order
+     */
+    List<String> similar(String query, double similarity) {
+        List<String> matches = new ArrayList<>();
+        Set<String> grams = trigrams(query);
+        if (grams.isEmpty()) {
+            return matches;
+        }
+        int minOverlap = Math.max(1, (int) Math.ceil(similarity * grams.size() - 1e-9));
+
+        List<RoaringBitmap> postings = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            postings.add(idsByTrigram.getOrDefault(gram, NONE));
+        }
+        postings.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+
+        int probe = postings.size() - minOverlap + 1;
+        RoaringBitmap candidates = FastAggregation.or(postings.subList(0, probe).iterator());
+        for (int id : candidates) {
+            int overlap = 0;
+            for (int i = 0; i < postings.size() && overlap < minOverlap; i++) {
+                // Too few trigrams left to reach minOverlap
+                if (overlap + postings.size() - i < minOverlap) {
+                    break;
+                }
+                if (postings.get(i).contains(id)) {
+                    overlap++;
+                }
+            }
+            if (overlap >= minOverlap) {
+                matches.add(values.get(id));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Number of strings held
+     */
+    int size() {
+        return idByValue.size();
+    }
+
+    static Set<String> trigrams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        int[] cps = value.codePoints().toArray();
+        int i = 0;
+        while (i < cps.length) {
+            if (!Character.isLetterOrDigit(cps[i])) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < cps.length && Character.isLetterOrDigit(cps[i])) {
+                i++;
+            }
+            int[] padded = new int[i - start + 3];
+            padded[0] = ' ';
+            padded[1] = ' ';
+            System.arraycopy(cps, start, padded, 2, i - start);
+            padded[padded.length - 1] = ' ';
+            for (int g = 0; g + 3 <= padded.length; g++) {
+                grams.add(new String(padded, g, 3));
+            }
+        }
+        return grams;
+    }
+}
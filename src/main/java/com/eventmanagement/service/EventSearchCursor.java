@@ -0,0 +1,169 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.entity.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Event Search Cursor
+ * 
+ * Opaque keyset pagination token. It carries the sort field and order it was issued for,
+ * the page number it leads to, and the sort key and event ID of the last row of the
+ * previous page, so the next page can seek past that row instead of skipping rows
+ * with OFFSET.
+ */
+final class EventSearchCursor {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+    private static final String RELEVANCE = "relevance";
+
+    private final String sortBy;
+    private final String sortOrder;
+    private final int page;
+    private final long eventId;
+    private final Object sortValue;
+
+    private EventSearchCursor(String sortBy, String sortOrder, int page, long eventId, Object sortValue) {
+        this.sortBy = sortBy;
+        this.sortOrder = sortOrder;
+        this.page = page;
+        this.eventId = eventId;
+        this.sortValue = sortValue;
+    }
+
+    /**
+     * Cursor for the page after the given last row
+     * 
+     * @param sortBy Sort field
+     * @param sortOrder Sort order
+     * @param page Page number the cursor leads to
+     * @param lastRow Last row of the current page
+     * @return Cursor
+     */
+    static EventSearchCursor after(String sortBy, String sortOrder, int page, Event lastRow) {
+        return new EventSearchCursor(sortBy, sortOrder.toLowerCase(), page,
+                lastRow.getEventId(), sortValue(sortBy, lastRow));
+    }
+
+    /**
+     * Cursor for the page after the given last relevance hit
+     * 
+     * @param sortOrder Sort order
+     * @param page Page number the cursor leads to
+     * @param eventId Event ID of the last hit of the current page
+     * @param score Relevance score of that hit
+     * @return Cursor
+     */
+    static EventSearchCursor afterScore(String sortOrder, int page, long eventId, double score) {
+        return new EventSearchCursor(RELEVANCE, sortOrder.toLowerCase(), page, eventId, score);
+    }
+
+    /**
+     * Decode a cursor token
+     * 
+     * @param token Token from a previous search result
+     * @return Cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static EventSearchCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The sort value goes last so it may contain the separator
+            String[] parts = decoded.split("\\|", 6);
+            if (parts.length != 6 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new EventSearchCursor(parts[1], parts[2], Integer.parseInt(parts[3]),
+                    Long.parseLong(parts[4]), decodeValue(parts[5]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException is an IllegalArgumentException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Encode as an opaque URL-safe token
+     */
+    String encode() {
+        String raw = String.join(SEPARATOR, VERSION, sortBy, sortOrder,
+                Integer.toString(page), Long.toString(eventId), encodeValue(sortValue));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Whether the cursor was issued for the given sort
+     */
+    boolean matches(String sortBy, String sortOrder) {
+        if (!this.sortBy.equals(sortBy) || !this.sortOrder.equalsIgnoreCase(sortOrder)) {
+            return false;
+        }
+        if (sortValue instanceof Double) {
+            return RELEVANCE.equals(sortBy);
+        }
+        return sortValue == null || (sortValue instanceof LocalDateTime) == isDateTimeField(sortBy);
+    }
+
+    int getPage() {
+        return page;
+    }
+
+    long getEventId() {
+        return eventId;
+    }
+
+    Object getSortValue() {
+        return sortValue;
+    }
+
+    /**
+     * Value of the sort column for a row; the field names match orderByClause in EventMapper.xml,
+     * where relevance falls back to created_at when it cannot be ranked in memory
+     */
+    private static Object sortValue(String sortBy, Event event) {
+        switch (sortBy) {
+            case "eventName": return event.getEventName();
+            case "startDateTime": return event.getStartDateTime();
+            case "endDateTime": return event.getEndDateTime();
+            case "location": return event.getLocation();
+            case "organizer": return event.getOrganizer();
+            case "status": return event.getStatus();
+            case "updatedAt": return event.getUpdatedAt();
+            default: return event.getCreatedAt();
+        }
+    }
+
+    private static boolean isDateTimeField(String sortBy) {
+        return !"eventName".equals(sortBy) && !"location".equals(sortBy)
+                && !"organizer".equals(sortBy) && !"status".equals(sortBy);
+    }
+
+    private static String encodeValue(Object value) {
+        if (value == null) {
+            return "n";
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return "t" + dateTime;
+        }
+        if (value instanceof Double score) {
+            return "d" + score;
+        }
+        return "s" + value;
+    }
+
+    private static Object decodeValue(String encoded) {
+        if (encoded.isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        switch (encoded.charAt(0)) {
+            case 'n': return null;
+            case 't': return LocalDateTime.parse(encoded.substring(1));
+            case 's': return encoded.substring(1);
+            case 'd': return Double.valueOf(encoded.substring(1));
+            default: throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,17 +1,46 @@
 package com.eventmanagement.service;
 
+import com.eventmanagement.analytics.EventStatisticsAggregate;
+import com.eventmanagement.analytics.RegistrationRollups;
+import com.eventmanagement.analytics.TrendingEvents;
+import com.eventmanagement.cache.EventCache;
+import com.eventmanagement.cache.NegativeCache;
+import com.eventmanagement.cache.SearchCountCache;
 import com.eventmanagement.dto.EventRequest;
 import com.eventmanagement.dto.EventResponse;
 import com.eventmanagement.dto.EventSearchRequest;
 import com.eventmanagement.dto.EventSearchResult;
+import com.eventmanagement.dto.RegistrationBucket;
+import com.eventmanagement.dto.RegistrationTimeSeriesResponse;
+import com.eventmanagement.dto.SuggestionResponse;
+import com.eventmanagement.dto.TrendingEventResponse;
+import com.eventmanagement.dto.VenueConflictResponse;
 import com.eventmanagement.entity.Event;
 import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.mapper.ParticipantMapper;
+import com.eventmanagement.search.EventSearchIndex;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLTimeoutException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -23,9 +52,57 @@ import java.util.stream.Collectors;
 @Transactional
 public class EventService {
 
+    private static final String RELEVANCE = "relevance";
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_TRENDING = 50;
+
     @Autowired
     private EventMapper eventMapper;
 
+    @Autowired
+    private SeatCounterService seatCounterService;
+
+    @Autowired
+    private EventCache eventCache;
+
+    @Autowired
+    private SearchCountCache searchCountCache;
+
+    @Autowired
+    @Qualifier("searchCountExecutor")
+    private AsyncTaskExecutor searchCountExecutor;
+
+    @Value("${eventmanagement.search.count-timeout-ms:5000}")
+    private long countTimeoutMs;
+
+    @Autowired
+    @Qualifier("eventNegativeCache")
+    private NegativeCache eventNegativeCache;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Value("${eventmanagement.search.index.max-candidates:5000}")
+    private int maxIndexCandidates;
+
+    @Value("${eventmanagement.search.fuzzy.similarity:0.5}")
+    private double defaultSimilarity;
+
+    @Value("${eventmanagement.events.venue-conflicts:reject}")
+    private String venueConflictMode;
+
+    @Autowired
+    private EventStatisticsAggregate eventStatisticsAggregate;
+
+    @Autowired
+    private RegistrationRollups registrationRollups;
+    
+    @Autowired
+    private TrendingEvents trendingEvents;
+
+    @Autowired
+    private ParticipantMapper participantMapper;
+
     /**
      * Get all events
      * 
@@ -45,7 +122,7 @@ public class EventService {
      * @return Event response or null if not found
      */
     public EventResponse getEventById(Long eventId) {
-        Event event = eventMapper.findById(eventId);
+        Event event = findEvent(eventId);
         return event != null ? convertToResponse(event) : null;
     }
 
@@ -53,10 +130,10 @@ public class EventService {
      * Get event entity by ID (for internal use)
      * 
      * @param eventId Event ID
-     * @return Event entity or throws exception if not found
+     * @return Event entity (shared with the event cache; do not modify) or throws exception if not found
      */
     public Event getEventEntityById(Long eventId) {
-        Event event = eventMapper.findById(eventId);
+        Event event = findEvent(eventId);
         if (event == null) {
             throw new RuntimeException("Event not found with ID: " + eventId);
         }
@@ -97,6 +174,7 @@ public class EventService {
      */
     public EventResponse createEvent(EventRequest request) {
         validateEventRequest(request);
+        List<Long> conflicts = checkVenue(request, null);
         
         Event event = new Event(
             request.getEventName(),
@@ -109,35 +187,62 @@ public class EventService {
         );
         
         eventMapper.insert(event);
-        return convertToResponse(event);
+        eventNegativeCache.markCreated(event.getEventId());
+        eventSearchIndex.index(event);
+        eventStatisticsAggregate.eventSaved(event);
+        EventResponse response = convertToResponse(event);
+        if (!conflicts.isEmpty()) {
+            response.setConflictingEventIds(conflicts);
+        }
+        return response;
     }
 
     /**
      * Update existing event
      * 
      * @param eventId Event ID
-     * @param request Event request
+     * @param request Event request; when it carries a version the update only applies to that version
      * @return Updated event response or null if not found
+     * @throws OptimisticLockingFailureException if the event was modified since the given version
      */
     public EventResponse updateEvent(Long eventId, EventRequest request) {
         validateEventRequest(request);
+        List<Long> conflicts = checkVenue(request, eventId);
         
-        Event existingEvent = eventMapper.findById(eventId);
-        if (existingEvent == null) {
+        Event event = new Event();
+        event.setEventId(eventId);
+        event.setEventName(request.getEventName());
+        event.setDescription(request.getDescription());
+        event.setStartDateTime(request.getStartDateTime());
+        event.setEndDateTime(request.getEndDateTime());
+        event.setLocation(request.getLocation());
+        event.setOrganizer(request.getOrganizer());
+        event.setMaxParticipants(request.getMaxParticipants());
+        event.setVersion(request.getVersion());
+        
+        // Single round trip: the update returns the remaining columns and the new version
+        eventMapper.updateReturning(event);
+        eventCache.invalidate(eventId);
+        event.clearDirtyFields();
+        if (event.getVersion() == null) {
+            if (request.getVersion() != null && eventMapper.findById(eventId) != null) {
+                throw new OptimisticLockingFailureException(
+                        "Event " + eventId + " was modified by another request");
+            }
             return null;
         }
+        eventSearchIndex.index(event);
+        eventStatisticsAggregate.eventSaved(event);
         
-        existingEvent.setEventName(request.getEventName());
-        existingEvent.setDescription(request.getDescription());
-        existingEvent.setStartDateTime(request.getStartDateTime());
-        existingEvent.setEndDateTime(request.getEndDateTime());
-        existingEvent.setLocation(request.getLocation());
-        existingEvent.setOrganizer(request.getOrganizer());
-        existingEvent.setMaxParticipants(request.getMaxParticipants());
-        existingEvent.setUpdatedAt(LocalDateTime.now());
-        
-        eventMapper.update(existingEvent);
-        return convertToResponse(existingEvent);
+        if (event.getCounterSlots() != null && event.getCounterSlots() > 1) {
+            // Capacity may have changed; re-split it over the seat counter slots
+            seatCounterService.rebalanceSlots(eventMapper.findByIdForUpdate(eventId));
+        }
+        EventResponse response = convertToResponse(event);
+        if (!conflicts.isEmpty()) {
+            response.setConflictingEventIds(conflicts);
+        }
+        return response;
     }
 
     /**
@@ -147,27 +252,177 @@ public class EventService {
      * @return true if deleted, false if not found
      */
     public boolean deleteEvent(Long eventId) {
-        Event existingEvent = eventMapper.findById(eventId);
-        if (existingEvent == null) {
-            return false;
+        return deleteEvent(eventId, null);
+    }
+
+    /**
+     * Delete event by ID if it still has the expected version
+     * 
+     * @param eventId Event ID
+     * @param version Expected version, or null to delete regardless of version
+     * @return true if deleted, false if not found
+     * @throws OptimisticLockingFailureException if the event exists with a different version
+     */
+    public boolean deleteEvent(Long eventId, Long version) {
+        eventCache.invalidate(eventId);
+        if (eventMapper.deleteVersioned(eventId, version) > 0) {
+            eventSearchIndex.remove(eventId);
+            eventStatisticsAggregate.eventDeleted(eventId);
+            registrationRollups.eventDeleted(eventId);
+            return true;
         }
-        
-        eventMapper.deleteById(eventId);
-        return true;
+        if (version != null && eventMapper.findById(eventId) != null) {
+            throw new OptimisticLockingFailureException(
+                    "Event " + eventId + " was modified by another request");
+        }
+        return false;
+    }
+
+    /**
+     * List the events booked at the same location at overlapping times
+     * 
+     * Only bookings that have not ended yet are considered; cancelled events hold no booking.
+     * 
+     * @return Overlapping pairs by overlap start
+     */
+    public List<VenueConflictResponse> getVenueConflicts() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EventSearchIndex.Overlap> overlaps = eventSearchIndex.venueOverlaps(now);
+        if (overlaps == null) {
+            return eventMapper.findVenueOverlaps(now);
+        }
+        return overlaps.stream()
+                .map(overlap -> new VenueConflictResponse(overlap.getLocation(), overlap.getEventId(),
+                        overlap.getOtherEventId(), overlap.getStart(), overlap.getEnd()))
+                .collect(Collectors.toList());
     }
 
     /**
      * Get event statistics
      * 
+     * Read from the incrementally maintained aggregate; until it has been seeded the
+     * statistics are counted in one pass over the events table.
+     * 
      * @return Event statistics
      */
     public EventStatistics getEventStatistics() {
-        int totalEvents = eventMapper.countAll();
-        int activeEvents = eventMapper.countByStatus("ACTIVE");
-        int completedEvents = eventMapper.countByStatus("COMPLETED");
-        int cancelledEvents = eventMapper.countByStatus("CANCELLED");
+        EventStatistics statistics = eventStatisticsAggregate.snapshot();
+        return statistics != null ? statistics : eventMapper.getStatistics();
+    }
+    
+    /**
+     * Get registrations per time bucket for an event, or for all events
+     * 
+     * Read from the in-memory registration rollups; until they have been backfilled the
+     * registrations are grouped by SQL instead.
+     * 
+     * @param eventId Event ID, or null for all events
+     * @param resolution MINUTE, HOUR or DAY
+     * @param buckets Number of buckets up to the current one
+     * @return Time series oldest first, or null if the event was not found
+     * @throws IllegalArgumentException if the resolution or number of buckets is invalid
+     */
+    public RegistrationTimeSeriesResponse getRegistrationTimeSeries(Long eventId, String resolution, int buckets) {
+        RegistrationRollups.Resolution bucketWidth;
+        try {
+            bucketWidth = RegistrationRollups.Resolution.valueOf(resolution);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Resolution must be MINUTE, HOUR or DAY");
+        }
+        int maxBuckets = bucketWidth.maxBuckets(eventId);
+        if (buckets < 1 || buckets > maxBuckets) {
+            throw new IllegalArgumentException("Buckets must be between 1 and " + maxBuckets);
+        }
+        if (eventId != null && findEvent(eventId) == null) {
+            return null;
+        }
         
-        return new EventStatistics(totalEvents, activeEvents, completedEvents, cancelledEvents);
+        LocalDateTime now = LocalDateTime.now();
+        List<RegistrationTimeSeriesResponse.Point> points = registrationRollups.series(eventId, bucketWidth, buckets, now);
+        if (points == null) {
+            LocalDateTime first = bucketWidth.firstBucketStart(buckets, now);
+            Map<LocalDateTime, Integer> counts = participantMapper
+                    .countRegistrationBuckets(eventId, bucketWidth.name(), first).stream()
+                    .collect(Collectors.toMap(RegistrationBucket::getBucketStart, RegistrationBucket::getRegistrations));
+            points = new ArrayList<>(buckets);
+            for (int i = 0; i < buckets; i++) {
+                LocalDateTime start = first.plusSeconds(i * bucketWidth.getSeconds());
+                points.add(new RegistrationTimeSeriesResponse.Point(start, counts.getOrDefault(start, 0)));
+            }
+        }
+        return new RegistrationTimeSeriesResponse(eventId, bucketWidth.name(), points);
+    }
+    
+    /**
+     * Count a view of an event's details towards trending events
+     * 
+     * @param eventId Event ID
+     */
+    public void recordEventView(Long eventId) {
+        trendingEvents.viewed(eventId);
+    }
+    
+    /**
+     * Get the active events with the most recent views and registrations
+     * 
+     * Ranked from the in-memory heavy-hitters sketch; events that have since been deleted,
+     * completed or cancelled are skipped.
+     * 
+     * @param limit Maximum number of events (1 to 50)
+     * @return Trending events, highest score first
+     * @throws IllegalArgumentException if the limit is invalid
+     */
+    public List<TrendingEventResponse> getTrendingEvents(int limit) {
+        if (limit < 1 || limit > MAX_TRENDING) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_TRENDING);
+        }
+        
+        List<TrendingEventResponse> trending = new ArrayList<>(limit);
+        // Look further down the ranking to make up for skipped events
+        for (TrendingEvents.Score score : trendingEvents.top(limit * 2)) {
+            Event event = findEvent(score.getEventId());
+            if (event == null || !"ACTIVE".equals(event.getStatus())) {
+                continue;
+            }
+            trending.add(new TrendingEventResponse(event.getEventId(), event.getEventName(), event.getStartDateTime(),
+                    event.getLocation(), score.getScore(), score.getError()));
+            if (trending.size() == limit) {
+                break;
+            }
+        }
+        return trending;
+    }
+    
+    /**
+     * Suggest organizer or location values for autocomplete
+     * 
+     * Answered from the search index's prefix tries; while the index is not ready the
+     * most used values are grouped by SQL instead.
+     * 
+     * @param field "organizer" or "location"
+     * @param prefix Prefix typed so far
+     * @param limit Maximum number of suggestions (1 to 20)
+     * @return Suggestions, most used first
+     * @throws IllegalArgumentException if the field, prefix or limit is invalid
+     */
+    public List<SuggestionResponse> suggest(String field, String prefix, int limit) {
+        if (!"organizer".equals(field) && !"location".equals(field)) {
+            throw new IllegalArgumentException("Field must be 'organizer' or 'location'");
+        }
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        
+        List<EventSearchIndex.ValueCount> suggestions = eventSearchIndex.suggest(field, prefix, limit);
+        if (suggestions == null) {
+            return eventMapper.suggestValues(field, prefix.trim(), limit);
+        }
+        return suggestions.stream()
+                .map(suggestion -> new SuggestionResponse(suggestion.getValue(), suggestion.getEventCount()))
+                .collect(Collectors.toList());
     }
     
     /**
@@ -179,16 +434,390 @@ public class EventService {
     public EventSearchResult searchEvents(EventSearchRequest searchRequest) {
         validateSearchRequest(searchRequest);
         
-        // Get total count for pagination
-        int totalCount = eventMapper.countSearchEvents(searchRequest);
+        // Keyset mode: seek past the last row of the previous page instead of using OFFSET
+        int page = searchRequest.getPage();
+        if (searchRequest.hasCursor()) {
+            EventSearchCursor cursor = EventSearchCursor.decode(searchRequest.getCursor());
+            if (!cursor.matches(searchRequest.getSortBy(), searchRequest.getSortOrder())) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            page = cursor.getPage();
+            searchRequest.setAfterEventId(cursor.getEventId());
+            searchRequest.setAfterValue(cursor.getSortValue());
+        }
         
-        // Get events for current page
-        List<Event> events = eventMapper.searchEvents(searchRequest);
+        EventSearchRequest.TotalMode totalMode = searchRequest.getTotalMode() != null
+                ? searchRequest.getTotalMode() : EventSearchRequest.TotalMode.EXACT;
+        
+        if (RELEVANCE.equals(searchRequest.getSortBy())) {
+            EventSearchResult ranked = searchByRelevance(searchRequest, page, totalMode);
+            if (ranked != null) {
+                return ranked;
+            }
+            // Not rankable in memory: the SQL path orders by created_at instead
+            if (searchRequest.getAfterValue() instanceof Double) {
+                throw new IllegalArgumentException("Cursor is no longer valid; please search again");
+            }
+        }
+        
+        // Checked first: once the index is ready, no matches below means nothing to resolve
+        boolean indexFacets = searchRequest.hasFacets() && eventSearchIndex.isReady();
+        RoaringBitmap matches = resolveCandidates(searchRequest);
+        if (matches != null && matches.isEmpty()) {
+            // No event matches the keyword; nothing to ask the database
+            EventSearchResult empty = new EventSearchResult(new ArrayList<>(), 0, page, searchRequest.getSize());
+            empty.setHasNext(false);
+            if (indexFacets) {
+                empty.setFacets(searchFacets(searchRequest, matches));
+            }
+            return empty;
+        }
+        
+        // The exact count runs on its own pooled connection while the page query runs here;
+        // staged candidates are only visible to this transaction, so then it runs after it
+        Future<Integer> exactCount = totalMode == EventSearchRequest.TotalMode.EXACT
+                && !searchRequest.isCandidatesStaged()
+                ? searchCountExecutor.submit(() -> eventMapper.countSearchEvents(searchRequest))
+                : null;
+        
+        // Fetch one row past the page to learn whether a next page exists
+        List<Event> rows;
+        try {
+            rows = eventMapper.searchEvents(searchRequest);
+        } catch (RuntimeException e) {
+            if (exactCount != null) {
+                exactCount.cancel(true);
+            }
+            throw e;
+        }
+        boolean hasNext = rows.size() > searchRequest.getSize();
+        List<Event> events = hasNext ? rows.subList(0, searchRequest.getSize()) : rows;
         List<EventResponse> eventResponses = events.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
         
-        return new EventSearchResult(eventResponses, totalCount, searchRequest.getPage(), searchRequest.getSize());
+        EventSearchResult result;
+        switch (totalMode) {
+            case NONE:
+                result = EventSearchResult.withoutTotal(eventResponses, page, searchRequest.getSize(), hasNext);
+                break;
+            case ESTIMATED:
+                SearchCountCache.CachedCount cached;
+                try {
+                    cached = searchCountCache.get(searchRequest, () -> eventMapper.countSearchEvents(searchRequest));
+                } catch (RuntimeException e) {
+                    if (!isQueryTimeout(e)) {
+                        throw e;
+                    }
+                    result = EventSearchResult.withoutTotal(eventResponses, page, searchRequest.getSize(), hasNext);
+                    break;
+                }
+                // The page itself bounds the total: exact on the last page, at least one more row otherwise
+                int seen = page * searchRequest.getSize() + events.size();
+                int estimate = hasNext ? Math.max(cached.getCount(), seen + 1) : seen;
+                result = new EventSearchResult(eventResponses, estimate, page, searchRequest.getSize());
+                result.setTotalAccuracy(EventSearchRequest.TotalMode.ESTIMATED);
+                result.setTotalAsOf(cached.getCountedAt());
+                break;
+            default:
+                Integer totalCount = exactCount != null ? awaitCount(exactCount) : countInTransaction(searchRequest);
+                result = totalCount != null
+                        ? new EventSearchResult(eventResponses, totalCount, page, searchRequest.getSize())
+                        : EventSearchResult.withoutTotal(eventResponses, page, searchRequest.getSize(), hasNext);
+                break;
+        }
+        result.setHasNext(hasNext);
+        if (indexFacets) {
+            result.setFacets(searchFacets(searchRequest, matches));
+        }
+        
+        if (hasNext) {
+            result.setNextCursor(EventSearchCursor.after(searchRequest.getSortBy(), searchRequest.getSortOrder(),
+                    page + 1, events.get(events.size() - 1)).encode());
+        }
+        return result;
+    }
+
+    /**
+     * Search keyword matches ranked by BM25 relevance, best first
+     * 
+     * Keyword matches come from the search index; other criteria are applied by the database
+     * to those matches. Only the requested page is then loaded, by ID.
+     * 
+     * @param searchRequest Search criteria with a keyword
+     * @param page Page number
+     * @param totalMode Total reporting mode; the total is exact unless it is NONE
+     * @return Ranked result, or null if the search cannot be ranked in memory (index not
+     *         ready, or a cursor issued by the SQL path)
+     */
+    private EventSearchResult searchByRelevance(EventSearchRequest searchRequest, int page,
+                                                EventSearchRequest.TotalMode totalMode) {
+        boolean seek = searchRequest.getAfterValue() instanceof Double;
+        if (searchRequest.getAfterEventId() != null && !seek) {
+            return null;
+        }
+        RoaringBitmap matches = indexMatches(searchRequest);
+        if (matches == null) {
+            return null;
+        }
+        // Date ranges are applied by the database, which also rechecks status and the overlap window
+        RoaringBitmap indexed = matches;
+        if (hasDateFilters(searchRequest) && !matches.isEmpty()) {
+            applyCandidates(searchRequest, matches);
+            RoaringBitmap filtered = new RoaringBitmap();
+            for (Long eventId : eventMapper.searchEventIds(searchRequest)) {
+                filtered.add(eventId.intValue());
+            }
+            matches = filtered;
+        }
+        
+        // Keep only the hits up to the end of the page, plus one to learn whether a next page exists
+        int skip = seek ? 0 : searchRequest.getOffset();
+        List<EventSearchIndex.Hit> hits = eventSearchIndex.rank(searchRequest.getKeyword(), matches,
+                skip + searchRequest.getLimit(), seek ? (Double) searchRequest.getAfterValue() : null,
+                searchRequest.getAfterEventId(), searchRequest.isFuzzy() ? similarity(searchRequest) : null);
+        if (hits == null) {
+            return null;
+        }
+        hits = hits.subList(Math.min(skip, hits.size()), hits.size());
+        boolean hasNext = hits.size() > searchRequest.getSize();
+        List<EventSearchIndex.Hit> pageHits = hasNext ? hits.subList(0, searchRequest.getSize()) : hits;
+        
+        List<EventResponse> eventResponses = new ArrayList<>(pageHits.size());
+        if (!pageHits.isEmpty()) {
+            Map<Long, Event> eventsById = eventMapper.findByIds(pageHits.stream()
+                            .map(EventSearchIndex.Hit::getEventId)
+                            .collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(Event::getEventId, Function.identity()));
+            for (EventSearchIndex.Hit hit : pageHits) {
+                Event event = eventsById.get(hit.getEventId());
+                if (event != null) {
+                    eventResponses.add(convertToResponse(event));
+                }
+            }
+        }
+        
+        EventSearchResult result = totalMode == EventSearchRequest.TotalMode.NONE
+                ? EventSearchResult.withoutTotal(eventResponses, page, searchRequest.getSize(), hasNext)
+                : new EventSearchResult(eventResponses, matches.getCardinality(), page, searchRequest.getSize());
+        result.setHasNext(hasNext);
+        if (searchRequest.hasFacets()) {
+            result.setFacets(searchFacets(searchRequest, indexed));
+        }
+        if (hasNext) {
+            EventSearchIndex.Hit last = pageHits.get(pageHits.size() - 1);
+            result.setNextCursor(EventSearchCursor.afterScore(searchRequest.getSortOrder(), page + 1,
+                    last.getEventId(), last.getScore()).encode());
+        }
+        return result;
+    }
+
+    /**
+     * Resolve the keyword, status, organizer and location to candidate event IDs through
+     * the search index, so the database only rechecks them, applies date ranges, sorts and pages
+     * 
+     * Leaves the request untouched, so the criteria are matched in SQL, when the index is
+     * not ready, and when only status and the overlap window are given and more events
+     * match than fit in the IN lists: SQL filters those cheaply, while staging them would
+     * cost a statement per thousand events and keep the count from running in parallel.
+     * 
+     * @param searchRequest Search criteria
+     * @return Events matching every criterion but the date ranges (empty if the index shows
+     *         that no event matches), or null if the index had nothing to resolve
+     */
+    private RoaringBitmap resolveCandidates(EventSearchRequest searchRequest) {
+        RoaringBitmap matches = indexMatches(searchRequest);
+        if (matches != null && !matches.isEmpty()
+                && (hasTextCriteria(searchRequest) || matches.getLongCardinality() <= maxIndexCandidates)) {
+            applyCandidates(searchRequest, matches);
+        }
+        return matches;
+    }
+
+    private static boolean hasTextCriteria(EventSearchRequest searchRequest) {
+        return searchRequest.hasKeyword() || searchRequest.hasOrganizer() || searchRequest.hasLocation();
+    }
+
+    /**
+     * Restrict a search to the events matched by the search index
+     * 
+     * Up to the configured number of candidates are passed as IN lists; more are staged in
+     * the search_candidates temporary table for this transaction, so the index decides
+     * which events match however many there are.
+     * 
+     * @param searchRequest Search criteria
+     * @param matches Events matching every criterion but the date ranges, not empty
+     */
+    private void applyCandidates(EventSearchRequest searchRequest, RoaringBitmap matches) {
+        searchRequest.setCandidateIds(toEventIds(matches));
+        searchRequest.setFiltersApplied(true);
+        if (matches.getLongCardinality() > maxIndexCandidates) {
+            eventMapper.clearSearchCandidates();
+            for (List<Long> chunk : searchRequest.getCandidateIdChunks()) {
+                eventMapper.insertSearchCandidates(chunk);
+            }
+            searchRequest.setCandidatesStaged(true);
+        }
+    }
+
+    /**
+     * Events matching the criteria the search index can resolve: the keyword, status,
+     * organizer, location and overlap window
+     * 
+     * Status, organizer and location come from per-value bitmaps and the overlap window from
+     * the interval tree. They are intersected with the keyword matches, so the result already
+     * satisfies every criterion but the start and end date ranges.
+     * 
+     * @param searchRequest Search criteria
+     * @return Matching event IDs, or null if there is nothing to resolve or the index cannot
+     *         answer every criterion
+     */
+    private RoaringBitmap indexMatches(EventSearchRequest searchRequest) {
+        boolean fuzzyText = searchRequest.isFuzzy() && (searchRequest.hasKeyword()
+                || searchRequest.hasOrganizer() || searchRequest.hasLocation());
+        RoaringBitmap textMatches = null;
+        if (fuzzyText) {
+            textMatches = eventSearchIndex.fuzzyMatch(searchRequest.getKeyword(), searchRequest.getOrganizer(),
+                    searchRequest.getLocation(), similarity(searchRequest));
+            if (textMatches == null) {
+                return null;
+            }
+        } else if (searchRequest.hasKeyword()) {
+            textMatches = eventSearchIndex.match(searchRequest.getKeyword());
+            if (textMatches == null) {
+                return null;
+            }
+        }
+        
+        // Fuzzy mode has matched organizer and location already
+        String organizer = fuzzyText ? null : searchRequest.getOrganizer();
+        String location = fuzzyText ? null : searchRequest.getLocation();
+        boolean hasFilters = searchRequest.hasStatus() || (!fuzzyText
+                && (searchRequest.hasOrganizer() || searchRequest.hasLocation()));
+        RoaringBitmap matches = textMatches;
+        if (hasFilters && (matches == null || !matches.isEmpty())) {
+            RoaringBitmap filterMatches = eventSearchIndex.filter(searchRequest.getStatus(), organizer, location);
+            if (filterMatches == null) {
+                return null;
+            }
+            matches = matches != null ? RoaringBitmap.and(matches, filterMatches) : filterMatches;
+        }
+        if (searchRequest.hasOverlapWindow() && (matches == null || !matches.isEmpty())) {
+            RoaringBitmap running = eventSearchIndex.overlapping(searchRequest.getOverlapFrom(),
+                    searchRequest.getOverlapTo());
+            if (running == null) {
+                return null;
+            }
+            matches = matches != null ? RoaringBitmap.and(matches, running) : running;
+        }
+        return matches;
+    }
+
+    private static boolean hasDateFilters(EventSearchRequest searchRequest) {
+        return searchRequest.hasStartDateRange() || searchRequest.hasEndDateRange();
+    }
+
+    /**
+     * Count matching events per value of each requested facet field
+     * 
+     * Counted entirely in the search index: the date ranges are applied to the index
+     * matches through the interval tree, so no event IDs are queried for facets.
+     * 
+     * @param searchRequest Search criteria with the facet fields and size
+     * @param matches Events matching every criterion but the date ranges, or null when the
+     *         index had nothing to resolve
+     * @return Facet values by field, or null if the index cannot answer
+     */
+    private Map<String, List<EventSearchResult.FacetValue>> searchFacets(EventSearchRequest searchRequest,
+                                                                         RoaringBitmap matches) {
+        if (hasDateFilters(searchRequest) && (matches == null || !matches.isEmpty())) {
+            RoaringBitmap scheduled = eventSearchIndex.scheduledWithin(searchRequest.getStartDateFrom(),
+                    searchRequest.getStartDateTo(), searchRequest.getEndDateFrom(), searchRequest.getEndDateTo());
+            if (scheduled == null) {
+                return null;
+            }
+            matches = matches != null ? RoaringBitmap.and(matches, scheduled) : scheduled;
+        }
+        Map<String, List<EventSearchIndex.ValueCount>> counts = eventSearchIndex.facets(matches,
+                searchRequest.getFacets().stream().distinct().collect(Collectors.toList()),
+                searchRequest.getFacetSize());
+        if (counts == null) {
+            return null;
+        }
+        Map<String, List<EventSearchResult.FacetValue>> facets = new LinkedHashMap<>();
+        counts.forEach((field, values) -> facets.put(field, values.stream()
+                .map(value -> new EventSearchResult.FacetValue(value.getValue(), value.getEventCount()))
+                .collect(Collectors.toList())));
+        return facets;
+    }
+
+    private double similarity(EventSearchRequest searchRequest) {
+        return searchRequest.getSimilarity() != null ? searchRequest.getSimilarity() : defaultSimilarity;
+    }
+
+    private static List<Long> toEventIds(RoaringBitmap matches) {
+        List<Long> eventIds = new ArrayList<>(matches.getCardinality());
+        matches.forEach((int docId) -> eventIds.add((long) docId));
+        return eventIds;
+    }
+
+    /**
+     * Count a search on the request's own connection, bounded by the count query timeout
+     * 
+     * @param searchRequest Search criteria with staged candidates
+     * @return Count, or null if it reached the query timeout
+     */
+    private Integer countInTransaction(EventSearchRequest searchRequest) {
+        try {
+            return eventMapper.countSearchEvents(searchRequest);
+        } catch (RuntimeException e) {
+            if (!isQueryTimeout(e)) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Wait a bounded time for a search count
+     * 
+     * @param count Count running on the search count executor
+     * @return Count, or null if it did not finish within the count timeout
+     */
+    private Integer awaitCount(Future<Integer> count) {
+        try {
+            return count.get(countTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Stops the wait only; the statement ends at its own query timeout of the same length
+            count.cancel(true);
+            return null;
+        } catch (InterruptedException e) {
+            count.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Search was interrupted", e);
+        } catch (ExecutionException e) {
+            if (isQueryTimeout(e.getCause())) {
+                // Also reached when a saturated executor ran the count on this thread
+                return null;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Search count failed", e.getCause());
+        }
+    }
+
+    /**
+     * Whether a count failed because the database cancelled it at its query timeout
+     */
+    private static boolean isQueryTimeout(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof QueryTimeoutException || cause instanceof SQLTimeoutException) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -198,12 +827,94 @@ public class EventService {
      * @param currentCount Current participant count
      */
     public void updateParticipantCount(Long eventId, int currentCount) {
-        Event event = eventMapper.findById(eventId);
-        if (event != null) {
-            event.setCurrentParticipants(currentCount);
-            event.setUpdatedAt(LocalDateTime.now());
-            eventMapper.update(event);
+        Event event = new Event();
+        event.setEventId(eventId);
+        event.setCurrentParticipants(currentCount);
+        eventMapper.updateDirty(event);
+        eventCache.invalidate(eventId);
+        eventStatisticsAggregate.participantsSet(eventId, currentCount);
+    }
+
+    /**
+     * Claim a seat for a participant registration
+     * 
+     * @param eventId Event ID
+     * @return true if a seat was claimed, false if the event is missing, not active or full
+     */
+    public boolean claimSeat(Long eventId) {
+        return seatCounterService.claimSeat(eventId);
+    }
+
+    /**
+     * Release a seat after a participant registration is cancelled
+     * 
+     * @param eventId Event ID
+     */
+    public void releaseSeat(Long eventId) {
+        seatCounterService.releaseSeat(eventId);
+    }
+
+    /**
+     * Configure sharded seat counting for a hot event
+     * 
+     * @param eventId Event ID
+     * @param slots Number of seat counter slots (1 disables sharded counting)
+     * @return true if configured, false if the event was not found
+     * @throws IllegalArgumentException if slots is out of range
+     */
+    public boolean configureSeatCounterSlots(Long eventId, int slots) {
+        Event event = eventMapper.findByIdForUpdate(eventId);
+        if (event == null) {
+            return false;
+        }
+        
+        seatCounterService.configureSlots(event, slots);
+        return true;
+    }
+
+    /**
+     * Configure how registrations overlapping a participant's other events are handled
+     * 
+     * @param eventId Event ID
+     * @param policy WARN to register and list the overlapping events, REJECT to refuse the registration
+     * @return true if configured, false if the event was not found
+     * @throws IllegalArgumentException if the policy is not WARN or REJECT
+     */
+    public boolean configureScheduleConflicts(Long eventId, String policy) {
+        if (!"WARN".equals(policy) && !"REJECT".equals(policy)) {
+            throw new IllegalArgumentException("Schedule conflict policy must be WARN or REJECT");
+        }
+        
+        eventCache.invalidate(eventId);
+        return eventMapper.updateScheduleConflicts(eventId, policy) > 0;
+    }
+
+    /**
+     * Rebuild the known event ID filter backing the negative cache, if enabled
+     */
+    @Scheduled(fixedDelayString = "${eventmanagement.negative-cache.bloom-filter.rebuild-interval-ms:600000}")
+    public void rebuildKnownEventIds() {
+        if (eventNegativeCache.hasKnownIdFilter()) {
+            eventNegativeCache.rebuildKnownIds(ids ->
+                    eventMapper.scanEventIds(context -> ids.accept(context.getResultObject())));
+        }
+    }
+
+    /**
+     * Find an event through the negative cache and the event cache
+     * 
+     * @param eventId Event ID
+     * @return Event or null if not found
+     */
+    private Event findEvent(Long eventId) {
+        if (eventNegativeCache.isMissing(eventId)) {
+            return null;
         }
+        Event event = eventCache.get(eventId, eventMapper::findById);
+        if (event == null) {
+            eventNegativeCache.markMissing(eventId);
+        }
+        return event;
     }
 
     /**
@@ -213,7 +924,7 @@ public class EventService {
      * @return EventResponse DTO
      */
     private EventResponse convertToResponse(Event event) {
-        return new EventResponse(
+        EventResponse response = new EventResponse(
             event.getEventId(),
             event.getEventName(),
             event.getDescription(),
@@ -227,6 +938,8 @@ public class EventService {
             event.getCreatedAt(),
             event.getUpdatedAt()
         );
+        response.setVersion(event.getVersion());
+        return response;
     }
 
     /**
@@ -245,6 +958,35 @@ public class EventService {
         }
     }
     
+    /**
+     * Check the requested location for bookings overlapping the requested time
+     * 
+     * Answered by the search index's per-location interval trees in O(log n); while the
+     * index is not ready the database is asked instead. The index learns of bookings when
+     * their transactions commit, so two requests racing for the same slot may both pass.
+     * 
+     * @param request Event request
+     * @param eventId Event being updated, or null when creating
+     * @return IDs of the overlapping events (only when conflicts are configured to warn)
+     * @throws IllegalArgumentException if the slot is taken and conflicts are rejected
+     */
+    private List<Long> checkVenue(EventRequest request, Long eventId) {
+        if (request.getLocation() == null || request.getLocation().isBlank()) {
+            return List.of();
+        }
+        List<Long> conflicts = eventSearchIndex.venueConflicts(request.getLocation(), request.getStartDateTime(),
+                request.getEndDateTime(), eventId);
+        if (conflicts == null) {
+            conflicts = eventMapper.findVenueConflicts(request.getLocation(), request.getStartDateTime(),
+                    request.getEndDateTime(), eventId);
+        }
+        if (!conflicts.isEmpty() && !"warn".equalsIgnoreCase(venueConflictMode)) {
+            throw new IllegalArgumentException("Location '" + request.getLocation()
+                    + "' is already booked during this time by event(s) " + conflicts);
+        }
+        return conflicts;
+    }
+
     /**
      * Validate search request
      * 
@@ -276,7 +1018,7 @@ public class EventService {
             throw new IllegalArgumentException("Page size cannot exceed 100");
         }
         
-        String[] validSortFields = {"eventName", "startDateTime", "endDateTime", "location", "organizer", "status", "createdAt", "updatedAt"};
+        String[] validSortFields = {"eventName", "startDateTime", "endDateTime", "location", "organizer", "status", "createdAt", "updatedAt", RELEVANCE};
         boolean validSortBy = false;
         for (String field : validSortFields) {
             if (field.equals(searchRequest.getSortBy())) {
@@ -291,22 +1033,59 @@ public class EventService {
         if (!"asc".equalsIgnoreCase(searchRequest.getSortOrder()) && !"desc".equalsIgnoreCase(searchRequest.getSortOrder())) {
             throw new IllegalArgumentException("Sort order must be 'asc' or 'desc'");
         }
+        
+        if (searchRequest.getOverlapFrom() != null && searchRequest.getOverlapTo() != null
+                && searchRequest.getOverlapFrom().isAfter(searchRequest.getOverlapTo())) {
+            throw new IllegalArgumentException("Overlap 'from' must be before overlap 'to'");
+        }
+        
+        if (searchRequest.getSimilarity() != null
+                && (searchRequest.getSimilarity() <= 0 || searchRequest.getSimilarity() > 1)) {
+            throw new IllegalArgumentException("Similarity must be greater than 0 and at most 1");
+        }
+        
+        if (searchRequest.hasFacets()) {
+            for (String facet : searchRequest.getFacets()) {
+                if (!"status".equals(facet) && !"organizer".equals(facet) && !"location".equals(facet)) {
+                    throw new IllegalArgumentException("Invalid facet field: " + facet);
+                }
+            }
+            if (searchRequest.getFacetSize() == null || searchRequest.getFacetSize() < 1
+                    || searchRequest.getFacetSize() > 100) {
+                throw new IllegalArgumentException("Facet size must be between 1 and 100");
+            }
+        }
+        
+        if (RELEVANCE.equals(searchRequest.getSortBy()) && !searchRequest.hasKeyword()) {
+            throw new IllegalArgumentException("Sorting by relevance requires a keyword");
+        }
     }
 
     /**
      * Event Statistics DTO
+     * 
+     * Built by EventMapper#getStatistics from one pass over the events table.
      */
     public static class EventStatistics {
         private final int totalEvents;
         private final int activeEvents;
         private final int completedEvents;
         private final int cancelledEvents;
+        private final long totalParticipants;
+        private final double averageFill; // Mean of current / max participants over events with capacity, 0 to 1
 
         public EventStatistics(int totalEvents, int activeEvents, int completedEvents, int cancelledEvents) {
+            this(totalEvents, activeEvents, completedEvents, cancelledEvents, 0L, 0.0);
+        }
+
+        public EventStatistics(int totalEvents, int activeEvents, int completedEvents, int cancelledEvents,
+                               long totalParticipants, double averageFill) {
             this.totalEvents = totalEvents;
             this.activeEvents = activeEvents;
             this.completedEvents = completedEvents;
             this.cancelledEvents = cancelledEvents;
+            this.totalParticipants = totalParticipants;
+            this.averageFill = averageFill;
         }
 
         public int getTotalEvents() {
@@ -324,5 +1103,13 @@ public class EventService {
         public int getCancelledEvents() {
             return cancelledEvents;
         }
+
+        public long getTotalParticipants() {
+            return totalParticipants;
+        }
+
+        public double getAverageFill() {
+            return averageFill;
+        }
     }
 }
\ No newline at end of file
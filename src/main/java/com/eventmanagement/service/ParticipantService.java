@@ -1,16 +1,34 @@
 package com.eventmanagement.service;
 
+import com.eventmanagement.analytics.EventStatisticsAggregate;
+import com.eventmanagement.analytics.RegistrationRollups;
+import com.eventmanagement.analytics.TrendingEvents;
+import com.eventmanagement.analytics.UniqueParticipants;
+import com.eventmanagement.cache.NegativeCache;
+import com.eventmanagement.cache.SingleFlight;
+import com.eventmanagement.dto.EventResponse;
 import com.eventmanagement.dto.ParticipantRequest;
 import com.eventmanagement.dto.ParticipantResponse;
+import com.eventmanagement.dto.UniqueParticipantsResponse;
 import com.eventmanagement.entity.Event;
 import com.eventmanagement.entity.Participant;
 import com.eventmanagement.mapper.ParticipantMapper;
+import com.eventmanagement.search.ParticipantScheduleIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -22,12 +40,38 @@ import java.util.stream.Collectors;
 @Transactional
 public class ParticipantService {
 
+    private static final int MAX_UNIQUE_MONTHS = 120;
+
     @Autowired
     private ParticipantMapper participantMapper;
 
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    @Qualifier("participationNegativeCache")
+    private NegativeCache participationNegativeCache;
+
+    @Autowired
+    private ParticipantScheduleIndex participantScheduleIndex;
+
+    @Autowired
+    private EventStatisticsAggregate eventStatisticsAggregate;
+
+    @Autowired
+    private RegistrationRollups registrationRollups;
+
+    @Autowired
+    private TrendingEvents trendingEvents;
+
+    @Autowired
+    private UniqueParticipants uniqueParticipants;
+
+    /**
+     * Concurrent listings of the same event share one participant query
+     */
+    private final SingleFlight<Long, List<Participant>> participantLoads = new SingleFlight<>();
+
     /**
      * Get all participants for a specific event
      * 
@@ -38,7 +82,8 @@ public class ParticipantService {
         // Check if event exists
         eventService.getEventEntityById(eventId);
         
-        List<Participant> participants = participantMapper.findByEventId(eventId);
+        List<Participant> participants = participantLoads.execute(eventId,
+                () -> participantMapper.findByEventId(eventId));
         return participants.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
@@ -60,27 +105,32 @@ public class ParticipantService {
     /**
      * Register a participant for an event
      * 
+     * When the participant is already registered for events at overlapping times, the
+     * registration is rejected if the event's scheduleConflicts policy is REJECT, and
+     * otherwise goes ahead with the overlapping events listed in the response.
+     * 
      * @param request Participant registration request
      * @return Registered participant response
      */
     public ParticipantResponse registerParticipant(ParticipantRequest request) {
-        // Validate event exists and is active
-        Event event = eventService.getEventEntityById(request.getEventId());
-        if (!"ACTIVE".equals(event.getStatus())) {
-            throw new RuntimeException("Cannot register for non-active event");
-        }
-
-        // Check for duplicate registration
-        Participant existingParticipant = participantMapper.findByEventIdAndEmail(
-                request.getEventId(), request.getParticipantEmail());
-        if (existingParticipant != null) {
-            throw new RuntimeException("Participant already registered for this event");
+        // Loaded once, from the event cache, for the schedule check and the participant sketches
+        Event event = participantScheduleIndex.isEnabled() || uniqueParticipants.isEnabled()
+                ? eventService.getEventEntityById(request.getEventId())
+                : null;
+        
+        // Checked before claiming a seat, so a rejected registration writes nothing
+        List<Long> conflicts = Collections.emptyList();
+        if (participantScheduleIndex.isEnabled()) {
+            conflicts = findScheduleConflicts(request.getParticipantEmail(), event);
+            if (!conflicts.isEmpty() && "REJECT".equals(event.getScheduleConflicts())) {
+                throw new RuntimeException("Participant is already registered for events at overlapping times: "
+                        + conflicts);
+            }
         }
 
-        // Check if event is full
-        int currentParticipants = participantMapper.countByEventId(request.getEventId());
-        if (currentParticipants >= event.getMaxParticipants()) {
-            throw new RuntimeException("Event is fully booked");
+        // Claim a seat first; the conditional update checks status and capacity atomically
+        if (!eventService.claimSeat(request.getEventId())) {
+            throw new RuntimeException(describeSeatClaimFailure(request));
         }
 
         // Create and save participant
@@ -91,12 +141,66 @@ public class ParticipantService {
         participant.setParticipantPhone(request.getParticipantPhone());
         participant.setRegisteredAt(LocalDateTime.now());
 
-        participantMapper.insert(participant);
+        try {
+            participantMapper.insert(participant);
+        } catch (DuplicateKeyException e) {
+            // uk_participants_event_email; the claimed seat is rolled back with the transaction
+            throw new RuntimeException("Participant already registered for this event");
+        }
+        participationNegativeCache.markCreated(participant.getParticipationId());
+        eventStatisticsAggregate.participantsChanged(request.getEventId(), participant.getParticipationId(), 1);
+        registrationRollups.registered(request.getEventId(), participant.getParticipationId(),
+                participant.getRegisteredAt());
+        trendingEvents.registered(request.getEventId());
+        if (participantScheduleIndex.isEnabled()) {
+            participantScheduleIndex.register(participant.getParticipantEmail(), event.getEventId(),
+                    event.getStartDateTime(), event.getEndDateTime());
+        }
+        if (uniqueParticipants.isEnabled()) {
+            uniqueParticipants.registered(event.getOrganizer(), event.getStartDateTime(),
+                    participant.getParticipantEmail());
+        }
 
-        // Update event's current participant count
-        updateEventParticipantCount(request.getEventId());
+        ParticipantResponse response = convertToResponse(participant);
+        if (!conflicts.isEmpty()) {
+            response.setConflictingEventIds(conflicts);
+        }
+        return response;
+    }
 
-        return convertToResponse(participant);
+    /**
+     * Get the approximate number of distinct participants of the events starting in a range of months
+     * 
+     * Answered by merging HyperLogLog sketches, with a relative standard error of about 1.6%;
+     * while the sketches are not loaded the participants are counted exactly by SQL instead.
+     * 
+     * @param organizer Organizer, or null for all organizers
+     * @param fromMonth First month of event start (YYYY-MM), or null for 11 months before toMonth
+     * @param toMonth Last month of event start (YYYY-MM), or null for the current month
+     * @return Distinct participants over the range and per month
+     * @throws IllegalArgumentException if a month is invalid or the range is empty or too long
+     */
+    public UniqueParticipantsResponse getUniqueParticipants(String organizer, String fromMonth, String toMonth) {
+        YearMonth to = toMonth != null ? parseMonth(toMonth) : YearMonth.now();
+        YearMonth from = fromMonth != null ? parseMonth(fromMonth) : to.minusMonths(11);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From month must not be after to month");
+        }
+        if (from.plusMonths(MAX_UNIQUE_MONTHS).isBefore(to.plusMonths(1))) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_UNIQUE_MONTHS + " months");
+        }
+        String organizerFilter = organizer != null && !organizer.isBlank() ? organizer : null;
+        
+        List<UniqueParticipantsResponse.MonthCount> counts = uniqueParticipants.count(organizerFilter, from, to);
+        double relativeStandardError = UniqueParticipants.RELATIVE_STANDARD_ERROR;
+        if (counts == null) {
+            counts = countUniqueParticipantsBySql(organizerFilter, from, to);
+            relativeStandardError = 0.0;
+        }
+        // The last entry covers the whole range
+        UniqueParticipantsResponse.MonthCount range = counts.remove(counts.size() - 1);
+        return new UniqueParticipantsResponse(organizerFilter, from.toString(), to.toString(),
+                range.getUniqueParticipants(), relativeStandardError, counts);
     }
 
     /**
@@ -106,8 +210,12 @@ public class ParticipantService {
      * @return true if cancelled successfully, false otherwise
      */
     public boolean cancelParticipation(Long participationId) {
+        if (participationNegativeCache.isMissing(participationId)) {
+            throw new RuntimeException("Participation not found");
+        }
         Participant participant = participantMapper.findById(participationId);
         if (participant == null) {
+            participationNegativeCache.markMissing(participationId);
             throw new RuntimeException("Participation not found");
         }
 
@@ -115,8 +223,10 @@ public class ParticipantService {
         int rowsAffected = participantMapper.deleteById(participationId);
         
         if (rowsAffected > 0) {
-            // Update event's current participant count
-            updateEventParticipantCount(eventId);
+            eventService.releaseSeat(eventId);
+            eventStatisticsAggregate.participantsChanged(eventId, participationId, -1);
+            registrationRollups.cancelled(eventId, participationId, participant.getRegisteredAt());
+            participantScheduleIndex.unregister(participant.getParticipantEmail(), eventId);
             return true;
         }
         return false;
@@ -139,13 +249,103 @@ public class ParticipantService {
     }
 
     /**
-     * Update the current participant count for an event
+     * Rebuild the known participation ID filter backing the negative cache, if enabled
+     */
+    @Scheduled(fixedDelayString = "${eventmanagement.negative-cache.bloom-filter.rebuild-interval-ms:600000}")
+    public void rebuildKnownParticipationIds() {
+        if (participationNegativeCache.hasKnownIdFilter()) {
+            participationNegativeCache.rebuildKnownIds(ids ->
+                    participantMapper.scanParticipationIds(context -> ids.accept(context.getResultObject())));
+        }
+    }
+
+    /**
+     * Explain why a seat could not be claimed
      * 
-     * @param eventId Event ID
+     * Only runs on the rejection path, so successful registrations stay at two statements.
+     * 
+     * @param request Participant registration request
+     * @return Error message for the rejected registration
      */
-    private void updateEventParticipantCount(Long eventId) {
-        int currentCount = participantMapper.countByEventId(eventId);
-        eventService.updateParticipantCount(eventId, currentCount);
+    private String describeSeatClaimFailure(ParticipantRequest request) {
+        Event event = eventService.getEventEntityById(request.getEventId());
+        if (!"ACTIVE".equals(event.getStatus())) {
+            return "Cannot register for non-active event";
+        }
+
+        Participant existingParticipant = participantMapper.findByEventIdAndEmail(
+                request.getEventId(), request.getParticipantEmail());
+        if (existingParticipant != null) {
+            return "Participant already registered for this event";
+        }
+
+        return "Event is fully booked";
+    }
+
+    /**
+     * Find the participant's other registered events running at the same time as an event
+     * 
+     * Candidates come from the participant schedule index, so a registration without
+     * conflicts costs no query. The index learns about moved and cancelled events only
+     * when it is rebuilt, so candidates are confirmed against the current (usually cached)
+     * event before they are reported.
+     * 
+     * @param participantEmail Participant email
+     * @param event Event being registered for
+     * @return IDs of the overlapping events, empty if none or if the index is not ready
+     */
+    private List<Long> findScheduleConflicts(String participantEmail, Event event) {
+        if (!"ACTIVE".equals(event.getStatus())) {
+            // The seat claim rejects it anyway
+            return Collections.emptyList();
+        }
+        List<Long> candidates = participantScheduleIndex.overlapping(participantEmail,
+                event.getStartDateTime(), event.getEndDateTime(), event.getEventId());
+        if (candidates == null || candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return candidates.stream()
+                .filter(eventId -> {
+                    EventResponse other = eventService.getEventById(eventId);
+                    return other != null
+                            && !"CANCELLED".equals(other.getStatus())
+                            && other.getStartDateTime().isBefore(event.getEndDateTime())
+                            && other.getEndDateTime().isAfter(event.getStartDateTime());
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Count distinct participants exactly, with every month of the range present and the
+     * whole range last
+     */
+    private List<UniqueParticipantsResponse.MonthCount> countUniqueParticipantsBySql(String organizer,
+                                                                                    YearMonth from, YearMonth to) {
+        long range = 0;
+        Map<String, Long> byMonth = new HashMap<>();
+        for (UniqueParticipantsResponse.MonthCount row : participantMapper.countUniqueParticipants(organizer,
+                from.atDay(1).atStartOfDay(), to.plusMonths(1).atDay(1).atStartOfDay())) {
+            if (row.getMonth() == null) {
+                range = row.getUniqueParticipants();
+            } else {
+                byMonth.put(row.getMonth(), row.getUniqueParticipants());
+            }
+        }
+        List<UniqueParticipantsResponse.MonthCount> counts = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            counts.add(new UniqueParticipantsResponse.MonthCount(month.toString(),
+                    byMonth.getOrDefault(month.toString(), 0L)));
+        }
+        counts.add(new UniqueParticipantsResponse.MonthCount(null, range));
+        return counts;
+    }
+
+    private static YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Month must be in YYYY-MM format: " + month);
+        }
     }
 
     /**
@@ -0,0 +1,217 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.cache.EventCache;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.mapper.SeatCounterMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seat Counter Service
+ *
+ * Claims and releases seats for events. Most events count seats on the events row;
+ * hot events can opt in to sharded counting, where capacity is spread over N slot
+ * rows in event_seat_counters and each registration updates a random slot. For those
+ * events current_participants is a view folded from the slots on a fixed delay.
+ */
+@Service
+@Transactional
+public class SeatCounterService {
+
+    private enum SlotClaim { CLAIMED, FULL, NO_SLOTS }
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @Autowired
+    private SeatCounterMapper seatCounterMapper;
+
+    @Autowired
+    private EventCache eventCache;
+
+    @Value("${eventmanagement.seat-counters.max-slots:64}")
+    private int maxSlots;
+
+    /**
+     * Slot count per sharded event; refreshed from the database on every fold so
+     * changes made by other instances are picked up
+     */
+    private final Map<Long, Integer> slotsByEvent = new ConcurrentHashMap<>();
+
+    /**
+     * Claim a seat for a participant registration
+     *
+     * @param eventId Event ID
+     * @return true if a seat was claimed, false if the event is missing, not active or full
+     */
+    public boolean claimSeat(Long eventId) {
+        Integer slots = slotsByEvent.get(eventId);
+        if (slots != null) {
+            SlotClaim claim = claimSlotSeat(eventId, slots);
+            if (claim != SlotClaim.NO_SLOTS) {
+                return claim == SlotClaim.CLAIMED;
+            }
+            slotsByEvent.remove(eventId);
+        }
+
+        if (eventMapper.claimSeat(eventId) > 0) {
+            eventCache.adjustParticipants(eventId, 1);
+            return true;
+        }
+
+        // The event may have been switched to counter slots by another instance
+        Event event = eventMapper.findById(eventId);
+        if (event == null || !hasCounterSlots(event)) {
+            return false;
+        }
+        slotsByEvent.put(eventId, event.getCounterSlots());
+        return claimSlotSeat(eventId, event.getCounterSlots()) == SlotClaim.CLAIMED;
+    }
+
+    /**
+     * Release a seat after a participant registration is cancelled
+     *
+     * @param eventId Event ID
+     */
+    public void releaseSeat(Long eventId) {
+        Integer slots = slotsByEvent.get(eventId);
+        if (slots != null && releaseSlotSeat(eventId, slots)) {
+            return;
+        }
+
+        if (eventMapper.releaseSeat(eventId) > 0) {
+            eventCache.adjustParticipants(eventId, -1);
+            return;
+        }
+
+        Event event = eventMapper.findById(eventId);
+        if (event != null && hasCounterSlots(event)) {
+            slotsByEvent.put(eventId, event.getCounterSlots());
+            releaseSlotSeat(eventId, event.getCounterSlots());
+        }
+    }
+
+    /**
+     * Change the number of seat counter slots for an event
+     *
+     * The event row must already be locked by the caller. Capacity and claimed seats
+     * are split evenly over the new slots; slots = 1 folds the count back onto the
+     * events row and drops the slots.
+     *
+     * @param event Locked event
+     * @param slots Number of slots (1 to disable sharded counting)
+     * @throws IllegalArgumentException if slots is out of range
+     */
+    public void configureSlots(Event event, int slots) {
+        if (slots < 1 || slots > maxSlots) {
+            throw new IllegalArgumentException("Seat counter slots must be between 1 and " + maxSlots);
+        }
+
+        Long eventId = event.getEventId();
+        int claimed = currentClaimed(event);
+        seatCounterMapper.deleteByEventId(eventId);
+
+        if (slots == 1) {
+            slotsByEvent.remove(eventId);
+            event.setCurrentParticipants(claimed);
+            eventMapper.updateDirty(event);
+        } else {
+            int capacity = event.getMaxParticipants();
+            for (int slotNo = 0; slotNo < slots; slotNo++) {
+                seatCounterMapper.insertSlot(eventId, slotNo,
+                        share(capacity, slots, slotNo), share(claimed, slots, slotNo));
+            }
+            slotsByEvent.put(eventId, slots);
+        }
+        eventMapper.updateCounterSlots(eventId, slots);
+        eventCache.invalidate(eventId);
+    }
+
+    /**
+     * Re-split capacity over the existing slots after max participants changed
+     *
+     * @param event Locked event with the new max participants
+     */
+    public void rebalanceSlots(Event event) {
+        if (hasCounterSlots(event)) {
+            configureSlots(event, event.getCounterSlots());
+        }
+    }
+
+    /**
+     * Fold slot totals into events.current_participants and refresh the slot registry
+     */
+    @Scheduled(fixedDelayString = "${eventmanagement.seat-counters.fold-interval-ms:5000}")
+    public void foldCounters() {
+        seatCounterMapper.foldIntoEvents();
+
+        Map<Long, Integer> refreshed = new ConcurrentHashMap<>();
+        for (Event event : seatCounterMapper.findSlotCounts()) {
+            refreshed.put(event.getEventId(), event.getCounterSlots());
+        }
+        // Folded counts changed current_participants of the sharded events
+        eventCache.invalidateAll(slotsByEvent.keySet());
+        eventCache.invalidateAll(refreshed.keySet());
+        slotsByEvent.keySet().retainAll(refreshed.keySet());
+        slotsByEvent.putAll(refreshed);
+    }
+
+    private SlotClaim claimSlotSeat(Long eventId, int slots) {
+        if (seatCounterMapper.claimSlot(eventId, randomSlot(slots)) > 0) {
+            return SlotClaim.CLAIMED;
+        }
+
+        // The random slot is full or contended; fall back to any slot with capacity
+        for (int attempt = 0; attempt < slots; attempt++) {
+            if (seatCounterMapper.claimAnySlot(eventId) > 0) {
+                return SlotClaim.CLAIMED;
+            }
+            Integer freeSeats = seatCounterMapper.sumFreeSeats(eventId);
+            if (freeSeats == null) {
+                return SlotClaim.NO_SLOTS;
+            }
+            if (freeSeats <= 0) {
+                return SlotClaim.FULL;
+            }
+        }
+        return SlotClaim.FULL;
+    }
+
+    private boolean releaseSlotSeat(Long eventId, int slots) {
+        return seatCounterMapper.releaseSlot(eventId, randomSlot(slots)) > 0
+                || seatCounterMapper.releaseAnySlot(eventId) > 0;
+    }
+
+    private int currentClaimed(Event event) {
+        if (hasCounterSlots(event)) {
+            Integer claimed = seatCounterMapper.sumClaimed(event.getEventId());
+            if (claimed != null) {
+                return claimed;
+            }
+        }
+        return event.getCurrentParticipants() != null ? event.getCurrentParticipants() : 0;
+    }
+
+    private static boolean hasCounterSlots(Event event) {
+        return event.getCounterSlots() != null && event.getCounterSlots() > 1;
+    }
+
+    private static int randomSlot(int slots) {
+        return ThreadLocalRandom.current().nextInt(slots);
+    }
+
+    /**
+     * Even split of a total over slots; the first (total % slots) slots get one extra
+     */
+    private static int share(int total, int slots, int slotNo) {
+        return total / slots + (slotNo < total % slots ? 1 : 0);
+    }
+}
@@ -20,6 +20,9 @@ CREATE TABLE events (
     max_participants NUMBER(10) NOT NULL,
     current_participants NUMBER(10) DEFAULT 0,
     status VARCHAR2(20) DEFAULT 'ACTIVE' CHECK (status IN ('ACTIVE', 'CANCELLED', 'COMPLETED')),
+    counter_slots NUMBER(3) DEFAULT 1 NOT NULL,
+    schedule_conflicts VARCHAR2(10) DEFAULT 'WARN' NOT NULL CHECK (schedule_conflicts IN ('WARN', 'REJECT')),
+    version NUMBER(19) DEFAULT 0 NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -45,10 +48,23 @@ END;
 /
 
 -- Create indexes for better performance
-CREATE INDEX idx_events_status ON events(status);
-CREATE INDEX idx_events_organizer ON events(organizer);
-CREATE INDEX idx_events_start_date ON events(start_date_time);
-CREATE INDEX idx_events_end_date ON events(end_date_time);
+-- Sort columns are indexed with event_id so keyset pagination (ORDER BY col, event_id) can seek
+CREATE INDEX idx_events_status ON events(status, event_id);
+CREATE INDEX idx_events_organizer ON events(organizer, event_id);
+CREATE INDEX idx_events_start_date ON events(start_date_time, event_id);
+CREATE INDEX idx_events_end_date ON events(end_date_time, event_id);
+CREATE INDEX idx_events_name ON events(event_name, event_id);
+CREATE INDEX idx_events_location ON events(location, event_id);
+CREATE INDEX idx_events_created_at ON events(created_at, event_id);
+CREATE INDEX idx_events_updated_at ON events(updated_at, event_id);
+
+-- Create search candidates temporary table
+-- Event IDs resolved by the in-memory search index that are too many to pass
+-- as IN lists; each search transaction stages its own rows, cleared at commit.
+-- IDs may repeat (the last insert batch is padded), so there is no key.
+CREATE GLOBAL TEMPORARY TABLE search_candidates (
+    event_id NUMBER(19) NOT NULL
+) ON COMMIT DELETE ROWS;
 
 -- Insert sample data
 INSERT INTO events (event_name, description, start_date_time, end_date_time, location, organizer, max_participants, current_participants, status)
@@ -104,5 +120,29 @@ CREATE INDEX idx_participants_event_id ON participants(event_id);
 CREATE INDEX idx_participants_email ON participants(participant_email);
 CREATE INDEX idx_participants_registered_at ON participants(registered_at);
 
+-- Create seat counter slots table
+-- Hot events spread their seat count over several slot rows so registrations
+-- do not all lock the same events row; events.current_participants is folded
+-- from these rows periodically.
+CREATE TABLE event_seat_counters (
+    event_id NUMBER(19) NOT NULL,
+    slot_no NUMBER(3) NOT NULL,
+    capacity NUMBER(10) NOT NULL,
+    claimed NUMBER(10) DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_event_seat_counters PRIMARY KEY (event_id, slot_no),
+    CONSTRAINT fk_seat_counters_event FOREIGN KEY (event_id) REFERENCES events(event_id) ON DELETE CASCADE
+);
+
+-- Create unique participant sketches table
+-- HyperLogLog registers counting the distinct participants of each organizer's
+-- events per start month; saved periodically from memory and merged on load.
+CREATE TABLE participant_sketches (
+    organizer VARCHAR2(255) NOT NULL,
+    sketch_month CHAR(7) NOT NULL,
+    registers BLOB NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_participant_sketches PRIMARY KEY (organizer, sketch_month)
+);
+
 -- Commit the changes
 COMMIT;
\ No newline at end of file
@@ -6,6 +6,7 @@ class EventManagementApp {
         this.currentPage = 0;
         this.pageSize = 10;
         this.currentEventId = null;
+        this.currentEventVersion = null;
         this.events = [];
         this.statistics = {};
         
@@ -118,14 +119,19 @@ class EventManagementApp {
             });
 
             if (!response.ok) {
-                throw new Error(`HTTP error! status: ${response.status}`);
+                const error = new Error(`HTTP error! status: ${response.status}`);
+                error.status = response.status;
+                throw error;
             }
 
             const data = await response.json();
             return data;
         } catch (error) {
             console.error('API Error:', error);
-            this.showToast('エラーが発生しました: ' + error.message, 'error');
+            // Version conflicts are reported by the caller
+            if (error.status !== 409) {
+                this.showToast('エラーが発生しました: ' + error.message, 'error');
+            }
             throw error;
         } finally {
             this.hideLoading();
@@ -276,7 +282,7 @@ class EventManagementApp {
                         <button class="btn btn-secondary" onclick="app.editEvent(${event.eventId})">
                             <i class="fas fa-edit"></i> 編集
                         </button>
-                        <button class="btn btn-danger" onclick="app.deleteEvent(${event.eventId})">
+                        <button class="btn btn-danger" onclick="app.deleteEvent(${event.eventId}, ${event.version})">
                             <i class="fas fa-trash"></i> 削除
                         </button>
                     </div>
@@ -411,15 +417,19 @@ class EventManagementApp {
         document.getElementById('form-title').textContent = '新規イベント作成';
         document.getElementById('event-form').reset();
         this.currentEventId = null;
+        this.currentEventVersion = null;
         this.showView('create-event');
     }
 
     async editEvent(eventId) {
         try {
-            const event = await this.apiCall(`/events/${eventId}`);
+            const response = await this.apiCall(`/events/${eventId}`);
+            const event = response.data || response;
             this.populateForm(event);
             document.getElementById('form-title').textContent = 'イベント編集';
             this.currentEventId = eventId;
+            // Sent back with the update so a concurrent edit is rejected, not overwritten
+            this.currentEventVersion = event.version;
             this.showView('create-event');
         } catch (error) {
             console.error('Failed to load event for editing:', error);
@@ -452,6 +462,7 @@ class EventManagementApp {
 
         try {
             if (this.currentEventId) {
+                eventData.version = this.currentEventVersion;
                 await this.apiCall(`/events/${this.currentEventId}`, {
                     method: 'PUT',
                     body: JSON.stringify(eventData)
@@ -468,23 +479,34 @@ class EventManagementApp {
             this.showView('events');
             this.loadEvents();
         } catch (error) {
+            if (error.status === 409) {
+                this.showToast('このイベントは他のユーザーによって更新されました。最新の内容を読み込み直しました。', 'warning');
+                this.editEvent(this.currentEventId);
+                return;
+            }
             console.error('Failed to save event:', error);
         }
     }
 
-    async deleteEvent(eventId) {
+    async deleteEvent(eventId, version) {
         if (!confirm('このイベントを削除しますか？')) {
             return;
         }
 
         try {
-            await this.apiCall(`/events/${eventId}`, {
+            const query = version != null ? `?version=${version}` : '';
+            await this.apiCall(`/events/${eventId}${query}`, {
                 method: 'DELETE'
             });
 
             this.showToast('イベントが正常に削除されました。', 'success');
             this.loadEvents();
         } catch (error) {
+            if (error.status === 409) {
+                this.showToast('このイベントは他のユーザーによって更新されたため削除しませんでした。一覧を更新しました。', 'warning');
+                this.loadEvents();
+                return;
+            }
             console.error('Failed to delete event:', error);
         }
     }
@@ -0,0 +1,157 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.mapper.ParticipantMapper;
+import com.eventmanagement.service.EventService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Event Statistics Aggregate Test
+ */
+public class EventStatisticsAggregateTest {
+
+    private EventMapper eventMapper;
+    private ParticipantMapper participantMapper;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private EventStatisticsAggregate aggregate;
+
+    @BeforeEach
+    void setUp() {
+        eventMapper = mock(EventMapper.class);
+        meterRegistry = new SimpleMeterRegistry();
+        aggregate = new EventStatisticsAggregate();
+        ReflectionTestUtils.setField(aggregate, "eventMapper", eventMapper);
+        participantMapper = mock(ParticipantMapper.class);
+        ReflectionTestUtils.setField(aggregate, "participantMapper", participantMapper);
+        transactionManager = mock(PlatformTransactionManager.class);
+        ReflectionTestUtils.setField(aggregate, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(aggregate, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(aggregate, "enabled", true);
+        ReflectionTestUtils.invokeMethod(aggregate, "init");
+    }
+
+    @Test
+    public void testDeltasKeepTotalsCurrent() {
+        scanReturns(List.of(event(1L, "ACTIVE", 10, 20), event(2L, "COMPLETED", 50, 50)));
+
+        assertThat(aggregate.snapshot()).isNull();
+        aggregate.reconcile();
+        assertStatistics(aggregate.snapshot(), 2, 1, 1, 0, 60, 0.75);
+
+        aggregate.eventSaved(event(3L, "ACTIVE", 0, 10));
+        aggregate.participantsChanged(3L, 31L, 1);
+        aggregate.participantsChanged(1L, 11L, -1);
+        assertStatistics(aggregate.snapshot(), 3, 2, 1, 0, 60, (9.0 / 20 + 1.0 + 1.0 / 10) / 3);
+
+        // An update returns the full row; capacity changes re-weigh the fill
+        aggregate.eventSaved(event(1L, "CANCELLED", 9, 9));
+        aggregate.eventDeleted(2L);
+        assertStatistics(aggregate.snapshot(), 2, 1, 0, 1, 10, (1.0 + 1.0 / 10) / 2);
+
+        // Deltas for unknown events are ignored
+        aggregate.participantsChanged(99L, 991L, 1);
+        assertThat(aggregate.snapshot().getTotalParticipants()).isEqualTo(10);
+    }
+
+    @Test
+    public void testReconcileReportsDriftAndReplaysConcurrentWrites() {
+        scanReturns(List.of(event(1L, "ACTIVE", 10, 20)));
+        aggregate.reconcile();
+
+        // A registration made by another instance is only in the table
+        aggregate.eventSaved(event(2L, "ACTIVE", 0, 10));
+        doAnswer(invocation -> {
+            aggregate.participantsChanged(2L, 21L, 1);
+            ResultHandler<Event> handler = invocation.getArgument(0);
+            deliver(handler, event(1L, "ACTIVE", 11, 20));
+            deliver(handler, event(2L, "ACTIVE", 0, 10));
+            return null;
+        }).when(eventMapper).scanStatistics(any());
+        aggregate.reconcile();
+
+        assertThat(aggregate.getDrift("totalParticipants")).isEqualTo(-1);
+        assertThat(aggregate.getDrift("totalEvents")).isZero();
+        assertThat(meterRegistry.get("statistics.drift").tag("field", "totalParticipants").gauge().value())
+                .isEqualTo(-1.0);
+        assertStatistics(aggregate.snapshot(), 2, 2, 0, 0, 12, (11.0 / 20 + 1.0 / 10) / 2);
+    }
+
+    @Test
+    public void testChangesCommittedBeforeTheSnapshotAreNotCountedTwice() {
+        scanReturns(List.of(event(1L, "ACTIVE", 10, 20)));
+        aggregate.reconcile();
+
+        // Registration 11 committed just before the snapshot, so the scan holds it; 12 and
+        // the cancellation of 5 committed after it, while the scan ran
+        doAnswer(invocation -> {
+            aggregate.participantsChanged(1L, 11L, 1);
+            aggregate.participantsChanged(1L, 12L, 1);
+            aggregate.participantsChanged(1L, 5L, -1);
+            deliver(invocation.getArgument(0), event(1L, "ACTIVE", 11, 20));
+            return null;
+        }).when(eventMapper).scanStatistics(any());
+        when(participantMapper.findExistingParticipationIds(any())).thenReturn(List.of(11L, 5L));
+        aggregate.reconcile();
+
+        // 11 and 5 from the snapshot, plus 12, minus 5
+        assertThat(aggregate.snapshot().getTotalParticipants()).isEqualTo(11);
+        assertThat(aggregate.getDrift("totalParticipants")).isZero();
+        verify(transactionManager, times(2)).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getIsolationLevel() == TransactionDefinition.ISOLATION_SERIALIZABLE));
+    }
+
+    private void scanReturns(List<Event> events) {
+        doAnswer(invocation -> {
+            ResultHandler<Event> handler = invocation.getArgument(0);
+            events.forEach(event -> deliver(handler, event));
+            return null;
+        }).when(eventMapper).scanStatistics(any());
+    }
+
+    private static void deliver(ResultHandler<Event> handler, Event event) {
+        DefaultResultContext<Event> context = new DefaultResultContext<>();
+        context.nextResultObject(event);
+        handler.handleResult(context);
+    }
+
+    private static void assertStatistics(EventService.EventStatistics stats, int total, int active, int completed,
+                                         int cancelled, long participants, double averageFill) {
+        assertThat(stats.getTotalEvents()).isEqualTo(total);
+        assertThat(stats.getActiveEvents()).isEqualTo(active);
+        assertThat(stats.getCompletedEvents()).isEqualTo(completed);
+        assertThat(stats.getCancelledEvents()).isEqualTo(cancelled);
+        assertThat(stats.getTotalParticipants()).isEqualTo(participants);
+        assertThat(stats.getAverageFill()).isCloseTo(averageFill, within(1e-9));
+    }
+
+    private static Event event(Long eventId, String status, int participants, int capacity) {
+        Event event = new Event("Meetup", null, LocalDateTime.of(2030, 5, 1, 10, 0),
+                LocalDateTime.of(2030, 5, 1, 12, 0), "Room A", "Organizer", capacity);
+        event.setEventId(eventId);
+        event.setStatus(status);
+        event.setCurrentParticipants(participants);
+        return event;
+    }
+}
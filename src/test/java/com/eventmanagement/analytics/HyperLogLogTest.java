@@ -0,0 +1,50 @@
+package com.eventmanagement.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * HyperLogLog Test
+ */
+public class HyperLogLogTest {
+
+    @Test
+    public void testEstimateIsWithinTheErrorBound() {
+        HyperLogLog small = new HyperLogLog();
+        HyperLogLog large = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            small.add("user" + i + "@example.com");
+            // Repeats do not count again
+            small.add("user" + i + "@example.com");
+        }
+        for (int i = 0; i < 200_000; i++) {
+            large.add("user" + i + "@example.com");
+        }
+
+        assertThat(small.estimate()).isCloseTo(100L, within(2L));
+        assertThat((double) large.estimate())
+                .isCloseTo(200_000.0, within(200_000 * 3 * HyperLogLog.RELATIVE_STANDARD_ERROR));
+    }
+
+    @Test
+    public void testMergeIsTheSketchOfTheUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 30_000; i++) {
+            first.add("user" + i + "@example.com");
+            union.add("user" + i + "@example.com");
+        }
+        for (int i = 20_000; i < 50_000; i++) {
+            second.add("user" + i + "@example.com");
+            union.add("user" + i + "@example.com");
+        }
+
+        first.merge(second);
+        assertThat(first.toBytes()).isEqualTo(union.toBytes());
+        assertThat(HyperLogLog.fromBytes(first.toBytes()).estimate()).isEqualTo(union.estimate());
+        assertThat(HyperLogLog.fromBytes(new byte[16])).isNull();
+    }
+}
@@ -0,0 +1,199 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.dto.RegistrationBucket;
+import com.eventmanagement.dto.RegistrationTimeSeriesResponse;
+import com.eventmanagement.mapper.ParticipantMapper;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Registration Rollups Test
+ */
+public class RegistrationRollupsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 5, 1, 10, 30, 15);
+
+    private ParticipantMapper participantMapper;
+    private PlatformTransactionManager transactionManager;
+    private RegistrationRollups rollups;
+
+    @BeforeEach
+    void setUp() {
+        participantMapper = mock(ParticipantMapper.class);
+        rollups = new RegistrationRollups();
+        ReflectionTestUtils.setField(rollups, "participantMapper", participantMapper);
+        transactionManager = mock(PlatformTransactionManager.class);
+        ReflectionTestUtils.setField(rollups, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(rollups, "enabled", true);
+    }
+
+    @Test
+    public void testBackfillThenLiveRegistrationsAndCancellations() {
+        scanReturns("HOUR", List.of(
+                new RegistrationBucket(1L, LocalDateTime.of(2030, 5, 1, 8, 0), 4),
+                new RegistrationBucket(2L, LocalDateTime.of(2030, 5, 1, 9, 0), 2)));
+
+        assertThat(rollups.series(1L, RegistrationRollups.Resolution.HOUR, 3, NOW)).isNull();
+        rollups.backfill();
+
+        rollups.registered(1L, 11L, LocalDateTime.of(2030, 5, 1, 10, 5));
+        rollups.registered(1L, 12L, LocalDateTime.of(2030, 5, 1, 10, 20));
+        rollups.cancelled(1L, 3L, LocalDateTime.of(2030, 5, 1, 8, 45));
+
+        List<RegistrationTimeSeriesResponse.Point> points = rollups.series(1L, RegistrationRollups.Resolution.HOUR, 3, NOW);
+        assertThat(points).extracting(RegistrationTimeSeriesResponse.Point::getStart).containsExactly(
+                LocalDateTime.of(2030, 5, 1, 8, 0), LocalDateTime.of(2030, 5, 1, 9, 0), LocalDateTime.of(2030, 5, 1, 10, 0));
+        assertThat(counts(points)).containsExactly(3, 0, 2);
+        assertThat(counts(rollups.series(null, RegistrationRollups.Resolution.HOUR, 3, NOW))).containsExactly(3, 2, 2);
+
+        // Live registrations feed every resolution; backfilled buckets only their own
+        assertThat(counts(rollups.series(1L, RegistrationRollups.Resolution.MINUTE, 30, NOW)).stream()
+                .mapToInt(Integer::intValue).sum()).isEqualTo(2);
+        assertThat(counts(rollups.series(3L, RegistrationRollups.Resolution.DAY, 2, NOW))).containsExactly(0, 0);
+        assertThat(rollups.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRegistrationsDuringBackfillAreReplayed() {
+        doAnswer(invocation -> {
+            if ("HOUR".equals(invocation.getArgument(0))) {
+                rollups.registered(1L, 11L, LocalDateTime.of(2030, 5, 1, 10, 10));
+                deliver(invocation.getArgument(2), new RegistrationBucket(1L, LocalDateTime.of(2030, 5, 1, 9, 0), 1));
+            }
+            return null;
+        }).when(participantMapper).scanRegistrationBuckets(anyString(), any(), any());
+        rollups.backfill();
+
+        assertThat(counts(rollups.series(1L, RegistrationRollups.Resolution.HOUR, 2, NOW))).containsExactly(1, 1);
+    }
+
+    @Test
+    public void testRegistrationCommittedBetweenScansIsCountedOnceAtEveryResolution() {
+        // Registration 11 committed before the snapshot, so every scan holds it; 12 and the
+        // cancellation of 5 committed after it, while the MINUTE and HOUR scans ran
+        LocalDateTime registeredAt = LocalDateTime.of(2030, 5, 1, 10, 10);
+        doAnswer(invocation -> {
+            String resolution = invocation.getArgument(0);
+            if ("MINUTE".equals(resolution)) {
+                rollups.registered(1L, 11L, registeredAt);
+            } else if ("HOUR".equals(resolution)) {
+                rollups.registered(1L, 12L, registeredAt);
+                rollups.cancelled(1L, 5L, registeredAt);
+            }
+            LocalDateTime bucketStart = "MINUTE".equals(resolution) ? registeredAt
+                    : "HOUR".equals(resolution) ? registeredAt.withMinute(0) : registeredAt.toLocalDate().atStartOfDay();
+            deliver(invocation.getArgument(2), new RegistrationBucket(1L, bucketStart, 2));
+            return null;
+        }).when(participantMapper).scanRegistrationBuckets(anyString(), any(), any());
+        when(participantMapper.findExistingParticipationIds(any())).thenReturn(List.of(11L, 5L));
+
+        rollups.backfill();
+
+        // 11 and 5 from the snapshot, plus 12, minus 5
+        assertThat(counts(rollups.series(1L, RegistrationRollups.Resolution.MINUTE, 21, NOW)).get(0)).isEqualTo(2);
+        assertThat(counts(rollups.series(1L, RegistrationRollups.Resolution.HOUR, 1, NOW))).containsExactly(2);
+        assertThat(counts(rollups.series(1L, RegistrationRollups.Resolution.DAY, 1, NOW))).containsExactly(2);
+        // Every scan ran in one serializable read-only transaction
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getIsolationLevel() == TransactionDefinition.ISOLATION_SERIALIZABLE));
+    }
+
+    @Test
+    public void testDeletedEventIsDroppedAfterCommitAndTakenOutOfTotals() {
+        scanReturns("HOUR", List.of(
+                new RegistrationBucket(1L, LocalDateTime.of(2030, 5, 1, 8, 0), 4),
+                new RegistrationBucket(2L, LocalDateTime.of(2030, 5, 1, 8, 0), 2)));
+        rollups.backfill();
+        rollups.registered(1L, 11L, LocalDateTime.of(2030, 5, 1, 10, 5));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            rollups.eventDeleted(1L);
+            assertThat(counts(rollups.series(null, RegistrationRollups.Resolution.HOUR, 3, NOW))).containsExactly(6, 0, 1);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(counts(rollups.series(null, RegistrationRollups.Resolution.HOUR, 3, NOW))).containsExactly(2, 0, 0);
+        assertThat(counts(rollups.series(null, RegistrationRollups.Resolution.MINUTE, 30, NOW)).stream()
+                .mapToInt(Integer::intValue).sum()).isEqualTo(0);
+        assertThat(counts(rollups.series(1L, RegistrationRollups.Resolution.HOUR, 3, NOW))).containsExactly(0, 0, 0);
+        assertThat(rollups.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testEventDeletedDuringBackfillIsDroppedFromTheNewRollups() {
+        // The snapshot still holds the event's registrations; its deletion commits meanwhile
+        doAnswer(invocation -> {
+            if ("HOUR".equals(invocation.getArgument(0))) {
+                rollups.eventDeleted(1L);
+            }
+            deliver(invocation.getArgument(2), new RegistrationBucket(1L, LocalDateTime.of(2030, 5, 1, 9, 0), 3));
+            return null;
+        }).when(participantMapper).scanRegistrationBuckets(anyString(), any(), any());
+        rollups.backfill();
+
+        assertThat(counts(rollups.series(null, RegistrationRollups.Resolution.HOUR, 2, NOW))).containsExactly(0, 0);
+        assertThat(counts(rollups.series(null, RegistrationRollups.Resolution.DAY, 1, NOW))).containsExactly(0);
+        assertThat(rollups.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testRingDropsBucketsOutsideItsWindow() {
+        CountRing ring = new CountRing(60, 3);
+        ring.add(0, 1);
+        ring.add(60, 2);
+        ring.add(120, 3);
+        // Moving on two buckets reuses the slots of the two oldest
+        ring.add(240, 4);
+        ring.add(30, 5);
+
+        assertThat(ring.last(240, 3)).containsExactly(3, 0, 4);
+        assertThat(ring.last(600, 3)).containsExactly(0, 0, 0);
+
+        ring.add(240, -10);
+        assertThat(ring.last(240, 1)).containsExactly(0);
+    }
+
+    private void scanReturns(String resolution, List<RegistrationBucket> buckets) {
+        doAnswer(invocation -> {
+            ResultHandler<RegistrationBucket> handler = invocation.getArgument(2);
+            buckets.forEach(bucket -> deliver(handler, bucket));
+            return null;
+        }).when(participantMapper).scanRegistrationBuckets(eq(resolution), any(), any());
+    }
+
+    private static void deliver(ResultHandler<RegistrationBucket> handler, RegistrationBucket bucket) {
+        DefaultResultContext<RegistrationBucket> context = new DefaultResultContext<>();
+        context.nextResultObject(bucket);
+        handler.handleResult(context);
+    }
+
+    private static List<Integer> counts(List<RegistrationTimeSeriesResponse.Point> points) {
+        return points.stream().map(RegistrationTimeSeriesResponse.Point::getRegistrations).collect(Collectors.toList());
+    }
+}
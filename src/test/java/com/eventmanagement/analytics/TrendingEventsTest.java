@@ -0,0 +1,100 @@
+package com.eventmanagement.analytics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Trending Events Test
+ */
+public class TrendingEventsTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    private TrendingEvents trending;
+
+    @BeforeEach
+    void setUp() {
+        trending = new TrendingEvents();
+        ReflectionTestUtils.setField(trending, "enabled", true);
+        ReflectionTestUtils.setField(trending, "capacity", 3);
+        ReflectionTestUtils.setField(trending, "halfLifeSeconds", 3600L);
+        ReflectionTestUtils.setField(trending, "registrationWeight", 5.0);
+    }
+
+    @Test
+    public void testOlderActivityDecays() {
+        for (int i = 0; i < 8; i++) {
+            trending.record(1L, 1.0, 0L);
+        }
+        for (int i = 0; i < 5; i++) {
+            trending.record(2L, 1.0, 2 * HOUR);
+        }
+
+        List<TrendingEvents.Score> top = trending.top(2, 2 * HOUR);
+        assertThat(top).extracting(TrendingEvents.Score::getEventId).containsExactly(2L, 1L);
+        assertThat(top.get(0).getScore()).isCloseTo(5.0, within(1e-9));
+        assertThat(top.get(1).getScore()).isCloseTo(2.0, within(1e-9));
+        assertThat(top.get(1).getError()).isZero();
+    }
+
+    @Test
+    public void testNewEventTakesOverTheLowestCounter() {
+        trending.record(1L, 5.0, 0L);
+        trending.record(2L, 3.0, 0L);
+        trending.record(3L, 1.0, 0L);
+        trending.record(4L, 1.0, 0L);
+
+        assertThat(trending.size()).isEqualTo(3);
+        List<TrendingEvents.Score> top = trending.top(10, 0L);
+        assertThat(top).extracting(TrendingEvents.Score::getEventId).containsExactly(1L, 2L, 4L);
+        // Event 4's score may include event 3's count, bounded by its error
+        assertThat(top.get(2).getScore()).isCloseTo(2.0, within(1e-9));
+        assertThat(top.get(2).getError()).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    public void testConcurrentViewsAreBufferedAndDrainedInOneBatch() throws InterruptedException {
+        Thread[] viewers = new Thread[8];
+        for (int t = 0; t < viewers.length; t++) {
+            viewers[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    trending.viewed(i % 2 == 0 ? 1L : 2L);
+                }
+            });
+            viewers[t].start();
+        }
+        for (Thread viewer : viewers) {
+            viewer.join();
+        }
+        // Nothing reaches the counters until the views are drained
+        assertThat(trending.size()).isZero();
+
+        trending.drainViews(0L);
+        List<TrendingEvents.Score> top = trending.top(2, 0L);
+        assertThat(top).extracting(TrendingEvents.Score::getScore).containsExactly(40_000.0, 40_000.0);
+
+        // Idle events give up their buffers; later views still count
+        trending.drainViews(0L);
+        trending.viewed(1L);
+        trending.drainViews(0L);
+        assertThat(trending.top(1, 0L).get(0).getScore()).isEqualTo(40_001.0);
+    }
+
+    @Test
+    public void testRescaleKeepsScores() {
+        trending.record(1L, 4.0, 0L);
+        // Far enough past the landmark to rescale
+        trending.record(2L, 1.0, 48 * HOUR);
+
+        List<TrendingEvents.Score> top = trending.top(2, 49 * HOUR);
+        assertThat(top).extracting(TrendingEvents.Score::getEventId).containsExactly(2L, 1L);
+        assertThat(top.get(0).getScore()).isCloseTo(0.5, within(1e-9));
+        assertThat(top.get(1).getScore()).isCloseTo(4.0 * Math.pow(2, -49), within(1e-18));
+    }
+}
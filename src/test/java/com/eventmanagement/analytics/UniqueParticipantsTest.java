@@ -0,0 +1,133 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.dto.MonthlyParticipant;
+import com.eventmanagement.dto.ParticipantSketch;
+import com.eventmanagement.dto.UniqueParticipantsResponse;
+import com.eventmanagement.mapper.ParticipantMapper;
+import com.eventmanagement.mapper.ParticipantSketchMapper;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unique Participants Test
+ */
+public class UniqueParticipantsTest {
+
+    private ParticipantSketchMapper participantSketchMapper;
+    private ParticipantMapper participantMapper;
+    private UniqueParticipants uniqueParticipants;
+
+    @BeforeEach
+    void setUp() {
+        participantSketchMapper = mock(ParticipantSketchMapper.class);
+        participantMapper = mock(ParticipantMapper.class);
+        uniqueParticipants = new UniqueParticipants();
+        ReflectionTestUtils.setField(uniqueParticipants, "participantSketchMapper", participantSketchMapper);
+        ReflectionTestUtils.setField(uniqueParticipants, "participantMapper", participantMapper);
+        ReflectionTestUtils.setField(uniqueParticipants, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(uniqueParticipants, "enabled", true);
+    }
+
+    @Test
+    public void testBackfillsWhenNothingIsSavedAndSavesChangedSketches() {
+        doAnswer(invocation -> {
+            ResultHandler<MonthlyParticipant> handler = invocation.getArgument(0);
+            deliver(handler, new MonthlyParticipant("Tech Community", "2030-04", "alice@example.com"));
+            deliver(handler, new MonthlyParticipant("Tech Community", "2030-05", " Alice@Example.com "));
+            deliver(handler, new MonthlyParticipant("Tech Community", "2030-05", "bob@example.com"));
+            deliver(handler, new MonthlyParticipant("HR Department", "2030-05", "bob@example.com"));
+            return null;
+        }).when(participantMapper).scanMonthlyParticipants(any());
+
+        assertThat(uniqueParticipants.count(null, YearMonth.of(2030, 4), YearMonth.of(2030, 5))).isNull();
+        uniqueParticipants.persist();
+
+        assertCounts(uniqueParticipants.count("Tech Community", YearMonth.of(2030, 4), YearMonth.of(2030, 6)),
+                1L, 2L, 0L, 2L);
+        assertCounts(uniqueParticipants.count(null, YearMonth.of(2030, 5), YearMonth.of(2030, 5)), 2L, 2L);
+
+        // The backfilled sketches are saved, then only the one changed since
+        uniqueParticipants.persist();
+        verify(participantSketchMapper, times(3)).insert(any());
+        uniqueParticipants.registered("HR Department", LocalDateTime.of(2030, 5, 20, 10, 0), "carol@example.com");
+        uniqueParticipants.persist();
+        verify(participantSketchMapper, times(4)).insert(any());
+        assertCounts(uniqueParticipants.count("HR Department", YearMonth.of(2030, 5), YearMonth.of(2030, 5)), 2L, 2L);
+    }
+
+    @Test
+    public void testLoadsSavedSketchesAndKeepsRegistrationsMadeWhileLoading() {
+        HyperLogLog saved = new HyperLogLog();
+        saved.add("alice@example.com");
+        saved.add("bob@example.com");
+        doAnswer(invocation -> {
+            uniqueParticipants.registered("Tech Community", LocalDateTime.of(2030, 5, 1, 10, 0), "bob@example.com");
+            uniqueParticipants.registered("Tech Community", LocalDateTime.of(2030, 5, 1, 10, 0), "carol@example.com");
+            ResultHandler<ParticipantSketch> handler = invocation.getArgument(0);
+            deliver(handler, new ParticipantSketch("Tech Community", "2030-05", saved.toBytes()));
+            return null;
+        }).when(participantSketchMapper).scanAll(any());
+
+        uniqueParticipants.persist();
+
+        verify(participantMapper, never()).scanMonthlyParticipants(any());
+        assertCounts(uniqueParticipants.count("Tech Community", YearMonth.of(2030, 5), YearMonth.of(2030, 5)), 3L, 3L);
+
+        ArgumentCaptor<ParticipantSketch> sketch = ArgumentCaptor.forClass(ParticipantSketch.class);
+        uniqueParticipants.persist();
+        verify(participantSketchMapper).insert(sketch.capture());
+        assertThat(HyperLogLog.fromBytes(sketch.getValue().getRegisters()).estimate()).isEqualTo(3L);
+    }
+
+    @Test
+    public void testSaveMergesWithSketchSavedByAnotherInstance() {
+        uniqueParticipants.persist();
+        uniqueParticipants.registered("Tech Community", LocalDateTime.of(2030, 5, 1, 10, 0), "alice@example.com");
+
+        // Another instance saved its own registrations since this one loaded
+        HyperLogLog other = new HyperLogLog();
+        other.add("dave@example.com");
+        other.add("erin@example.com");
+        when(participantSketchMapper.findForUpdate("Tech Community", "2030-05"))
+                .thenReturn(new ParticipantSketch("Tech Community", "2030-05", other.toBytes()));
+
+        uniqueParticipants.persist();
+
+        ArgumentCaptor<ParticipantSketch> sketch = ArgumentCaptor.forClass(ParticipantSketch.class);
+        verify(participantSketchMapper).update(sketch.capture());
+        verify(participantSketchMapper, never()).insert(any());
+        assertThat(HyperLogLog.fromBytes(sketch.getValue().getRegisters()).estimate()).isEqualTo(3L);
+        assertCounts(uniqueParticipants.count("Tech Community", YearMonth.of(2030, 5), YearMonth.of(2030, 5)), 3L, 3L);
+        assertCounts(uniqueParticipants.count(null, YearMonth.of(2030, 5), YearMonth.of(2030, 5)), 3L, 3L);
+    }
+
+    private static void assertCounts(List<UniqueParticipantsResponse.MonthCount> counts, Long... expected) {
+        assertThat(counts).extracting(UniqueParticipantsResponse.MonthCount::getUniqueParticipants)
+                .containsExactly(expected);
+        assertThat(counts.get(counts.size() - 1).getMonth()).isNull();
+    }
+
+    private static <T> void deliver(ResultHandler<T> handler, T row) {
+        DefaultResultContext<T> context = new DefaultResultContext<>();
+        context.nextResultObject(row);
+        handler.handleResult(context);
+    }
+}
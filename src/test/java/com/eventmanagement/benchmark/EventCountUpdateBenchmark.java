@@ -0,0 +1,91 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.mapper.EventMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Event Count Update Benchmark
+ *
+ * Measures a count-only update through the full-row update statement against the
+ * dirty-field update statement: latency, bytes the client sends and redo generated.
+ * Byte and redo figures come from V$MYSTAT, so the test user needs SELECT on
+ * V_$MYSTAT and V_$STATNAME.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=EventCountUpdateBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class EventCountUpdateBenchmark {
+
+    private static final int ITERATIONS = 1000;
+    private static final int DESCRIPTION_LENGTH = 32 * 1024;
+
+    private static final String SESSION_STAT_SQL =
+            "SELECT s.value FROM v$mystat s JOIN v$statname n ON n.statistic# = s.statistic# WHERE n.name = ?";
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void compareFullRowAndDirtyFieldUpdates() {
+        Event event = new Event("Update Benchmark", "x".repeat(DESCRIPTION_LENGTH),
+                LocalDateTime.of(2030, 2, 1, 10, 0), LocalDateTime.of(2030, 2, 1, 12, 0),
+                "Benchmark Hall", "Benchmark Organizer", ITERATIONS * 2);
+        eventMapper.insert(event);
+
+        try {
+            measure("full row (update)", event.getEventId(), eventMapper::update);
+            measure("dirty fields (updateDirty)", event.getEventId(), eventMapper::updateDirty);
+        } finally {
+            eventMapper.deleteById(event.getEventId());
+        }
+    }
+
+    private void measure(String label, Long eventId, Consumer<Event> update) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Event loaded = eventMapper.findById(eventId);
+
+            long bytesBefore = sessionStat("bytes received via SQL*Net from client");
+            long redoBefore = sessionStat("redo size");
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                loaded.setCurrentParticipants(i + 1);
+                update.accept(loaded);
+                loaded.clearDirtyFields();
+            }
+            long elapsed = System.nanoTime() - startedAt;
+            long bytes = sessionStat("bytes received via SQL*Net from client") - bytesBefore;
+            long redo = sessionStat("redo size") - redoBefore;
+
+            System.out.printf("%-28s avg %.3f ms, %,d bytes sent/update, %,d bytes redo/update%n",
+                    label, elapsed / 1e6 / ITERATIONS, bytes / ITERATIONS, redo / ITERATIONS);
+        });
+    }
+
+    private long sessionStat(String name) {
+        Long value = jdbcTemplate.queryForObject(SESSION_STAT_SQL, Long.class, name);
+        return value != null ? value : 0L;
+    }
+}
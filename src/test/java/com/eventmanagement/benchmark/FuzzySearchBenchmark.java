@@ -0,0 +1,104 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.dto.EventSearchRequest;
+import com.eventmanagement.dto.EventSearchResult;
+import com.eventmanagement.search.EventSearchIndex;
+import com.eventmanagement.service.EventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fuzzy Search Benchmark
+ *
+ * Indexes 200,000 events with 20,000 distinct organizers and reports the latency of
+ * misspelled organizer lookups in the search index alone and of the full fuzzy search.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=FuzzySearchBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class FuzzySearchBenchmark {
+
+    private static final int EVENTS = 200_000;
+    private static final int ORGANIZERS = 20_000;
+    private static final int QUERIES = 500;
+    // Organizers share most trigrams ("organizer", the Greek letter), so only close matches may pass
+    private static final double SIMILARITY = 0.75;
+    private static final String DESCRIPTION = "Fuzzy benchmark event";
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Organizers look like "Organizer Kappa 01234"
+        jdbcTemplate.update(
+                "INSERT INTO events (event_name, description, start_date_time, end_date_time, location, organizer, " +
+                "max_participants, current_participants, status, created_at, updated_at) " +
+                "SELECT 'Meetup ' || LEVEL, ?, " +
+                "TIMESTAMP '2020-01-01 10:00:00' + NUMTODSINTERVAL(LEVEL, 'MINUTE'), " +
+                "TIMESTAMP '2020-01-01 11:00:00' + NUMTODSINTERVAL(LEVEL, 'MINUTE'), " +
+                "'Hall ' || MOD(LEVEL, 50), " +
+                "'Organizer ' || DECODE(MOD(LEVEL, 4), 0, 'Kappa', 1, 'Sigma', 2, 'Delta', 'Omega') " +
+                "|| ' ' || LPAD(MOD(LEVEL, ?), 5, '0'), 100, 0, 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+                "FROM dual CONNECT BY LEVEL <= ?",
+                DESCRIPTION, ORGANIZERS, EVENTS);
+        eventSearchIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM events WHERE description = ?", DESCRIPTION);
+        eventSearchIndex.rebuild();
+    }
+
+    @Test
+    public void measureFuzzyOrganizerSearch() {
+        long[] indexOnly = new long[QUERIES];
+        long[] search = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            int n = i * (ORGANIZERS / QUERIES);
+            // One dropped letter and one swapped letter
+            String organizer = String.format("Organiser %s %05d",
+                    new String[] {"Kapa", "Sigam", "Detla", "Omga"}[n % 4], n);
+
+            long startedAt = System.nanoTime();
+            assertThat(eventSearchIndex.fuzzyMatch(null, organizer, null, SIMILARITY).isEmpty()).isFalse();
+            indexOnly[i] = System.nanoTime() - startedAt;
+
+            EventSearchRequest request = new EventSearchRequest();
+            request.setOrganizer(organizer);
+            request.setFuzzy(true);
+            request.setSimilarity(SIMILARITY);
+            startedAt = System.nanoTime();
+            EventSearchResult result = eventService.searchEvents(request);
+            search[i] = System.nanoTime() - startedAt;
+            assertThat(result.getTotalElements()).isGreaterThanOrEqualTo(EVENTS / ORGANIZERS);
+        }
+        Arrays.sort(indexOnly);
+        Arrays.sort(search);
+        System.out.printf("index only:   p50=%6.3f ms, p99=%6.3f ms%n", indexOnly[QUERIES / 2] / 1e6, indexOnly[QUERIES * 99 / 100] / 1e6);
+        System.out.printf("fuzzy search: p50=%6.3f ms, p99=%6.3f ms%n", search[QUERIES / 2] / 1e6, search[QUERIES * 99 / 100] / 1e6);
+    }
+}
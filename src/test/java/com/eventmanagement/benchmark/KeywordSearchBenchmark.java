@@ -0,0 +1,129 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.dto.EventSearchRequest;
+import com.eventmanagement.dto.EventSearchResult;
+import com.eventmanagement.search.EventSearchIndex;
+import com.eventmanagement.service.EventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keyword Search Benchmark
+ *
+ * Searches 1,000,000 events by keyword, each keyword matching 100 of them, and reports
+ * the latency of the in-memory search index against LIKE matching in SQL. Also searches
+ * by a status every event has, which the index leaves to SQL rather than staging a
+ * million candidates, and reports it against the same search with the index disabled.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=KeywordSearchBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class KeywordSearchBenchmark {
+
+    private static final int EVENTS = 1_000_000;
+    private static final int KEYWORDS = 10_000;
+    private static final int QUERIES = 200;
+    private static final String ORGANIZER = "Keyword Benchmark";
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update(
+                "INSERT INTO events (event_name, description, start_date_time, end_date_time, location, organizer, " +
+                "max_participants, current_participants, status, created_at, updated_at) " +
+                "SELECT 'Session ' || LEVEL, 'Talk on topic kw' || LPAD(MOD(LEVEL, ?), 4, '0') || ' and more', " +
+                "TIMESTAMP '2020-01-01 10:00:00' + NUMTODSINTERVAL(LEVEL, 'MINUTE'), " +
+                "TIMESTAMP '2020-01-01 11:00:00' + NUMTODSINTERVAL(LEVEL, 'MINUTE'), " +
+                "'Hall ' || MOD(LEVEL, 50), ?, 100, 0, 'COMPLETED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+                "FROM dual CONNECT BY LEVEL <= ?",
+                KEYWORDS, ORGANIZER, EVENTS);
+
+        long startedAt = System.nanoTime();
+        eventSearchIndex.rebuild();
+        System.out.printf("index rebuild: %d events in %.0f ms%n",
+                eventSearchIndex.size(), (System.nanoTime() - startedAt) / 1e6);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(eventSearchIndex, "enabled", true);
+        jdbcTemplate.update("DELETE FROM events WHERE organizer = ?", ORGANIZER);
+        eventSearchIndex.rebuild();
+    }
+
+    @Test
+    public void compareIndexAndLikeSearch() {
+        long[] indexed = run(KeywordSearchBenchmark::keywordSearch, EVENTS / KEYWORDS);
+        ReflectionTestUtils.setField(eventSearchIndex, "enabled", false);
+        long[] like = run(KeywordSearchBenchmark::keywordSearch, EVENTS / KEYWORDS);
+
+        System.out.printf("index: p50=%8.2f ms, p99=%8.2f ms%n", indexed[QUERIES / 2] / 1e6, indexed[QUERIES * 99 / 100] / 1e6);
+        System.out.printf("LIKE:  p50=%8.2f ms, p99=%8.2f ms%n", like[QUERIES / 2] / 1e6, like[QUERIES * 99 / 100] / 1e6);
+    }
+
+    @Test
+    public void compareBroadStatusFilter() {
+        int completed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM events WHERE status = 'COMPLETED'", Integer.class);
+        long[] indexed = run(i -> statusSearch(), completed);
+        ReflectionTestUtils.setField(eventSearchIndex, "enabled", false);
+        long[] sql = run(i -> statusSearch(), completed);
+
+        System.out.printf("status, index: p50=%8.2f ms, p99=%8.2f ms%n", indexed[QUERIES / 2] / 1e6, indexed[QUERIES * 99 / 100] / 1e6);
+        System.out.printf("status, SQL:   p50=%8.2f ms, p99=%8.2f ms%n", sql[QUERIES / 2] / 1e6, sql[QUERIES * 99 / 100] / 1e6);
+    }
+
+    private static EventSearchRequest keywordSearch(int i) {
+        EventSearchRequest request = new EventSearchRequest();
+        request.setKeyword(String.format("kw%04d", i * (KEYWORDS / QUERIES)));
+        request.setSize(20);
+        return request;
+    }
+
+    private static EventSearchRequest statusSearch() {
+        EventSearchRequest request = new EventSearchRequest();
+        request.setStatus("COMPLETED");
+        request.setSize(20);
+        return request;
+    }
+
+    private long[] run(IntFunction<EventSearchRequest> requests, int expectedTotal) {
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            EventSearchRequest request = requests.apply(i);
+
+            long startedAt = System.nanoTime();
+            EventSearchResult result = eventService.searchEvents(request);
+            latencies[i] = System.nanoTime() - startedAt;
+            assertThat(result.getTotalElements()).isEqualTo(expectedTotal);
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+}
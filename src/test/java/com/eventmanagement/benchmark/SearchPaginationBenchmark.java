@@ -0,0 +1,104 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.dto.EventSearchRequest;
+import com.eventmanagement.dto.EventSearchResult;
+import com.eventmanagement.service.EventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search Pagination Benchmark
+ *
+ * Pages through 100,000 events ten at a time and reports the latency of OFFSET
+ * pagination against keyset (cursor) pagination at pages 1 to 10,000.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=SearchPaginationBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class SearchPaginationBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int PAGES = 10_000;
+    private static final String ORGANIZER = "Pagination Benchmark";
+    private static final Set<Integer> REPORTED_PAGES = Set.of(1, 10, 100, 1_000, 5_000, 10_000);
+    private static final int SAMPLES = 5;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update(
+                "INSERT INTO events (event_name, description, start_date_time, end_date_time, location, organizer, " +
+                "max_participants, current_participants, status, created_at, updated_at) " +
+                "SELECT 'Archive Event ' || LEVEL, 'Archived event', " +
+                "TIMESTAMP '2020-01-01 10:00:00' + NUMTODSINTERVAL(LEVEL, 'HOUR'), " +
+                "TIMESTAMP '2020-01-01 12:00:00' + NUMTODSINTERVAL(LEVEL, 'HOUR'), " +
+                "'Hall ' || MOD(LEVEL, 50), ?, 100, 0, 'COMPLETED', " +
+                "TIMESTAMP '2020-01-01 00:00:00' + NUMTODSINTERVAL(MOD(LEVEL, 1000), 'MINUTE'), CURRENT_TIMESTAMP " +
+                "FROM dual CONNECT BY LEVEL <= ?",
+                ORGANIZER, PAGE_SIZE * PAGES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM events WHERE organizer = ?", ORGANIZER);
+    }
+
+    @Test
+    public void compareOffsetAndKeysetPagination() {
+        for (String sortBy : new String[] {"createdAt", "eventName", "startDateTime"}) {
+            EventSearchRequest request = newRequest(sortBy);
+            for (int page = 1; page <= PAGES; page++) {
+                long startedAt = System.nanoTime();
+                EventSearchResult result = eventService.searchEvents(request);
+                long keysetNanos = System.nanoTime() - startedAt;
+                assertThat(result.getEvents()).hasSize(PAGE_SIZE);
+
+                if (REPORTED_PAGES.contains(page)) {
+                    EventSearchRequest offsetRequest = newRequest(sortBy);
+                    offsetRequest.setPage(page - 1);
+                    long offsetNanos = Long.MAX_VALUE;
+                    for (int i = 0; i < SAMPLES; i++) {
+                        long offsetStartedAt = System.nanoTime();
+                        EventSearchResult offsetResult = eventService.searchEvents(offsetRequest);
+                        offsetNanos = Math.min(offsetNanos, System.nanoTime() - offsetStartedAt);
+                        assertThat(offsetResult.getEvents().get(0).getEventId())
+                                .isEqualTo(result.getEvents().get(0).getEventId());
+                    }
+                    System.out.printf("sortBy=%-13s page=%6d: offset %8.2f ms, keyset %8.2f ms%n",
+                            sortBy, page, offsetNanos / 1e6, keysetNanos / 1e6);
+                }
+                request.setCursor(result.getNextCursor());
+            }
+        }
+    }
+
+    private static EventSearchRequest newRequest(String sortBy) {
+        // No filters, so both modes walk the sort index rather than scanning matches
+        EventSearchRequest request = new EventSearchRequest();
+        request.setSize(PAGE_SIZE);
+        request.setSortBy(sortBy);
+        request.setSortOrder("asc");
+        return request;
+    }
+}
@@ -0,0 +1,162 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.dto.ParticipantRequest;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Participant;
+import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.mapper.ParticipantMapper;
+import com.eventmanagement.service.ParticipantService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seat Claim Benchmark
+ *
+ * Fires 2,000 parallel registrations at one event with 100 seats, through the conditional
+ * seat claim and through the previous check-then-insert sequence, and reports the
+ * throughput of each along with how many seats each booked.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=SeatClaimBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class SeatClaimBenchmark {
+
+    private static final int CAPACITY = 100;
+    private static final int REGISTRATIONS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ParticipantService participantService;
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @Autowired
+    private ParticipantMapper participantMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> createdEventIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Long eventId : createdEventIds) {
+            participantMapper.deleteByEventId(eventId);
+            eventMapper.deleteById(eventId);
+        }
+        createdEventIds.clear();
+    }
+
+    @Test
+    public void compareSeatClaimAndCheckThenInsert() throws Exception {
+        Long eventId = insertTestEvent();
+        AtomicInteger registered = new AtomicInteger();
+        long elapsedNanos = runInParallel(i -> {
+            try {
+                participantService.registerParticipant(new ParticipantRequest(
+                        eventId, "Load Test " + i, "load" + i + "@example.com", null));
+                registered.incrementAndGet();
+            } catch (RuntimeException e) {
+                // Rejected registration
+            }
+        });
+
+        Long legacyEventId = insertTestEvent();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long legacyElapsedNanos = runInParallel(i -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> legacyRegister(legacyEventId, i));
+            } catch (RuntimeException e) {
+                // Rejected registration
+            }
+        });
+        int legacyRegistered = participantMapper.countByEventId(legacyEventId);
+
+        System.out.printf("Seat claim: %d registrations in %d ms (%.0f/s), %d booked of %d%n",
+                REGISTRATIONS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                REGISTRATIONS / (elapsedNanos / 1e9), registered.get(), CAPACITY);
+        System.out.printf("Check-then-insert: %d registrations in %d ms (%.0f/s), %d booked of %d%n",
+                REGISTRATIONS, TimeUnit.NANOSECONDS.toMillis(legacyElapsedNanos),
+                REGISTRATIONS / (legacyElapsedNanos / 1e9), legacyRegistered, CAPACITY);
+    }
+
+    /**
+     * Previous registration sequence: count, insert, recount, read and full-row update
+     */
+    private void legacyRegister(Long eventId, int i) {
+        Event event = eventMapper.findById(eventId);
+        if (participantMapper.countByEventId(eventId) >= event.getMaxParticipants()) {
+            throw new RuntimeException("Event is fully booked");
+        }
+        participantMapper.insert(new Participant(eventId, "Legacy " + i, "legacy" + i + "@example.com", null));
+        int currentCount = participantMapper.countByEventId(eventId);
+        Event current = eventMapper.findById(eventId);
+        current.setCurrentParticipants(currentCount);
+        eventMapper.update(current);
+    }
+
+    private long runInParallel(IntConsumer registration) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(REGISTRATIONS);
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            int index = i;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    registration.accept(index);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        assertThat(done.await(5, TimeUnit.MINUTES)).isTrue();
+        long elapsed = System.nanoTime() - startedAt;
+        executor.shutdown();
+        return elapsed;
+    }
+
+    private Long insertTestEvent() {
+        Event event = new Event(
+            "Seat Claim Benchmark " + System.nanoTime(),
+            "Seat Claim Benchmark Description",
+            LocalDateTime.of(2030, 2, 1, 10, 0),
+            LocalDateTime.of(2030, 2, 1, 12, 0),
+            "Seat Claim Benchmark Location",
+            "Seat Claim Benchmark Organizer",
+            CAPACITY
+        );
+        eventMapper.insert(event);
+        createdEventIds.add(event.getEventId());
+        return event.getEventId();
+    }
+}
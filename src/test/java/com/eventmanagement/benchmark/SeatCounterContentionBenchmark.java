@@ -0,0 +1,121 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.dto.ParticipantRequest;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.mapper.ParticipantMapper;
+import com.eventmanagement.service.EventService;
+import com.eventmanagement.service.ParticipantService;
+import com.eventmanagement.service.SeatCounterService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seat Counter Contention Benchmark
+ *
+ * Compares registration throughput and latency on one hot event with a single
+ * events-row counter against 16 seat counter slots, under 64 concurrent registrants.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=SeatCounterContentionBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.hikari.maximum-pool-size=64")
+public class SeatCounterContentionBenchmark {
+
+    private static final int REGISTRANTS = 64;
+    private static final int REGISTRATIONS_PER_REGISTRANT = 100;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ParticipantService participantService;
+
+    @Autowired
+    private SeatCounterService seatCounterService;
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @Autowired
+    private ParticipantMapper participantMapper;
+
+    @Test
+    public void compareSingleCounterWithSixteenSlots() throws Exception {
+        run(1);
+        run(16);
+    }
+
+    private void run(int slots) throws Exception {
+        int total = REGISTRANTS * REGISTRATIONS_PER_REGISTRANT;
+        Event event = new Event("Contention Benchmark " + slots, "Seat counter benchmark",
+                LocalDateTime.of(2030, 2, 1, 10, 0), LocalDateTime.of(2030, 2, 1, 12, 0),
+                "Benchmark Hall", "Benchmark Organizer", total);
+        eventMapper.insert(event);
+        Long eventId = event.getEventId();
+
+        try {
+            eventService.configureSeatCounterSlots(eventId, slots);
+
+            long[] latencies = new long[total];
+            ExecutorService executor = Executors.newFixedThreadPool(REGISTRANTS);
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(REGISTRANTS);
+            for (int r = 0; r < REGISTRANTS; r++) {
+                int registrant = r;
+                executor.submit(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < REGISTRATIONS_PER_REGISTRANT; i++) {
+                            int n = registrant * REGISTRATIONS_PER_REGISTRANT + i;
+                            long begin = System.nanoTime();
+                            participantService.registerParticipant(new ParticipantRequest(
+                                    eventId, "Registrant " + n, "bench" + n + "@example.com", null));
+                            latencies[n] = System.nanoTime() - begin;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            assertThat(done.await(10, TimeUnit.MINUTES)).isTrue();
+            long elapsed = System.nanoTime() - startedAt;
+            executor.shutdown();
+
+            seatCounterService.foldCounters();
+            assertThat(participantMapper.countByEventId(eventId)).isEqualTo(total);
+            assertThat(eventMapper.findById(eventId).getCurrentParticipants()).isEqualTo(total);
+
+            Arrays.sort(latencies);
+            System.out.printf("slots=%2d registrants=%d: %6.0f registrations/s, p50=%.2f ms, p99=%.2f ms%n",
+                    slots, REGISTRANTS, total / (elapsed / 1e9),
+                    latencies[total / 2] / 1e6, latencies[(int) (total * 0.99)] / 1e6);
+        } finally {
+            participantMapper.deleteByEventId(eventId);
+            eventMapper.deleteById(eventId);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.service.EventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statistics Benchmark
+ *
+ * Loads 500,000 events and compares the one-pass statistics query against the four
+ * COUNT queries it replaced (countAll plus countByStatus for each status), reporting
+ * p50 and p99 latency of each after a warm-up.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=StatisticsBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class StatisticsBenchmark {
+
+    private static final int EVENTS = 500_000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+    private static final String DESCRIPTION = "Statistics benchmark event";
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update(
+                "INSERT INTO events (event_name, description, start_date_time, end_date_time, location, organizer, " +
+                "max_participants, current_participants, status, created_at, updated_at) " +
+                "SELECT 'Meetup ' || LEVEL, ?, " +
+                "TIMESTAMP '2020-01-01 10:00:00' + NUMTODSINTERVAL(LEVEL, 'MINUTE'), " +
+                "TIMESTAMP '2020-01-01 11:00:00' + NUMTODSINTERVAL(LEVEL, 'MINUTE'), " +
+                "'Hall ' || MOD(LEVEL, 50), 'Organizer ' || MOD(LEVEL, 500), 100, MOD(LEVEL, 101), " +
+                "DECODE(MOD(LEVEL, 10), 0, 'CANCELLED', 1, 'COMPLETED', 2, 'COMPLETED', 'ACTIVE'), " +
+                "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+                "FROM dual CONNECT BY LEVEL <= ?",
+                DESCRIPTION, EVENTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM events WHERE description = ?", DESCRIPTION);
+    }
+
+    @Test
+    public void compareOneScanWithFourCounts() {
+        EventService.EventStatistics oneScan = eventMapper.getStatistics();
+        EventService.EventStatistics fourCounts = countSeparately();
+        assertThat(oneScan.getTotalEvents()).isEqualTo(fourCounts.getTotalEvents());
+        assertThat(oneScan.getActiveEvents()).isEqualTo(fourCounts.getActiveEvents());
+        assertThat(oneScan.getCompletedEvents()).isEqualTo(fourCounts.getCompletedEvents());
+        assertThat(oneScan.getCancelledEvents()).isEqualTo(fourCounts.getCancelledEvents());
+
+        report("one scan (getStatistics)", measure(eventMapper::getStatistics));
+        report("four counts", measure(this::countSeparately));
+    }
+
+    private EventService.EventStatistics countSeparately() {
+        return new EventService.EventStatistics(eventMapper.countAll(), eventMapper.countByStatus("ACTIVE"),
+                eventMapper.countByStatus("COMPLETED"), eventMapper.countByStatus("CANCELLED"));
+    }
+
+    private static long[] measure(Supplier<EventService.EventStatistics> statistics) {
+        for (int i = 0; i < WARMUP; i++) {
+            statistics.get();
+        }
+        long[] elapsed = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long startedAt = System.nanoTime();
+            statistics.get();
+            elapsed[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(elapsed);
+        return elapsed;
+    }
+
+    private static void report(String label, long[] elapsed) {
+        System.out.printf("%-26s p50=%7.3f ms, p99=%7.3f ms%n",
+                label, elapsed[ITERATIONS / 2] / 1e6, elapsed[ITERATIONS * 99 / 100] / 1e6);
+    }
+}
@@ -0,0 +1,127 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.entity.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Event Cache Test
+ */
+public class EventCacheTest {
+
+    private EventCache eventCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventCache = new EventCache();
+        ReflectionTestUtils.setField(eventCache, "maxWeightBytes", 1_000_000L);
+        ReflectionTestUtils.setField(eventCache, "expireAfterWriteSeconds", 60L);
+        ReflectionTestUtils.setField(eventCache, "meterRegistry", meterRegistry);
+        eventCache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testReadThroughLoadsOnce() {
+        assertThat(eventCache.get(1L, this::load).getEventName()).isEqualTo("Event 1");
+        assertThat(eventCache.get(1L, this::load).getEventName()).isEqualTo("Event 1");
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", EventCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void testMissingEventIsNotCached() {
+        assertThat(eventCache.get(1L, id -> { loads.incrementAndGet(); return null; })).isNull();
+        assertThat(eventCache.get(1L, this::load)).isNotNull();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testInvalidateAgainAfterTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        eventCache.get(1L, this::load);
+
+        eventCache.invalidate(1L);
+        // A concurrent reader re-populates the entry before the write commits
+        eventCache.get(1L, this::load);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        eventCache.get(1L, this::load);
+
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testSeatCountChangeKeepsEntryAndAdjustsAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        Event cached = eventCache.get(1L, this::load);
+
+        eventCache.adjustParticipants(1L, 1);
+        assertThat(eventCache.get(1L, this::load).getCurrentParticipants()).isEqualTo(0);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+
+        Event adjusted = eventCache.get(1L, this::load);
+        assertThat(adjusted.getCurrentParticipants()).isEqualTo(1);
+        assertThat(adjusted.getEventName()).isEqualTo("Event 1");
+        // The shared instance is replaced, not modified
+        assertThat(cached.getCurrentParticipants()).isEqualTo(0);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSeatCountChangesDoNotExtendExpiry() {
+        AtomicLong nanos = new AtomicLong();
+        ReflectionTestUtils.setField(eventCache, "ticker", (Ticker) nanos::get);
+        eventCache.init();
+        eventCache.get(1L, this::load);
+
+        // A hot event has its count adjusted every 30 seconds, within the 60 second TTL
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        eventCache.adjustParticipants(1L, 1);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(25));
+        eventCache.adjustParticipants(1L, 1);
+        assertThat(eventCache.get(1L, this::load).getCurrentParticipants()).isEqualTo(2);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertThat(eventCache.get(1L, this::load).getCurrentParticipants()).isEqualTo(0);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private Event load(Long eventId) {
+        loads.incrementAndGet();
+        Event event = new Event("Event " + eventId, "Description", LocalDateTime.of(2030, 1, 1, 10, 0),
+                LocalDateTime.of(2030, 1, 1, 12, 0), "Location", "Organizer", 10);
+        event.setEventId(eventId);
+        return event;
+    }
+}
@@ -0,0 +1,48 @@
+package com.eventmanagement.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Negative Cache Test
+ */
+public class NegativeCacheTest {
+
+    @Test
+    public void testMissingIdIsRememberedUntilCreated() {
+        NegativeCache cache = new NegativeCache("test", Duration.ofSeconds(30), 100, null, null);
+
+        assertThat(cache.isMissing(42L)).isFalse();
+        cache.markMissing(42L);
+        assertThat(cache.isMissing(42L)).isTrue();
+
+        cache.markCreated(42L);
+        assertThat(cache.isMissing(42L)).isFalse();
+    }
+
+    @Test
+    public void testKnownIdFilterRejectsOnlyScannedRange() {
+        KnownIdFilter filter = new KnownIdFilter(10_000, 0.01);
+        NegativeCache cache = new NegativeCache("test", Duration.ofSeconds(30), 100, filter, null);
+
+        // Before the first scan every ID may exist
+        assertThat(cache.isMissing(3L)).isFalse();
+
+        // Even IDs exist
+        filter.rebuild(ids -> LongStream.rangeClosed(1, 10_000).filter(id -> id % 2 == 0).forEach(ids));
+
+        long rejected = LongStream.rangeClosed(1, 10_000).filter(id -> id % 2 == 1).filter(cache::isMissing).count();
+        assertThat(LongStream.rangeClosed(1, 10_000).filter(id -> id % 2 == 0).noneMatch(cache::isMissing)).isTrue();
+        assertThat(rejected).isGreaterThan(4_800);
+
+        // Above the scanned range the filter cannot answer
+        assertThat(cache.isMissing(10_001L)).isFalse();
+
+        cache.markCreated(3L);
+        assertThat(cache.isMissing(3L)).isFalse();
+    }
+}
@@ -0,0 +1,68 @@
+package com.eventmanagement.config;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Query Timeout Interceptor Test
+ */
+public class QueryTimeoutInterceptorTest {
+
+    private final MyBatisConfig.QueryTimeoutInterceptor interceptor =
+            new MyBatisConfig.QueryTimeoutInterceptor(MyBatisConfig.SEARCH_COUNT_STATEMENT, 5);
+
+    @Test
+    public void testTimeoutIsSetOnlyOnTheSearchCount() throws Throwable {
+        Statement count = mock(Statement.class);
+        Statement other = mock(Statement.class);
+
+        interceptor.intercept(prepare(MyBatisConfig.SEARCH_COUNT_STATEMENT, count));
+        interceptor.intercept(prepare("com.eventmanagement.mapper.EventMapper.searchEvents", other));
+
+        verify(count).setQueryTimeout(5);
+        verify(other, never()).setQueryTimeout(5);
+    }
+
+    private static Invocation prepare(String statementId, Statement statement) throws NoSuchMethodException {
+        MappedStatement mappedStatement = new MappedStatement.Builder(new Configuration(), statementId,
+                parameterObject -> null, SqlCommandType.SELECT).build();
+        return new Invocation(new Handler(mappedStatement, statement),
+                Handler.class.getMethod("prepare"), new Object[0]);
+    }
+
+    /**
+     * Stands in for RoutingStatementHandler, which keeps the real handler in delegate
+     */
+    public static class Handler {
+
+        private final Delegate delegate;
+        private final Statement statement;
+
+        Handler(MappedStatement mappedStatement, Statement statement) {
+            this.delegate = new Delegate(mappedStatement);
+            this.statement = statement;
+        }
+
+        public Statement prepare() {
+            return statement;
+        }
+    }
+
+    static class Delegate {
+
+        private final MappedStatement mappedStatement;
+
+        Delegate(MappedStatement mappedStatement) {
+            this.mappedStatement = mappedStatement;
+        }
+    }
+}
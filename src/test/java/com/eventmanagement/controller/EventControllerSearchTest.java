@@ -199,6 +199,23 @@ class EventControllerSearchTest {
                 .andExpect(jsonPath("$.success").value(true));
     }
 
+    @Test
+    void testSearchEventsWithoutTotal() throws Exception {
+        // Given
+        searchRequest.setTotalMode(EventSearchRequest.TotalMode.NONE);
+        when(eventService.searchEvents(any(EventSearchRequest.class)))
+                .thenReturn(EventSearchResult.withoutTotal(Collections.emptyList(), 0, 10, true));
+
+        // When & Then
+        mockMvc.perform(post("/events/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.totalAccuracy").value("NONE"));
+    }
+
     @Test
     void testSearchEventsServiceException() throws Exception {
         // Given
@@ -2,12 +2,17 @@ package com.eventmanagement.controller;
 
 import com.eventmanagement.dto.EventRequest;
 import com.eventmanagement.dto.EventResponse;
+import com.eventmanagement.dto.RegistrationTimeSeriesResponse;
+import com.eventmanagement.dto.SuggestionResponse;
+import com.eventmanagement.dto.TrendingEventResponse;
+import com.eventmanagement.dto.VenueConflictResponse;
 import com.eventmanagement.service.EventService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -17,6 +22,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -75,6 +81,7 @@ public class EventControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.eventId").value(1))
                 .andExpect(jsonPath("$.data.eventName").value("Test Event"));
+        verify(eventService).recordEventView(1L);
     }
 
     @Test
@@ -137,6 +144,18 @@ public class EventControllerTest {
                 .andExpect(jsonPath("$.success").value(true));
     }
 
+    @Test
+    public void testDeleteEventWithStaleVersion() throws Exception {
+        // Given
+        when(eventService.deleteEvent(1L, 3L))
+            .thenThrow(new OptimisticLockingFailureException("Event 1 was modified by another request"));
+
+        // When & Then
+        mockMvc.perform(delete("/events/1").param("version", "3"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
     @Test
     public void testGetEventStatistics() throws Exception {
         // Given
@@ -151,4 +170,81 @@ public class EventControllerTest {
                 .andExpect(jsonPath("$.data.totalEvents").value(100))
                 .andExpect(jsonPath("$.data.activeEvents").value(45));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSuggest() throws Exception {
+        // Given
+        when(eventService.suggest("organizer", "Tech", 10)).thenReturn(List.of(
+                new SuggestionResponse("Tech Community", 12),
+                new SuggestionResponse("Tech Corp", 3)));
+
+        // When & Then
+        mockMvc.perform(get("/events/suggest").param("field", "organizer").param("prefix", "Tech"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].value").value("Tech Community"))
+                .andExpect(jsonPath("$.data[0].eventCount").value(12))
+                .andExpect(jsonPath("$.data[1].value").value("Tech Corp"));
+    }
+
+    @Test
+    public void testSuggestWithInvalidField() throws Exception {
+        // Given
+        when(eventService.suggest(eq("status"), any(), eq(10)))
+                .thenThrow(new IllegalArgumentException("Field must be 'organizer' or 'location'"));
+
+        // When & Then
+        mockMvc.perform(get("/events/suggest").param("field", "status").param("prefix", "A"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    public void testGetVenueConflicts() throws Exception {
+        // Given
+        when(eventService.getVenueConflicts()).thenReturn(List.of(new VenueConflictResponse("Room A", 1L, 2L,
+                LocalDateTime.of(2030, 5, 1, 11, 0), LocalDateTime.of(2030, 5, 1, 12, 0))));
+
+        // When & Then
+        mockMvc.perform(get("/events/conflicts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].location").value("Room A"))
+                .andExpect(jsonPath("$.data[0].eventId").value(1))
+                .andExpect(jsonPath("$.data[0].conflictingEventId").value(2));
+    }
+
+    @Test
+    public void testGetRegistrationTimeSeries() throws Exception {
+        // Given
+        when(eventService.getRegistrationTimeSeries(1L, "HOUR", 2)).thenReturn(new RegistrationTimeSeriesResponse(1L, "HOUR",
+                List.of(new RegistrationTimeSeriesResponse.Point(LocalDateTime.of(2030, 5, 1, 9, 0), 3),
+                        new RegistrationTimeSeriesResponse.Point(LocalDateTime.of(2030, 5, 1, 10, 0), 5))));
+        when(eventService.getRegistrationTimeSeries(999L, "HOUR", 24)).thenReturn(null);
+
+        // When & Then
+        mockMvc.perform(get("/events/1/registrations/timeseries").param("resolution", "HOUR").param("buckets", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.resolution").value("HOUR"))
+                .andExpect(jsonPath("$.data.points[1].registrations").value(5));
+        mockMvc.perform(get("/events/999/registrations/timeseries"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testGetTrendingEvents() throws Exception {
+        // Given
+        when(eventService.getTrendingEvents(10)).thenReturn(List.of(
+                new TrendingEventResponse(2L, "Java Meetup", LocalDateTime.of(2030, 5, 1, 10, 0), "Room A", 12.5, 0.0)));
+        when(eventService.getTrendingEvents(51))
+                .thenThrow(new IllegalArgumentException("Limit must be between 1 and 50"));
+
+        // When & Then
+        mockMvc.perform(get("/events/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].eventId").value(2))
+                .andExpect(jsonPath("$.data[0].score").value(12.5));
+        mockMvc.perform(get("/events/trending").param("limit", "51"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -2,6 +2,7 @@ package com.eventmanagement.controller;
 
 import com.eventmanagement.dto.ParticipantRequest;
 import com.eventmanagement.dto.ParticipantResponse;
+import com.eventmanagement.dto.UniqueParticipantsResponse;
 import com.eventmanagement.service.ParticipantService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -187,4 +188,24 @@ public class ParticipantControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("Event not found: Event not found with ID: " + eventId));
     }
+
+    @Test
+    public void testGetUniqueParticipants() throws Exception {
+        // Given
+        when(participantService.getUniqueParticipants("Tech Community", "2030-04", "2030-05"))
+                .thenReturn(new UniqueParticipantsResponse("Tech Community", "2030-04", "2030-05", 1500, 0.01625,
+                        List.of(new UniqueParticipantsResponse.MonthCount("2030-04", 800),
+                                new UniqueParticipantsResponse.MonthCount("2030-05", 900))));
+        when(participantService.getUniqueParticipants(null, "2030-13", null))
+                .thenThrow(new IllegalArgumentException("Month must be in YYYY-MM format: 2030-13"));
+
+        // When & Then
+        mockMvc.perform(get("/participants/unique")
+                        .param("organizer", "Tech Community").param("from", "2030-04").param("to", "2030-05"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.uniqueParticipants").value(1500))
+                .andExpect(jsonPath("$.data.months[1].month").value("2030-05"));
+        mockMvc.perform(get("/participants/unique").param("from", "2030-13"))
+                .andExpect(status().isBadRequest());
+    }
 }
\ No newline at end of file
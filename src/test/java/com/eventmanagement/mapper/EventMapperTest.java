@@ -1,6 +1,8 @@
 package com.eventmanagement.mapper;
 
+import com.eventmanagement.dto.EventSearchRequest;
 import com.eventmanagement.entity.Event;
+import com.eventmanagement.service.EventService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
@@ -257,6 +259,51 @@ public class EventMapperTest {
         assertThat(count).isEqualTo(0);
     }
 
+    @Test
+    public void testGetStatisticsMatchesPerStatusCounts() {
+        Event activeEvent = createTestEvent("ACTIVE");
+        activeEvent.setCurrentParticipants(25);
+        Event insertedActive = insertTestEvent(activeEvent);
+        
+        try {
+            EventService.EventStatistics stats = eventMapper.getStatistics();
+            
+            assertThat(stats.getTotalEvents()).isEqualTo(eventMapper.countAll());
+            assertThat(stats.getActiveEvents()).isEqualTo(eventMapper.countByStatus("ACTIVE"));
+            assertThat(stats.getCompletedEvents()).isEqualTo(eventMapper.countByStatus("COMPLETED"));
+            assertThat(stats.getCancelledEvents()).isEqualTo(eventMapper.countByStatus("CANCELLED"));
+            assertThat(stats.getTotalParticipants()).isGreaterThanOrEqualTo(25);
+            assertThat(stats.getAverageFill()).isBetween(0.0, 1.0);
+        } finally {
+            if (insertedActive != null) eventMapper.deleteById(insertedActive.getEventId());
+        }
+    }
+
+    @Test
+    public void testIndexCandidatesAreRecheckedForStatusAndOverlap() {
+        // The index still lists the event as COMPLETED after another instance reopened it
+        Event insertedEvent = insertTestEvent(createTestEvent("ACTIVE"));
+        
+        try {
+            EventSearchRequest request = new EventSearchRequest();
+            request.setCandidateIds(List.of(insertedEvent.getEventId()));
+            request.setFiltersApplied(true);
+            request.setStatus("COMPLETED");
+            assertThat(eventMapper.searchEvents(request)).isEmpty();
+            
+            request.setStatus("ACTIVE");
+            request.setOverlapFrom(LocalDateTime.of(2025, 2, 1, 0, 0));
+            assertThat(eventMapper.searchEvents(request)).isEmpty();
+            
+            request.setOverlapFrom(LocalDateTime.of(2025, 1, 15, 11, 0));
+            assertThat(eventMapper.searchEvents(request))
+                    .extracting(Event::getEventId)
+                    .containsExactly(insertedEvent.getEventId());
+        } finally {
+            if (insertedEvent != null) eventMapper.deleteById(insertedEvent.getEventId());
+        }
+    }
+
     // Helper methods for creating test data
     private Event createTestEvent() {
         return createTestEvent("ACTIVE");
@@ -0,0 +1,30 @@
+package com.eventmanagement.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CJK Bigram Tokenizer Test
+ */
+public class CjkBigramTokenizerTest {
+
+    private final CjkBigramTokenizer tokenizer = new CjkBigramTokenizer();
+
+    @Test
+    public void testMixedTextIsSplitIntoBigramsAndWords() {
+        assertThat(tokenizer.tokenize("Spring Boot勉強会 2024"))
+                .containsExactly("spring", "boot", "勉強", "強会", "会", "2024");
+        assertThat(tokenizer.tokenizeQuery("勉強会")).containsExactly("勉強", "強会");
+        assertThat(tokenizer.tokenizeQuery("会")).containsExactly("会");
+    }
+
+    @Test
+    public void testWidthAndKanaAreNormalized() {
+        assertThat(tokenizer.tokenize("ＪＡＶＡ１７")).containsExactly("java17");
+        assertThat(tokenizer.tokenizeQuery("ｽﾌﾟﾘﾝｸﾞ")).isEqualTo(tokenizer.tokenizeQuery("すぷりんぐ"));
+        assertThat(tokenizer.tokenizeQuery("データ")).containsExactly("でー", "ーた");
+        assertThat(tokenizer.tokenize(null)).isEmpty();
+        assertThat(tokenizer.tokenize("・、。")).isEmpty();
+    }
+}
@@ -0,0 +1,341 @@
+package com.eventmanagement.search;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.mapper.EventMapper;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Event Search Index Test
+ */
+public class EventSearchIndexTest {
+
+    private EventMapper eventMapper;
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        eventMapper = mock(EventMapper.class);
+        index = new EventSearchIndex();
+        ReflectionTestUtils.setField(index, "tokenizer", new CjkBigramTokenizer());
+        ReflectionTestUtils.setField(index, "eventMapper", eventMapper);
+        ReflectionTestUtils.setField(index, "enabled", true);
+    }
+
+    @Test
+    public void testKeywordTermsMatchWordPrefixes() {
+        scanReturns(List.of(
+                event(1L, "Spring Boot Workshop", "Learn Spring Boot fundamentals"),
+                event(2L, "Java Conference", "Talks on Spring and Jakarta EE"),
+                event(3L, "Design Meetup", null)));
+
+        assertThat(index.match("spring")).isNull();
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.match("SPRING").toArray()).containsExactly(1, 2);
+        assertThat(index.match("spring work").toArray()).containsExactly(1);
+        assertThat(index.match("conf").toArray()).containsExactly(2);
+        assertThat(index.match("spring design").isEmpty()).isTrue();
+        assertThat(index.match("!!")).isNull();
+    }
+
+    @Test
+    public void testJapaneseKeywordsMatchAcrossWidthAndKana() {
+        scanReturns(List.of(
+                event(1L, "東京都スプリング勉強会", "初心者向けハンズオン"),
+                event(2L, "京都ＪＡＶＡ会議", null),
+                event(3L, "関東エリア交流会", null)));
+        index.rebuild();
+
+        assertThat(index.match("東京").toArray()).containsExactly(1);
+        assertThat(index.match("京都").toArray()).containsExactly(1, 2);
+        assertThat(index.match("すぷりんぐ").toArray()).containsExactly(1);
+        assertThat(index.match("ﾊﾝｽﾞｵﾝ").toArray()).containsExactly(1);
+        assertThat(index.match("java 会議").toArray()).containsExactly(2);
+        // A single character also matches at the end of a run
+        assertThat(index.match("東").toArray()).containsExactly(1, 3);
+    }
+
+    @Test
+    public void testRankOrdersByBm25AndSeeksPastCursor() {
+        scanReturns(List.of(
+                event(1L, "Cooking Class", "An evening of spring vegetables"),
+                event(2L, "Spring Boot Workshop", "Spring Boot from scratch"),
+                event(3L, "Spring Festival", null),
+                event(4L, "Spring Festival", null),
+                event(5L, "Garden Tour", "Walk through the garden in spring, with a long description of "
+                        + "the many plants, paths, ponds and benches visitors will see on the way")));
+        index.rebuild();
+
+        RoaringBitmap matches = index.match("spring");
+        List<EventSearchIndex.Hit> top = index.rank("spring", matches, 3, null, null, null);
+
+        // Name hits in short events outrank a single mention in a description; ties go to the higher ID
+        assertThat(top).extracting(EventSearchIndex.Hit::getEventId).containsExactly(4L, 3L, 2L);
+        assertThat(top.get(0).getScore()).isEqualTo(top.get(1).getScore());
+
+        EventSearchIndex.Hit last = top.get(2);
+        List<EventSearchIndex.Hit> rest = index.rank("spring", matches, 3, last.getScore(), last.getEventId(), null);
+        assertThat(rest).extracting(EventSearchIndex.Hit::getEventId).containsExactly(1L, 5L);
+    }
+
+    @Test
+    public void testFuzzyMatchToleratesTypos() {
+        Event workshop = event(1L, "Spring Boot Workshop", null);
+        workshop.setOrganizer("John Doe");
+        workshop.setLocation("Conference Room A");
+        Event festival = event(2L, "Spring Festival", null);
+        festival.setOrganizer("Jane Smith");
+        festival.setLocation("Tokyo Big Sight");
+        scanReturns(List.of(workshop, festival));
+        index.rebuild();
+
+        assertThat(index.match("sprng").isEmpty()).isTrue();
+        assertThat(index.fuzzyMatch("sprng", null, null, 0.5).toArray()).containsExactly(1, 2);
+        assertThat(index.fuzzyMatch("sprng workshp", null, null, 0.5).toArray()).containsExactly(1);
+        assertThat(index.fuzzyMatch(null, "Jon Doe", null, 0.5).toArray()).containsExactly(1);
+        assertThat(index.fuzzyMatch("spring", null, "tokio big site", 0.4).toArray()).containsExactly(2);
+        assertThat(index.fuzzyMatch(null, "Osaka", null, 0.5).isEmpty()).isTrue();
+        assertThat(index.fuzzyMatch(null, null, null, 0.5)).isNull();
+    }
+
+    @Test
+    public void testSuggestRanksValuesByEventCountAndFollowsWrites() {
+        scanReturns(List.of(
+                located(1L, "Tokyo Big Sight"),
+                located(2L, "Tokyo International Forum"),
+                located(3L, "ＴＯＫＹＯ International Forum"),
+                located(4L, "Osaka Castle Hall")));
+
+        assertThat(index.suggest("location", "tokyo", 10)).isNull();
+        index.rebuild();
+
+        // Width and case variants count as one value, shown as first indexed
+        assertThat(index.suggest("location", " TOK", 10))
+                .extracting(EventSearchIndex.ValueCount::getValue, EventSearchIndex.ValueCount::getEventCount)
+                .containsExactly(tuple("Tokyo International Forum", 2), tuple("Tokyo Big Sight", 1));
+        assertThat(index.suggest("organizer", "tok", 10)).isEmpty();
+
+        index.remove(2L);
+        index.remove(3L);
+        index.index(located(5L, "Tokyo Big Sight"));
+        assertThat(index.suggest("location", "tokyo", 10))
+                .extracting(EventSearchIndex.ValueCount::getValue, EventSearchIndex.ValueCount::getEventCount)
+                .containsExactly(tuple("Tokyo Big Sight", 2));
+    }
+
+    @Test
+    public void testFacetsCountMatchesPerValue() {
+        Event first = located(1L, "Tokyo Big Sight");
+        first.setStatus("ACTIVE");
+        first.setOrganizer("Tech Corp");
+        Event second = located(2L, "ＴＯＫＹＯ BIG SIGHT");
+        second.setStatus("ACTIVE");
+        second.setOrganizer("Java User Group");
+        Event third = located(3L, "Osaka Castle Hall");
+        third.setStatus("CANCELLED");
+        third.setOrganizer("Tech Corp");
+        scanReturns(List.of(first, second, third));
+
+        assertThat(index.facets(null, List.of("status"), 10)).isNull();
+        index.rebuild();
+
+        // All events: counted from the value bitmaps
+        Map<String, List<EventSearchIndex.ValueCount>> all = index.facets(null, List.of("status", "location"), 10);
+        assertThat(all.get("status"))
+                .extracting(EventSearchIndex.ValueCount::getValue, EventSearchIndex.ValueCount::getEventCount)
+                .containsExactly(tuple("ACTIVE", 2), tuple("CANCELLED", 1));
+        assertThat(all.get("location"))
+                .extracting(EventSearchIndex.ValueCount::getValue, EventSearchIndex.ValueCount::getEventCount)
+                .containsExactly(tuple("Tokyo Big Sight", 2), tuple("Osaka Castle Hall", 1));
+
+        // Fewer matches than values: counted from each match, ties by value, capped at the limit
+        Map<String, List<EventSearchIndex.ValueCount>> some = index.facets(RoaringBitmap.bitmapOf(2, 3),
+                List.of("organizer"), 1);
+        assertThat(some.get("organizer"))
+                .extracting(EventSearchIndex.ValueCount::getValue, EventSearchIndex.ValueCount::getEventCount)
+                .containsExactly(tuple("Java User Group", 1));
+
+        index.remove(1L);
+        assertThat(index.facets(RoaringBitmap.bitmapOf(1, 2, 3), List.of("status"), 10).get("status"))
+                .extracting(EventSearchIndex.ValueCount::getEventCount)
+                .containsExactly(1, 1);
+    }
+
+    @Test
+    public void testFilterIntersectsStatusOrganizerAndLocationBitmaps() {
+        Event first = located(1L, "Tokyo Big Sight");
+        first.setStatus("ACTIVE");
+        first.setOrganizer("Tech Corp");
+        Event second = located(2L, "Tokyo International Forum");
+        second.setStatus("ACTIVE");
+        second.setOrganizer("Java User Group");
+        Event third = located(3L, "Osaka Castle Hall");
+        third.setStatus("CANCELLED");
+        third.setOrganizer("ＴＥＣＨ Community");
+        scanReturns(List.of(first, second, third));
+        index.rebuild();
+
+        assertThat(index.filter("ACTIVE", null, null).toArray()).containsExactly(1, 2);
+        // Organizer and location match any value containing the filter, across width and case
+        assertThat(index.filter(null, "tech", null).toArray()).containsExactly(1, 3);
+        assertThat(index.filter("ACTIVE", "tech", null).toArray()).containsExactly(1);
+        assertThat(index.filter(null, null, "Tokyo").toArray()).containsExactly(1, 2);
+        assertThat(index.filter("COMPLETED", null, "Tokyo").isEmpty()).isTrue();
+        assertThat(index.filter(null, " ", null)).isNull();
+
+        // Results are copies; the postings stay intact
+        index.filter("ACTIVE", null, null).clear();
+        assertThat(index.filter("ACTIVE", null, null).toArray()).containsExactly(1, 2);
+
+        Event moved = located(2L, "Osaka Castle Hall");
+        moved.setStatus("CANCELLED");
+        index.index(moved);
+        assertThat(index.filter("CANCELLED", null, "osaka").toArray()).containsExactly(2, 3);
+    }
+
+    @Test
+    public void testOverlappingFindsEventsRunningDuringWindow() {
+        scanReturns(List.of(
+                scheduled(1L, "2024-05-01T09:00", "2024-05-01T12:00"),
+                scheduled(2L, "2024-05-01T11:00", "2024-05-03T18:00"),
+                scheduled(3L, "2024-05-02T10:00", "2024-05-02T11:00"),
+                event(4L, "Unscheduled", null)));
+        index.rebuild();
+
+        assertThat(index.overlapping(at("2024-05-01T12:00"), at("2024-05-01T13:00")).toArray()).containsExactly(1, 2);
+        assertThat(index.overlapping(at("2024-05-02T00:00"), at("2024-05-02T23:59")).toArray()).containsExactly(2, 3);
+        assertThat(index.overlapping(at("2024-05-03T00:00"), null).toArray()).containsExactly(2);
+        assertThat(index.overlapping(null, at("2024-05-01T10:00")).toArray()).containsExactly(1);
+        assertThat(index.overlapping(null, null)).isNull();
+        assertThat(index.scheduledWithin(at("2024-05-01T10:00"), null, null, at("2024-05-02T12:00")).toArray())
+                .containsExactly(3);
+        assertThat(index.scheduledWithin(null, at("2024-05-01T12:00"), null, null).toArray()).containsExactly(1, 2);
+
+        // A rescheduled event moves in the tree
+        index.index(scheduled(3L, "2024-05-05T10:00", "2024-05-05T11:00"));
+        assertThat(index.overlapping(at("2024-05-02T00:00"), at("2024-05-02T23:59")).toArray()).containsExactly(2);
+        index.remove(2L);
+        assertThat(index.overlapping(at("2024-05-02T00:00"), at("2024-05-02T23:59")).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testVenueConflictsAndOverlapsPerLocation() {
+        Event morning = booked(1L, "Room A", "2030-05-01T09:00", "2030-05-01T12:00");
+        Event lunch = booked(2L, "ROOM A", "2030-05-01T11:00", "2030-05-01T13:00");
+        Event afternoon = booked(3L, "Room A", "2030-05-01T13:00", "2030-05-01T15:00");
+        Event elsewhere = booked(4L, "Room B", "2030-05-01T09:00", "2030-05-01T17:00");
+        Event cancelled = booked(5L, "Room A", "2030-05-01T10:00", "2030-05-01T14:00");
+        cancelled.setStatus("CANCELLED");
+        scanReturns(List.of(morning, lunch, afternoon, elsewhere, cancelled));
+
+        assertThat(index.venueConflicts("Room A", at("2030-05-01T10:00"), at("2030-05-01T11:00"), null)).isNull();
+        index.rebuild();
+
+        // Touching bookings do not conflict, cancelled ones hold no booking
+        assertThat(index.venueConflicts("room a", at("2030-05-01T12:00"), at("2030-05-01T14:00"), null))
+                .containsExactly(2L, 3L);
+        assertThat(index.venueConflicts("Room A", at("2030-05-01T15:00"), at("2030-05-01T16:00"), null)).isEmpty();
+        assertThat(index.venueConflicts("Room A", at("2030-05-01T09:30"), at("2030-05-01T11:30"), 1L))
+                .containsExactly(2L);
+
+        List<EventSearchIndex.Overlap> overlaps = index.venueOverlaps(at("2030-01-01T00:00"));
+        assertThat(overlaps).extracting(EventSearchIndex.Overlap::getEventId, EventSearchIndex.Overlap::getOtherEventId,
+                        EventSearchIndex.Overlap::getStart, EventSearchIndex.Overlap::getEnd)
+                .containsExactly(tuple(1L, 2L, at("2030-05-01T11:00"), at("2030-05-01T12:00")));
+        assertThat(overlaps.get(0).getLocation()).isEqualTo("Room A");
+        assertThat(index.venueOverlaps(at("2030-05-01T12:30"))).isEmpty();
+
+        // Moving the lunch to Room B leaves Room A free and double-books Room B
+        index.index(booked(2L, "Room B", "2030-05-01T11:00", "2030-05-01T13:00"));
+        assertThat(index.venueConflicts("Room A", at("2030-05-01T12:00"), at("2030-05-01T14:00"), null))
+                .containsExactly(3L);
+        assertThat(index.venueOverlaps(at("2030-01-01T00:00")))
+                .extracting(EventSearchIndex.Overlap::getLocation, EventSearchIndex.Overlap::getEventId)
+                .containsExactly(tuple("Room B", 2L));
+    }
+
+    @Test
+    public void testWritesAreAppliedAndReplayedOverRebuild() {
+        scanReturns(List.of(event(1L, "Spring Boot Workshop", null)));
+        index.rebuild();
+
+        index.index(event(1L, "Kotlin Workshop", null));
+        index.index(event(4L, "Spring Night", null));
+        assertThat(index.match("spring").toArray()).containsExactly(4);
+        assertThat(index.match("kotlin").toArray()).containsExactly(1);
+
+        // A delete committed while the rebuild scans must not be undone by the scan
+        doAnswer(invocation -> {
+            index.remove(4L);
+            ResultHandler<Event> handler = invocation.getArgument(0);
+            deliver(handler, event(4L, "Spring Night", null));
+            return null;
+        }).when(eventMapper).scanSearchDocuments(any());
+        index.rebuild();
+
+        assertThat(index.match("spring").isEmpty()).isTrue();
+        assertThat(index.size()).isZero();
+    }
+
+    private void scanReturns(List<Event> events) {
+        doAnswer(invocation -> {
+            ResultHandler<Event> handler = invocation.getArgument(0);
+            events.forEach(event -> deliver(handler, event));
+            return null;
+        }).when(eventMapper).scanSearchDocuments(any());
+    }
+
+    private static void deliver(ResultHandler<Event> handler, Event event) {
+        DefaultResultContext<Event> context = new DefaultResultContext<>();
+        context.nextResultObject(event);
+        handler.handleResult(context);
+    }
+
+    private static Event scheduled(Long eventId, String start, String end) {
+        Event event = event(eventId, "Meetup", null);
+        event.setStartDateTime(at(start));
+        event.setEndDateTime(at(end));
+        return event;
+    }
+
+    private static Event booked(Long eventId, String location, String start, String end) {
+        Event event = scheduled(eventId, start, end);
+        event.setLocation(location);
+        event.setStatus("ACTIVE");
+        return event;
+    }
+
+    private static LocalDateTime at(String dateTime) {
+        return LocalDateTime.parse(dateTime);
+    }
+
+    private static Event located(Long eventId, String location) {
+        Event event = event(eventId, "Meetup", null);
+        event.setLocation(location);
+        return event;
+    }
+
+    private static Event event(Long eventId, String name, String description) {
+        Event event = new Event();
+        event.setEventId(eventId);
+        event.setEventName(name);
+        event.setDescription(description);
+        return event;
+    }
+}
@@ -0,0 +1,89 @@
+package com.eventmanagement.search;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Interval Tree Test
+ */
+public class IntervalTreeTest {
+
+    @Test
+    public void testOverlapIsInclusiveAtBothEnds() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(10, 20, 1);
+        tree.add(15, 30, 2);
+        tree.add(40, 50, 3);
+
+        assertThat(overlapping(tree, 20, 39)).containsExactly(1, 2);
+        assertThat(overlapping(tree, 31, 39)).isEmpty();
+        assertThat(overlapping(tree, 50, 60)).containsExactly(3);
+        assertThat(overlapping(tree, 0, 10)).containsExactly(1);
+
+        tree.remove(15, 2);
+        tree.remove(15, 9);
+        assertThat(overlapping(tree, 20, 39)).containsExactly(1);
+        assertThat(tree.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testQueriesMatchBruteForceAfterRandomUpdates() {
+        IntervalTree tree = new IntervalTree();
+        Map<Integer, long[]> intervals = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            int id = random.nextInt(2000);
+            long[] existing = intervals.remove(id);
+            if (existing != null) {
+                tree.remove(existing[0], id);
+            }
+            if (random.nextInt(3) > 0) {
+                long start = random.nextInt(100_000);
+                long end = start + random.nextInt(random.nextInt(10) == 0 ? 20_000 : 500);
+                tree.add(start, end, id);
+                intervals.put(id, new long[] {start, end});
+            }
+        }
+        assertThat(tree.size()).isEqualTo(intervals.size());
+
+        for (int q = 0; q < 200; q++) {
+            long from = random.nextInt(100_000);
+            long to = from + random.nextInt(2_000);
+            RoaringBitmap expected = new RoaringBitmap();
+            intervals.forEach((id, interval) -> {
+                if (interval[0] <= to && interval[1] >= from) {
+                    expected.add(id);
+                }
+            });
+            assertThat(overlapping(tree, from, to)).containsExactly(expected.toArray());
+        }
+
+        for (int q = 0; q < 200; q++) {
+            long startFrom = random.nextInt(100_000);
+            long startTo = startFrom + random.nextInt(5_000);
+            long endFrom = startFrom + random.nextInt(1_000);
+            long endTo = q % 2 == 0 ? Long.MAX_VALUE : endFrom + random.nextInt(2_000);
+            RoaringBitmap expected = new RoaringBitmap();
+            intervals.forEach((id, interval) -> {
+                if (interval[0] >= startFrom && interval[0] <= startTo && interval[1] >= endFrom && interval[1] <= endTo) {
+                    expected.add(id);
+                }
+            });
+            RoaringBitmap ids = new RoaringBitmap();
+            tree.within(startFrom, startTo, endFrom, endTo, ids);
+            assertThat(ids.toArray()).containsExactly(expected.toArray());
+        }
+    }
+
+    private static int[] overlapping(IntervalTree tree, long from, long to) {
+        RoaringBitmap ids = new RoaringBitmap();
+        tree.overlapping(from, to, ids);
+        return ids.toArray();
+    }
+}
@@ -0,0 +1,109 @@
+package com.eventmanagement.search;
+
+import com.eventmanagement.dto.ParticipantSchedule;
+import com.eventmanagement.mapper.ParticipantMapper;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Participant Schedule Index Test
+ */
+public class ParticipantScheduleIndexTest {
+
+    private ParticipantMapper participantMapper;
+    private ParticipantScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        participantMapper = mock(ParticipantMapper.class);
+        index = new ParticipantScheduleIndex();
+        ReflectionTestUtils.setField(index, "participantMapper", participantMapper);
+        ReflectionTestUtils.setField(index, "enabled", true);
+    }
+
+    @Test
+    public void testOverlappingRegistrationsPerParticipant() {
+        scanReturns(List.of(
+                registration("alice@example.com", 1L, "2030-05-01T10:00", "2030-05-01T12:00"),
+                registration("alice@example.com", 2L, "2030-05-01T13:00", "2030-05-01T15:00"),
+                registration("bob@example.com", 3L, "2030-05-01T10:00", "2030-05-01T18:00")));
+
+        assertThat(index.overlapping("alice@example.com", at("2030-05-01T11:00"), at("2030-05-01T14:00"), null)).isNull();
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.overlapping(" Alice@Example.com", at("2030-05-01T11:00"), at("2030-05-01T14:00"), null))
+                .containsExactly(1L, 2L);
+        // Touching events do not overlap
+        assertThat(index.overlapping("alice@example.com", at("2030-05-01T12:00"), at("2030-05-01T13:00"), null)).isEmpty();
+        assertThat(index.overlapping("alice@example.com", at("2030-05-01T09:00"), at("2030-05-01T11:00"), 1L)).isEmpty();
+        assertThat(index.overlapping("carol@example.com", at("2030-05-01T09:00"), at("2030-05-01T20:00"), null)).isEmpty();
+    }
+
+    @Test
+    public void testWritesAreAppliedAndReplayedOverRebuild() {
+        scanReturns(List.of(registration("alice@example.com", 1L, "2030-05-01T10:00", "2030-05-01T12:00")));
+        index.rebuild();
+
+        index.register("alice@example.com", 4L, at("2030-05-01T11:00"), at("2030-05-01T13:00"));
+        index.unregister("alice@example.com", 1L);
+        assertThat(index.overlapping("alice@example.com", at("2030-05-01T10:00"), at("2030-05-01T12:00"), null))
+                .containsExactly(4L);
+
+        // A cancellation committed while the rebuild scans must not be undone by the scan
+        doAnswer(invocation -> {
+            index.unregister("alice@example.com", 4L);
+            ResultHandler<ParticipantSchedule> handler = invocation.getArgument(1);
+            deliver(handler, registration("alice@example.com", 4L, "2030-05-01T11:00", "2030-05-01T13:00"));
+            return null;
+        }).when(participantMapper).scanSchedules(any(), any());
+        index.rebuild();
+
+        assertThat(index.overlapping("alice@example.com", at("2030-05-01T10:00"), at("2030-05-01T12:00"), null)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    public void testDisabledIndexIgnoresWrites() {
+        ReflectionTestUtils.setField(index, "enabled", false);
+        index.rebuild();
+        index.register("alice@example.com", 1L, at("2030-05-01T10:00"), at("2030-05-01T12:00"));
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.size()).isZero();
+    }
+
+    private void scanReturns(List<ParticipantSchedule> registrations) {
+        doAnswer(invocation -> {
+            ResultHandler<ParticipantSchedule> handler = invocation.getArgument(1);
+            registrations.forEach(registration -> deliver(handler, registration));
+            return null;
+        }).when(participantMapper).scanSchedules(any(), any());
+    }
+
+    private static void deliver(ResultHandler<ParticipantSchedule> handler, ParticipantSchedule registration) {
+        DefaultResultContext<ParticipantSchedule> context = new DefaultResultContext<>();
+        context.nextResultObject(registration);
+        handler.handleResult(context);
+    }
+
+    private static ParticipantSchedule registration(String email, Long eventId, String start, String end) {
+        return new ParticipantSchedule(email, eventId, at(start), at(end));
+    }
+
+    private static LocalDateTime at(String dateTime) {
+        return LocalDateTime.parse(dateTime);
+    }
+}
@@ -0,0 +1,87 @@
+package com.eventmanagement.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prefix Trie Test
+ */
+public class PrefixTrieTest {
+
+    @Test
+    public void testTopValuesByCountUnderPrefix() {
+        PrefixTrie trie = new PrefixTrie();
+        add(trie, "tokyo big sight", 3);
+        add(trie, "tokyo international forum", 5);
+        add(trie, "tokyo", 1);
+        add(trie, "osaka castle hall", 4);
+
+        assertThat(values(trie.top("tokyo", 10))).containsExactly("tokyo international forum", "tokyo big sight", "tokyo");
+        assertThat(trie.top("tokyo", 2)).extracting(PrefixTrie.Entry::getCount).containsExactly(5, 3);
+        assertThat(values(trie.top("", 1))).containsExactly("tokyo international forum");
+        assertThat(trie.top("nagoya", 10)).isEmpty();
+
+        trie.decrement("tokyo international forum");
+        trie.decrement("tokyo international forum");
+        trie.decrement("tokyo international forum");
+        assertThat(values(trie.top("tokyo", 2))).containsExactly("tokyo big sight", "tokyo international forum");
+
+        trie.decrement("tokyo international forum");
+        trie.decrement("tokyo international forum");
+        trie.decrement("tokyo international forum");
+        assertThat(values(trie.top("tokyo i", 10))).isEmpty();
+        assertThat(values(trie.top("tokyo", 10))).containsExactly("tokyo big sight", "tokyo");
+    }
+
+    @Test
+    public void testTopMatchesFullSortAfterRandomUpdates() {
+        PrefixTrie trie = new PrefixTrie();
+        Map<String, Integer> counts = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            String key = "ab".charAt(random.nextInt(2)) + Integer.toString(random.nextInt(300), 3);
+            if (random.nextInt(4) == 0) {
+                trie.decrement(key);
+                counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            } else {
+                trie.increment(key, key);
+                counts.merge(key, 1, Integer::sum);
+            }
+        }
+
+        for (String prefix : List.of("", "a", "b1", "a20")) {
+            List<Integer> expected = counts.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .map(Map.Entry::getValue)
+                    .sorted(Comparator.reverseOrder())
+                    .limit(10)
+                    .collect(Collectors.toList());
+            List<PrefixTrie.Entry> top = trie.top(prefix, 10);
+            assertThat(top).extracting(PrefixTrie.Entry::getCount).containsExactlyElementsOf(expected);
+            for (PrefixTrie.Entry entry : top) {
+                assertThat(counts.get(entry.getValue())).isEqualTo(entry.getCount());
+            }
+        }
+    }
+
+    private static void add(PrefixTrie trie, String value, int times) {
+        for (int i = 0; i < times; i++) {
+            trie.increment(value, value);
+        }
+    }
+
+    private static List<String> values(List<PrefixTrie.Entry> entries) {
+        List<String> values = new ArrayList<>();
+        entries.forEach(entry -> values.add(entry.getValue()));
+        return values;
+    }
+}
@@ -0,0 +1,57 @@
+package com.eventmanagement.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Trigram Matcher Test
+ */
+public class TrigramMatcherTest {
+
+    @Test
+    public void testMisspelledQueriesFindSimilarValues() {
+        TrigramMatcher matcher = new TrigramMatcher();
+        for (String value : List.of("john doe", "jane smith", "tokyo international forum", "tokyo big sight", "東京国際フォーラム")) {
+            matcher.add(value);
+        }
+
+        assertThat(matcher.similar("jon doe", 0.5)).containsExactly("john doe");
+        assertThat(matcher.similar("internatonal forum", 0.5)).containsExactly("tokyo international forum");
+        assertThat(matcher.similar("tokyo", 0.5)).containsExactlyInAnyOrder("tokyo international forum", "tokyo big sight");
+        assertThat(matcher.similar("東京国祭フォーラム", 0.5)).containsExactly("東京国際フォーラム");
+        assertThat(matcher.similar("osaka", 0.5)).isEmpty();
+
+        matcher.remove("john doe");
+        assertThat(matcher.similar("jon doe", 0.5)).isEmpty();
+        matcher.add("jon dough");
+        assertThat(matcher.similar("jon doe", 0.5)).containsExactly("jon dough");
+        assertThat(matcher.size()).isEqualTo(5);
+    }
+
+    @Test
+    public void testPrunedCandidatesMatchFullOverlapCount() {
+        TrigramMatcher matcher = new TrigramMatcher();
+        List<String> values = List.of("conference hall a", "conference hall b", "community center",
+                "convention center", "concert hall", "city hall annex", "hall of fame");
+        values.forEach(matcher::add);
+
+        for (String query : List.of("conferance hal", "centre", "hall", "convension", "concrete")) {
+            for (double similarity : new double[] {0.3, 0.5, 0.8}) {
+                Set<String> grams = TrigramMatcher.trigrams(query);
+                Set<String> expected = values.stream()
+                        .filter(value -> overlap(grams, TrigramMatcher.trigrams(value)) >= Math.ceil(similarity * grams.size()))
+                        .collect(Collectors.toSet());
+                assertThat(matcher.similar(query, similarity)).containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+
+    private static long overlap(Set<String> query, Set<String> value) {
+        return query.stream().filter(value::contains).count();
+    }
+}
@@ -0,0 +1,52 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.entity.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Event Search Cursor Test
+ */
+public class EventSearchCursorTest {
+
+    @Test
+    public void testRoundTripKeepsSortKeyAndEventId() {
+        Event lastRow = new Event("Name | with separator", "Description", LocalDateTime.of(2030, 1, 1, 10, 0),
+                LocalDateTime.of(2030, 1, 1, 12, 0), "Location", "Organizer", 10);
+        lastRow.setEventId(42L);
+        lastRow.setCreatedAt(LocalDateTime.of(2024, 1, 15, 9, 30, 0, 123456000));
+
+        EventSearchCursor byName = EventSearchCursor.decode(
+                EventSearchCursor.after("eventName", "asc", 3, lastRow).encode());
+        assertThat(byName.getPage()).isEqualTo(3);
+        assertThat(byName.getEventId()).isEqualTo(42L);
+        assertThat(byName.getSortValue()).isEqualTo("Name | with separator");
+        assertThat(byName.matches("eventName", "ASC")).isTrue();
+        assertThat(byName.matches("eventName", "desc")).isFalse();
+
+        EventSearchCursor byCreatedAt = EventSearchCursor.decode(
+                EventSearchCursor.after("createdAt", "desc", 1, lastRow).encode());
+        assertThat(byCreatedAt.getSortValue()).isEqualTo(LocalDateTime.of(2024, 1, 15, 9, 30, 0, 123456000));
+        assertThat(byCreatedAt.matches("createdAt", "desc")).isTrue();
+        assertThat(byCreatedAt.matches("eventName", "desc")).isFalse();
+
+        EventSearchCursor byRelevance = EventSearchCursor.decode(
+                EventSearchCursor.afterScore("desc", 2, 42L, 3.0517578125e-5).encode());
+        assertThat(byRelevance.getSortValue()).isEqualTo(3.0517578125e-5);
+        assertThat(byRelevance.matches("relevance", "desc")).isTrue();
+        assertThat(byRelevance.matches("createdAt", "desc")).isFalse();
+    }
+
+    @Test
+    public void testMalformedCursorIsRejected() {
+        assertThatThrownBy(() -> EventSearchCursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> EventSearchCursor.decode("MXxjcmVhdGVkQXR8ZGVzY3wxfHh8bg"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
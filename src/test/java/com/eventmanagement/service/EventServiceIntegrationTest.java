@@ -1,15 +1,26 @@
 package com.eventmanagement.service;
 
+import com.eventmanagement.analytics.EventStatisticsAggregate;
+import com.eventmanagement.analytics.RegistrationRollups;
+import com.eventmanagement.analytics.TrendingEvents;
+import com.eventmanagement.cache.EventCache;
+import com.eventmanagement.cache.SearchCountCache;
+import com.eventmanagement.config.CacheConfig;
+import com.eventmanagement.config.MyBatisConfig;
+import com.eventmanagement.config.SearchConfig;
 import com.eventmanagement.dto.EventRequest;
 import com.eventmanagement.dto.EventResponse;
 import com.eventmanagement.entity.Event;
 import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.search.EventSearchIndex;
+import com.eventmanagement.search.CjkBigramTokenizer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,7 +38,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
  * Tests the service layer operations with actual Oracle database connections.
  */
 @MybatisTest
-@Import(EventService.class)
+@Import({EventService.class, SeatCounterService.class, EventStatisticsAggregate.class, RegistrationRollups.class, TrendingEvents.class, EventCache.class, SearchCountCache.class, EventSearchIndex.class, CjkBigramTokenizer.class, CacheConfig.class, SearchConfig.class, MyBatisConfig.class})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @ActiveProfiles("test")
 @TestPropertySource(locations = "classpath:application-test.properties")
@@ -252,6 +263,27 @@ public class EventServiceIntegrationTest {
         assertThat(response).isNull();
     }
 
+    @Test
+    public void testUpdateEventWithStaleVersion() {
+        // Test that an update based on an outdated version is rejected
+        EventResponse createdEvent = eventService.createEvent(createTestEventRequest());
+        EventRequest updateRequest = createTestEventRequest();
+        updateRequest.setVersion(createdEvent.getVersion());
+        
+        EventResponse firstUpdate = eventService.updateEvent(createdEvent.getEventId(), updateRequest);
+        assertThat(firstUpdate.getVersion()).isEqualTo(createdEvent.getVersion() + 1);
+        assertThat(firstUpdate.getCurrentParticipants()).isEqualTo(0);
+        assertThat(firstUpdate.getStatus()).isEqualTo("ACTIVE");
+        
+        // Same stale version again
+        assertThatThrownBy(() -> eventService.updateEvent(createdEvent.getEventId(), updateRequest))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThatThrownBy(() -> eventService.deleteEvent(createdEvent.getEventId(), createdEvent.getVersion()))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+        
+        assertThat(eventService.deleteEvent(createdEvent.getEventId(), firstUpdate.getVersion())).isTrue();
+    }
+
     @Test
     public void testDeleteEvent() {
         // Test deleting event through service layer
@@ -292,6 +324,9 @@ public class EventServiceIntegrationTest {
         assertThat(stats.getActiveEvents()).isGreaterThanOrEqualTo(0);
         assertThat(stats.getCompletedEvents()).isGreaterThanOrEqualTo(0);
         assertThat(stats.getCancelledEvents()).isGreaterThanOrEqualTo(0);
+        assertThat(stats.getActiveEvents() + stats.getCompletedEvents() + stats.getCancelledEvents())
+                .isEqualTo(stats.getTotalEvents());
+        assertThat(stats.getTotalParticipants()).isGreaterThanOrEqualTo(0);
     }
 
     @Test
@@ -0,0 +1,361 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.EventResponse;
+import com.eventmanagement.dto.EventSearchRequest;
+import com.eventmanagement.dto.EventSearchResult;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.search.EventSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * EventService Search Tests
+ *
+ * Checks that the exact count runs concurrently with the page query, that a slow
+ * count is abandoned after the count timeout, and that keywords are resolved through
+ * the search index.
+ */
+public class EventServiceSearchTest {
+
+    private EventMapper eventMapper;
+    private EventService eventService;
+    private ThreadPoolTaskExecutor searchCountExecutor;
+
+    @BeforeEach
+    void setUp() {
+        eventMapper = mock(EventMapper.class);
+        searchCountExecutor = new ThreadPoolTaskExecutor();
+        searchCountExecutor.setCorePoolSize(2);
+        searchCountExecutor.initialize();
+
+        eventService = new EventService();
+        ReflectionTestUtils.setField(eventService, "eventMapper", eventMapper);
+        ReflectionTestUtils.setField(eventService, "searchCountExecutor", searchCountExecutor);
+        ReflectionTestUtils.setField(eventService, "countTimeoutMs", 2000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchCountExecutor.shutdown();
+    }
+
+    @Test
+    public void testCountRunsAlongsidePageQuery() {
+        // Each query waits for the other to start, so they only finish if they overlap
+        CountDownLatch countStarted = new CountDownLatch(1);
+        CountDownLatch pageStarted = new CountDownLatch(1);
+        when(eventMapper.countSearchEvents(any())).thenAnswer(invocation -> {
+            countStarted.countDown();
+            assertThat(pageStarted.await(1, TimeUnit.SECONDS)).isTrue();
+            return 42;
+        });
+        when(eventMapper.searchEvents(any())).thenAnswer(invocation -> {
+            pageStarted.countDown();
+            assertThat(countStarted.await(1, TimeUnit.SECONDS)).isTrue();
+            return Collections.emptyList();
+        });
+
+        EventSearchResult result = eventService.searchEvents(new EventSearchRequest());
+
+        assertThat(result.getTotalElements()).isEqualTo(42);
+        assertThat(result.getTotalAccuracy()).isEqualTo(EventSearchRequest.TotalMode.EXACT);
+    }
+
+    @Test
+    public void testSlowCountIsCancelledAfterTimeout() throws InterruptedException {
+        ReflectionTestUtils.setField(eventService, "countTimeoutMs", 50L);
+        CountDownLatch countInterrupted = new CountDownLatch(1);
+        when(eventMapper.countSearchEvents(any())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                countInterrupted.countDown();
+            }
+            return 0;
+        });
+        when(eventMapper.searchEvents(any())).thenReturn(Collections.emptyList());
+
+        EventSearchResult result = eventService.searchEvents(new EventSearchRequest());
+
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(result.getTotalAccuracy()).isEqualTo(EventSearchRequest.TotalMode.NONE);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(countInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testCountStoppedAtQueryTimeoutOmitsTotal() {
+        // A saturated executor runs the count on the request thread, where only the
+        // statement's query timeout bounds it
+        searchCountExecutor.shutdown();
+        searchCountExecutor = new ThreadPoolTaskExecutor();
+        searchCountExecutor.setCorePoolSize(1);
+        searchCountExecutor.setMaxPoolSize(1);
+        searchCountExecutor.setQueueCapacity(0);
+        searchCountExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        searchCountExecutor.initialize();
+        ReflectionTestUtils.setField(eventService, "searchCountExecutor", searchCountExecutor);
+        CountDownLatch release = new CountDownLatch(1);
+        searchCountExecutor.submit(() -> {
+            release.await();
+            return null;
+        });
+        when(eventMapper.countSearchEvents(any()))
+                .thenThrow(new QueryTimeoutException("ORA-01013: user requested cancel of current operation"));
+        when(eventMapper.searchEvents(any())).thenReturn(Collections.emptyList());
+
+        try {
+            EventSearchResult result = eventService.searchEvents(new EventSearchRequest());
+
+            assertThat(result.getTotalElements()).isNull();
+            assertThat(result.getTotalAccuracy()).isEqualTo(EventSearchRequest.TotalMode.NONE);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testKeywordIsResolvedThroughSearchIndex() {
+        EventSearchIndex index = mock(EventSearchIndex.class);
+        ReflectionTestUtils.setField(eventService, "eventSearchIndex", index);
+        ReflectionTestUtils.setField(eventService, "maxIndexCandidates", 5000);
+        when(index.match("spring")).thenReturn(RoaringBitmap.bitmapOf(3, 7));
+        when(index.match("cobol")).thenReturn(new RoaringBitmap());
+        when(eventMapper.searchEvents(any())).thenReturn(Collections.emptyList());
+        when(eventMapper.countSearchEvents(any())).thenReturn(0);
+
+        EventSearchRequest request = new EventSearchRequest();
+        request.setKeyword("spring");
+        eventService.searchEvents(request);
+        assertThat(request.getCandidateIds()).containsExactly(3L, 7L);
+
+        // No event contains the keyword: answered without querying the database
+        request = new EventSearchRequest();
+        request.setKeyword("cobol");
+        EventSearchResult result = eventService.searchEvents(request);
+        assertThat(result.getTotalElements()).isZero();
+        verify(eventMapper, times(1)).searchEvents(any());
+    }
+
+    @Test
+    public void testRelevanceSortLoadsOnlyTheRankedPage() {
+        EventSearchIndex index = mock(EventSearchIndex.class);
+        ReflectionTestUtils.setField(eventService, "eventSearchIndex", index);
+        RoaringBitmap matches = RoaringBitmap.bitmapOf(1, 2, 3);
+        when(index.match("spring")).thenReturn(matches);
+        when(index.rank("spring", matches, 3, null, null, null)).thenReturn(List.of(
+                new EventSearchIndex.Hit(3L, 2.5), new EventSearchIndex.Hit(1L, 1.5), new EventSearchIndex.Hit(2L, 0.5)));
+        when(eventMapper.findByIds(List.of(3L, 1L))).thenReturn(List.of(event(1L), event(3L)));
+
+        EventSearchRequest request = new EventSearchRequest();
+        request.setKeyword("spring");
+        request.setSortBy("relevance");
+        request.setSize(2);
+        EventSearchResult result = eventService.searchEvents(request);
+
+        assertThat(result.getEvents()).extracting(EventResponse::getEventId).containsExactly(3L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getNextCursor()).isNotNull();
+        verify(eventMapper, never()).searchEvents(any());
+    }
+
+    @Test
+    public void testKeywordAboveCandidateLimitIsStillRankedFromTheIndex() {
+        EventSearchIndex index = mock(EventSearchIndex.class);
+        ReflectionTestUtils.setField(eventService, "eventSearchIndex", index);
+        ReflectionTestUtils.setField(eventService, "maxIndexCandidates", 2);
+        RoaringBitmap matches = RoaringBitmap.bitmapOf(1, 2, 3);
+        when(index.match("spring")).thenReturn(matches);
+        when(eventMapper.searchEventIds(any())).thenReturn(List.of(1L, 3L));
+        RoaringBitmap inRange = RoaringBitmap.bitmapOf(1, 3);
+        when(index.rank("spring", inRange, 11, null, null, null)).thenReturn(List.of(
+                new EventSearchIndex.Hit(3L, 2.5), new EventSearchIndex.Hit(1L, 1.5)));
+        when(eventMapper.findByIds(List.of(3L, 1L))).thenReturn(List.of(event(1L), event(3L)));
+
+        // A word prefix match, not the SQL substring match, decides the candidates
+        EventSearchRequest request = new EventSearchRequest();
+        request.setKeyword("spring");
+        request.setSortBy("relevance");
+        request.setStartDateFrom(LocalDateTime.of(2024, 1, 1, 0, 0));
+        EventSearchResult result = eventService.searchEvents(request);
+
+        assertThat(request.isCandidatesStaged()).isTrue();
+        assertThat(result.getEvents()).extracting(EventResponse::getEventId).containsExactly(3L, 1L);
+        verify(eventMapper, never()).searchEvents(any());
+    }
+
+    @Test
+    public void testEqualityFiltersAreIntersectedThroughSearchIndex() {
+        EventSearchIndex index = mock(EventSearchIndex.class);
+        ReflectionTestUtils.setField(eventService, "eventSearchIndex", index);
+        ReflectionTestUtils.setField(eventService, "maxIndexCandidates", 5000);
+        when(index.match("spring")).thenReturn(RoaringBitmap.bitmapOf(3, 7, 9));
+        when(index.filter("ACTIVE", "Tech", null)).thenReturn(RoaringBitmap.bitmapOf(1, 7, 9, 12));
+        when(eventMapper.searchEvents(any())).thenReturn(Collections.emptyList());
+        when(eventMapper.countSearchEvents(any())).thenReturn(2);
+
+        EventSearchRequest request = new EventSearchRequest();
+        request.setKeyword("spring");
+        request.setStatus("ACTIVE");
+        request.setOrganizer("Tech");
+        eventService.searchEvents(request);
+
+        // The database only pages through the intersection
+        assertThat(request.getCandidateIds()).containsExactly(7L, 9L);
+        assertThat(request.isFiltersApplied()).isTrue();
+
+        // Without a keyword the filters alone give the candidates
+        request = new EventSearchRequest();
+        request.setStatus("ACTIVE");
+        request.setOrganizer("Tech");
+        eventService.searchEvents(request);
+        assertThat(request.getCandidateIds()).containsExactly(1L, 7L, 9L, 12L);
+    }
+
+    @Test
+    public void testFiltersAboveCandidateLimitAreStagedNotMatchedInSql() {
+        EventSearchIndex index = mock(EventSearchIndex.class);
+        ReflectionTestUtils.setField(eventService, "eventSearchIndex", index);
+        ReflectionTestUtils.setField(eventService, "maxIndexCandidates", 2);
+        when(index.filter(null, "tech", null)).thenReturn(RoaringBitmap.bitmapOf(1, 7, 9, 12));
+        when(eventMapper.searchEvents(any())).thenReturn(Collections.emptyList());
+        when(eventMapper.countSearchEvents(any())).thenReturn(4);
+
+        // The index matched "Tech Corp" and "ＴＥＣＨ" alike; SQL LIKE would not
+        EventSearchRequest request = new EventSearchRequest();
+        request.setOrganizer("tech");
+        EventSearchResult result = eventService.searchEvents(request);
+
+        assertThat(request.isCandidatesStaged()).isTrue();
+        assertThat(request.isFiltersApplied()).isTrue();
+        verify(eventMapper).clearSearchCandidates();
+        verify(eventMapper).insertSearchCandidates(List.of(1L, 7L, 9L, 12L, 12L, 12L, 12L, 12L, 12L, 12L));
+        assertThat(result.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    public void testBroadStatusFilterIsLeftToSqlWithParallelCount() {
+        EventSearchIndex index = mock(EventSearchIndex.class);
+        ReflectionTestUtils.setField(eventService, "eventSearchIndex", index);
+        ReflectionTestUtils.setField(eventService, "maxIndexCandidates", 2);
+        when(index.filter("COMPLETED", null, null)).thenReturn(RoaringBitmap.bitmapOf(1, 7, 9, 12));
+        when(eventMapper.searchEvents(any())).thenReturn(Collections.emptyList());
+        AtomicReference<Thread> countThread = new AtomicReference<>();
+        when(eventMapper.countSearchEvents(any())).thenAnswer(invocation -> {
+            countThread.set(Thread.currentThread());
+            return 4;
+        });
+
+        EventSearchRequest request = new EventSearchRequest();
+        request.setStatus("COMPLETED");
+        EventSearchResult result = eventService.searchEvents(request);
+
+        assertThat(request.getCandidateIds()).isNull();
+        assertThat(request.isFiltersApplied()).isFalse();
+        assertThat(request.isCandidatesStaged()).isFalse();
+        verify(eventMapper, never()).clearSearchCandidates();
+        verify(eventMapper, never()).insertSearchCandidates(any());
+        assertThat(result.getTotalElements()).isEqualTo(4);
+        assertThat(countThread.get()).isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    public void testOverlapWindowIsResolvedThroughIntervalIndex() {
+        EventSearchIndex index = mock(EventSearchIndex.class);
+        ReflectionTestUtils.setField(eventService, "eventSearchIndex", index);
+        ReflectionTestUtils.setField(eventService, "maxIndexCandidates", 5000);
+        LocalDateTime from = LocalDateTime.of(2024, 5, 1, 9, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 5, 1, 18, 0);
+        when(index.filter("ACTIVE", null, null)).thenReturn(RoaringBitmap.bitmapOf(1, 2, 5));
+        when(index.overlapping(from, to)).thenReturn(RoaringBitmap.bitmapOf(2, 5, 8));
+        when(eventMapper.searchEvents(any())).thenReturn(Collections.emptyList());
+        when(eventMapper.countSearchEvents(any())).thenReturn(2);
+
+        EventSearchRequest request = new EventSearchRequest();
+        request.setStatus("ACTIVE");
+        request.setOverlapFrom(from);
+        request.setOverlapTo(to);
+        eventService.searchEvents(request);
+
+        assertThat(request.getCandidateIds()).containsExactly(2L, 5L);
+        assertThat(request.isFiltersApplied()).isTrue();
+    }
+
+    @Test
+    public void testFacetsAreCountedOverAllMatchesInOneIndexCall() {
+        EventSearchIndex index = mock(EventSearchIndex.class);
+        ReflectionTestUtils.setField(eventService, "eventSearchIndex", index);
+        ReflectionTestUtils.setField(eventService, "maxIndexCandidates", 5000);
+        when(index.isReady()).thenReturn(true);
+        when(index.match("spring")).thenReturn(RoaringBitmap.bitmapOf(3, 7, 9));
+        when(eventMapper.searchEvents(any())).thenReturn(Collections.emptyList());
+        when(eventMapper.countSearchEvents(any())).thenReturn(2);
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(index.scheduledWithin(from, null, null, null)).thenReturn(RoaringBitmap.bitmapOf(1, 3, 9, 12));
+        when(index.facets(RoaringBitmap.bitmapOf(3, 9), List.of("status", "organizer"), 5)).thenReturn(Map.of(
+                "status", List.of(new EventSearchIndex.ValueCount("ACTIVE", 2)),
+                "organizer", List.of(new EventSearchIndex.ValueCount("Tech Corp", 1),
+                        new EventSearchIndex.ValueCount("Java User Group", 1))));
+
+        // The date range is applied to the index matches in memory, not by an ID query
+        EventSearchRequest request = new EventSearchRequest();
+        request.setKeyword("spring");
+        request.setStartDateFrom(from);
+        request.setFacets(List.of("status", "organizer", "status"));
+        request.setFacetSize(5);
+        EventSearchResult result = eventService.searchEvents(request);
+
+        assertThat(result.getFacets().get("status")).extracting(EventSearchResult.FacetValue::getCount).containsExactly(2);
+        assertThat(result.getFacets().get("organizer")).extracting(EventSearchResult.FacetValue::getValue)
+                .containsExactly("Tech Corp", "Java User Group");
+        verify(eventMapper, never()).searchEventIds(any());
+    }
+
+    @Test
+    public void testFacetsAreSkippedWithoutQueryingWhileIndexIsNotReady() {
+        EventSearchIndex index = mock(EventSearchIndex.class);
+        ReflectionTestUtils.setField(eventService, "eventSearchIndex", index);
+        when(eventMapper.searchEvents(any())).thenReturn(Collections.emptyList());
+        when(eventMapper.countSearchEvents(any())).thenReturn(0);
+
+        EventSearchRequest request = new EventSearchRequest();
+        request.setStartDateFrom(LocalDateTime.of(2024, 1, 1, 0, 0));
+        request.setFacets(List.of("status"));
+        EventSearchResult result = eventService.searchEvents(request);
+
+        assertThat(result.getFacets()).isNull();
+        verify(eventMapper, never()).searchEventIds(any());
+        verify(index, never()).facets(any(), any(), anyInt());
+    }
+
+    private static Event event(Long eventId) {
+        Event event = new Event();
+        event.setEventId(eventId);
+        return event;
+    }
+}
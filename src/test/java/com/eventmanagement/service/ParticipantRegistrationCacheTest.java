@@ -0,0 +1,117 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.analytics.EventStatisticsAggregate;
+import com.eventmanagement.analytics.RegistrationRollups;
+import com.eventmanagement.analytics.TrendingEvents;
+import com.eventmanagement.analytics.UniqueParticipants;
+import com.eventmanagement.cache.EventCache;
+import com.eventmanagement.cache.NegativeCache;
+import com.eventmanagement.dto.ParticipantRequest;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.mapper.ParticipantMapper;
+import com.eventmanagement.mapper.SeatCounterMapper;
+import com.eventmanagement.search.ParticipantScheduleIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Participant Registration Cache Test
+ *
+ * Registers several participants for one event through the real event service, seat
+ * counter and event cache, each in its own simulated transaction, and counts the event
+ * lookups that reach the mapper.
+ */
+public class ParticipantRegistrationCacheTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    private EventMapper eventMapper;
+    private EventCache eventCache;
+    private ParticipantService participantService;
+
+    @BeforeEach
+    void setUp() {
+        eventMapper = mock(EventMapper.class);
+        ParticipantMapper participantMapper = mock(ParticipantMapper.class);
+
+        eventCache = new EventCache();
+        ReflectionTestUtils.setField(eventCache, "maxWeightBytes", 1_000_000L);
+        ReflectionTestUtils.setField(eventCache, "expireAfterWriteSeconds", 60L);
+        ReflectionTestUtils.invokeMethod(eventCache, "init");
+
+        SeatCounterService seatCounterService = new SeatCounterService();
+        ReflectionTestUtils.setField(seatCounterService, "eventMapper", eventMapper);
+        ReflectionTestUtils.setField(seatCounterService, "seatCounterMapper", mock(SeatCounterMapper.class));
+        ReflectionTestUtils.setField(seatCounterService, "eventCache", eventCache);
+
+        EventService eventService = new EventService();
+        ReflectionTestUtils.setField(eventService, "eventMapper", eventMapper);
+        ReflectionTestUtils.setField(eventService, "eventCache", eventCache);
+        ReflectionTestUtils.setField(eventService, "seatCounterService", seatCounterService);
+        ReflectionTestUtils.setField(eventService, "eventNegativeCache",
+                new NegativeCache("events.missing", Duration.ofSeconds(30), 1000, null, null));
+
+        ParticipantScheduleIndex index = new ParticipantScheduleIndex();
+        ReflectionTestUtils.setField(index, "participantMapper", participantMapper);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.rebuild();
+
+        participantService = new ParticipantService();
+        ReflectionTestUtils.setField(participantService, "participantMapper", participantMapper);
+        ReflectionTestUtils.setField(participantService, "eventService", eventService);
+        ReflectionTestUtils.setField(participantService, "participantScheduleIndex", index);
+        ReflectionTestUtils.setField(participantService, "eventStatisticsAggregate", new EventStatisticsAggregate());
+        ReflectionTestUtils.setField(participantService, "registrationRollups", new RegistrationRollups());
+        ReflectionTestUtils.setField(participantService, "trendingEvents", new TrendingEvents());
+        ReflectionTestUtils.setField(participantService, "uniqueParticipants", new UniqueParticipants());
+        ReflectionTestUtils.setField(participantService, "participationNegativeCache",
+                new NegativeCache("participations.missing", Duration.ofSeconds(30), 1000, null, null));
+
+        Event event = new Event("Hot Event", "Description", LocalDateTime.of(2030, 5, 1, 10, 0),
+                LocalDateTime.of(2030, 5, 1, 12, 0), "Hall", "Organizer", 100);
+        event.setEventId(EVENT_ID);
+        event.setCounterSlots(1);
+        event.setScheduleConflicts("WARN");
+        when(eventMapper.findById(EVENT_ID)).thenReturn(event);
+        when(eventMapper.claimSeat(EVENT_ID)).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testRegistrationsForOneEventLoadItOnce() {
+        for (int i = 0; i < 5; i++) {
+            TransactionSynchronizationManager.initSynchronization();
+            participantService.registerParticipant(new ParticipantRequest(EVENT_ID, "Participant " + i,
+                    "participant" + i + "@example.com", null));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(eventMapper, times(1)).findById(EVENT_ID);
+        verify(eventMapper, times(5)).claimSeat(EVENT_ID);
+        assertThat(eventCache.get(EVENT_ID, eventMapper::findById).getCurrentParticipants()).isEqualTo(5);
+    }
+}
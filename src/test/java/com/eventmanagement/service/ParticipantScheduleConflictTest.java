@@ -0,0 +1,126 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.analytics.EventStatisticsAggregate;
+import com.eventmanagement.analytics.RegistrationRollups;
+import com.eventmanagement.analytics.TrendingEvents;
+import com.eventmanagement.analytics.UniqueParticipants;
+import com.eventmanagement.cache.NegativeCache;
+import com.eventmanagement.dto.EventResponse;
+import com.eventmanagement.dto.ParticipantRequest;
+import com.eventmanagement.dto.ParticipantResponse;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.mapper.ParticipantMapper;
+import com.eventmanagement.search.ParticipantScheduleIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Participant Schedule Conflict Test
+ *
+ * Registers against a schedule index holding one earlier registration, with the event
+ * service mocked, and checks the per-event WARN and REJECT policies.
+ */
+public class ParticipantScheduleConflictTest {
+
+    private static final String EMAIL = "alice@example.com";
+
+    private ParticipantMapper participantMapper;
+    private EventService eventService;
+    private ParticipantService participantService;
+
+    @BeforeEach
+    void setUp() {
+        participantMapper = mock(ParticipantMapper.class);
+        eventService = mock(EventService.class);
+
+        ParticipantScheduleIndex index = new ParticipantScheduleIndex();
+        ReflectionTestUtils.setField(index, "participantMapper", participantMapper);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.rebuild();
+        index.register(EMAIL, 1L, at("2030-05-01T10:00"), at("2030-05-01T12:00"));
+        when(eventService.getEventById(1L)).thenReturn(response(1L, "2030-05-01T10:00", "2030-05-01T12:00"));
+
+        participantService = new ParticipantService();
+        ReflectionTestUtils.setField(participantService, "participantMapper", participantMapper);
+        ReflectionTestUtils.setField(participantService, "eventService", eventService);
+        ReflectionTestUtils.setField(participantService, "participantScheduleIndex", index);
+        ReflectionTestUtils.setField(participantService, "eventStatisticsAggregate", new EventStatisticsAggregate());
+        ReflectionTestUtils.setField(participantService, "registrationRollups", new RegistrationRollups());
+        ReflectionTestUtils.setField(participantService, "trendingEvents", new TrendingEvents());
+        UniqueParticipants uniqueParticipants = new UniqueParticipants();
+        ReflectionTestUtils.setField(uniqueParticipants, "enabled", true);
+        ReflectionTestUtils.setField(participantService, "uniqueParticipants", uniqueParticipants);
+        ReflectionTestUtils.setField(participantService, "participationNegativeCache",
+                new NegativeCache("participations.missing", Duration.ofSeconds(30), 1000, null, null));
+    }
+
+    @Test
+    public void testWarnRegistersAndListsOverlappingEvents() {
+        when(eventService.getEventEntityById(2L)).thenReturn(event(2L, "WARN", "2030-05-01T11:00", "2030-05-01T13:00"));
+        when(eventService.claimSeat(2L)).thenReturn(true);
+
+        ParticipantResponse response = participantService.registerParticipant(request(2L));
+
+        assertThat(response.getConflictingEventIds()).containsExactly(1L);
+        verify(participantMapper).insert(any());
+        // The schedule check and the participant sketches share one lookup
+        verify(eventService, times(1)).getEventEntityById(2L);
+        verify(participantMapper, never()).findByParticipantEmail(anyString());
+    }
+
+    @Test
+    public void testRejectRefusesBeforeClaimingASeat() {
+        when(eventService.getEventEntityById(2L)).thenReturn(event(2L, "REJECT", "2030-05-01T11:00", "2030-05-01T13:00"));
+
+        assertThatThrownBy(() -> participantService.registerParticipant(request(2L)))
+                .hasMessage("Participant is already registered for events at overlapping times: [1]");
+        verify(eventService, never()).claimSeat(2L);
+        verify(participantMapper, never()).insert(any());
+    }
+
+    @Test
+    public void testMovedEventIsNotReported() {
+        // The index still holds the old schedule of event 1
+        when(eventService.getEventById(1L)).thenReturn(response(1L, "2030-05-01T14:00", "2030-05-01T16:00"));
+        when(eventService.getEventEntityById(2L)).thenReturn(event(2L, "REJECT", "2030-05-01T11:00", "2030-05-01T13:00"));
+        when(eventService.claimSeat(2L)).thenReturn(true);
+
+        ParticipantResponse response = participantService.registerParticipant(request(2L));
+
+        assertThat(response.getConflictingEventIds()).isNull();
+    }
+
+    private static ParticipantRequest request(Long eventId) {
+        return new ParticipantRequest(eventId, "Alice", EMAIL, null);
+    }
+
+    private static Event event(Long eventId, String scheduleConflicts, String start, String end) {
+        Event event = new Event("Meetup", null, at(start), at(end), "Room A", "Organizer", 10);
+        event.setEventId(eventId);
+        event.setScheduleConflicts(scheduleConflicts);
+        return event;
+    }
+
+    private static EventResponse response(Long eventId, String start, String end) {
+        return new EventResponse(eventId, "Meetup", null, at(start), at(end), "Room A", "Organizer",
+                10, 0, "ACTIVE", null, null);
+    }
+
+    private static LocalDateTime at(String dateTime) {
+        return LocalDateTime.parse(dateTime);
+    }
+}
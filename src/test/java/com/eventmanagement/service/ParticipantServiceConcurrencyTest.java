@@ -0,0 +1,146 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.ParticipantRequest;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.mapper.ParticipantMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ParticipantService Concurrency Tests
+ *
+ * Fires thousands of parallel registrations at a single event against the Oracle database
+ * and verifies that the conditional seat claim never overbooks. Its throughput against the
+ * previous check-then-insert sequence is reported by SeatClaimBenchmark.
+ *
+ * Runs without a test transaction because every registration must commit on its own thread.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class ParticipantServiceConcurrencyTest {
+
+    private static final int CAPACITY = 100;
+    private static final int REGISTRATIONS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ParticipantService participantService;
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @Autowired
+    private ParticipantMapper participantMapper;
+
+    private final List<Long> createdEventIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        // Clean up committed test data
+        for (Long eventId : createdEventIds) {
+            participantMapper.deleteByEventId(eventId);
+            eventMapper.deleteById(eventId);
+        }
+        createdEventIds.clear();
+    }
+
+    @Test
+    public void testParallelRegistrationsNeverOverbook() throws Exception {
+        Long eventId = insertTestEvent(CAPACITY);
+        AtomicInteger registered = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runInParallel(i -> {
+            try {
+                participantService.registerParticipant(new ParticipantRequest(
+                        eventId, "Load Test " + i, "load" + i + "@example.com", null));
+                registered.incrementAndGet();
+            } catch (RuntimeException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        Event event = eventMapper.findById(eventId);
+        assertThat(registered.get()).isEqualTo(CAPACITY);
+        assertThat(rejected.get()).isEqualTo(REGISTRATIONS - CAPACITY);
+        assertThat(participantMapper.countByEventId(eventId)).isEqualTo(CAPACITY);
+        assertThat(event.getCurrentParticipants()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    public void testCancellationReleasesSeat() {
+        Long eventId = insertTestEvent(1);
+
+        var response = participantService.registerParticipant(
+                new ParticipantRequest(eventId, "First", "first@example.com", null));
+        assertThat(eventMapper.findById(eventId).getCurrentParticipants()).isEqualTo(1);
+
+        participantService.cancelParticipation(response.getParticipationId());
+        assertThat(eventMapper.findById(eventId).getCurrentParticipants()).isEqualTo(0);
+
+        participantService.registerParticipant(
+                new ParticipantRequest(eventId, "Second", "second@example.com", null));
+        assertThat(eventMapper.findById(eventId).getCurrentParticipants()).isEqualTo(1);
+    }
+
+    private void runInParallel(RegistrationTask task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(REGISTRATIONS);
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            int index = i;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    task.register(index);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(5, TimeUnit.MINUTES)).isTrue();
+        executor.shutdown();
+    }
+
+    private Long insertTestEvent(int capacity) {
+        Event event = new Event(
+            "Concurrency Test " + System.nanoTime(),
+            "Concurrency Test Description",
+            LocalDateTime.of(2030, 2, 1, 10, 0),
+            LocalDateTime.of(2030, 2, 1, 12, 0),
+            "Concurrency Test Location",
+            "Concurrency Test Organizer",
+            capacity
+        );
+        eventMapper.insert(event);
+        createdEventIds.add(event.getEventId());
+        return event.getEventId();
+    }
+
+    @FunctionalInterface
+    private interface RegistrationTask {
+        void register(int index);
+    }
+}
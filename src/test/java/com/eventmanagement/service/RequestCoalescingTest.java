@@ -0,0 +1,149 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.cache.EventCache;
+import com.eventmanagement.cache.NegativeCache;
+import com.eventmanagement.dto.EventResponse;
+import com.eventmanagement.dto.ParticipantResponse;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Participant;
+import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.mapper.ParticipantMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Request Coalescing Test
+ *
+ * Fires 500 concurrent lookups of the same key and holds the first mapper call open
+ * until every other caller is parked, so all of them arrive while the load is in flight.
+ */
+public class RequestCoalescingTest {
+
+    private static final int CALLERS = 500;
+    private static final Long EVENT_ID = 1L;
+
+    private EventMapper eventMapper;
+    private ParticipantMapper participantMapper;
+    private EventService eventService;
+    private ParticipantService participantService;
+
+    private final List<Thread> callers = new ArrayList<>();
+    private final AtomicInteger arrived = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        eventMapper = mock(EventMapper.class);
+        participantMapper = mock(ParticipantMapper.class);
+
+        EventCache eventCache = new EventCache();
+        ReflectionTestUtils.setField(eventCache, "maxWeightBytes", 1_000_000L);
+        ReflectionTestUtils.setField(eventCache, "expireAfterWriteSeconds", 60L);
+        ReflectionTestUtils.invokeMethod(eventCache, "init");
+
+        eventService = new EventService();
+        ReflectionTestUtils.setField(eventService, "eventMapper", eventMapper);
+        ReflectionTestUtils.setField(eventService, "eventCache", eventCache);
+        ReflectionTestUtils.setField(eventService, "eventNegativeCache",
+                new NegativeCache("events.missing", Duration.ofSeconds(30), 1000, null, null));
+
+        participantService = new ParticipantService();
+        ReflectionTestUtils.setField(participantService, "participantMapper", participantMapper);
+        ReflectionTestUtils.setField(participantService, "eventService", eventService);
+        ReflectionTestUtils.setField(participantService, "participationNegativeCache",
+                new NegativeCache("participations.missing", Duration.ofSeconds(30), 1000, null, null));
+    }
+
+    @Test
+    public void testConcurrentEventLookupsShareOneQuery() throws Exception {
+        when(eventMapper.findById(EVENT_ID)).thenAnswer(invocation -> {
+            awaitOtherCallersParked();
+            return testEvent();
+        });
+
+        List<EventResponse> responses = runCallers(() -> eventService.getEventById(EVENT_ID));
+
+        verify(eventMapper, times(1)).findById(EVENT_ID);
+        assertThat(responses).hasSize(CALLERS).allMatch(response -> "Viral Event".equals(response.getEventName()));
+    }
+
+    @Test
+    public void testConcurrentParticipantListingsShareOneQuery() throws Exception {
+        when(eventMapper.findById(EVENT_ID)).thenReturn(testEvent());
+        eventService.getEventEntityById(EVENT_ID);
+        when(participantMapper.findByEventId(EVENT_ID)).thenAnswer(invocation -> {
+            awaitOtherCallersParked();
+            return List.of(new Participant(EVENT_ID, "Attendee", "attendee@example.com", null));
+        });
+
+        List<List<ParticipantResponse>> responses = runCallers(
+                () -> participantService.getParticipantsByEventId(EVENT_ID));
+
+        verify(participantMapper, times(1)).findByEventId(EVENT_ID);
+        assertThat(responses).hasSize(CALLERS).allMatch(participants -> participants.size() == 1);
+    }
+
+    private <T> List<T> runCallers(Supplier<T> call) throws InterruptedException {
+        ConcurrentLinkedQueue<T> results = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < CALLERS; i++) {
+            Thread caller = new Thread(() -> {
+                try {
+                    start.await();
+                    arrived.incrementAndGet();
+                    results.add(call.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            callers.add(caller);
+            caller.start();
+        }
+        start.countDown();
+        for (Thread caller : callers) {
+            caller.join(60_000);
+        }
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Hold the in-flight query until every other caller is blocked waiting for it
+     */
+    private void awaitOtherCallersParked() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            long parked = callers.stream()
+                    .filter(caller -> caller != Thread.currentThread())
+                    .filter(caller -> caller.getState() == Thread.State.WAITING
+                            || caller.getState() == Thread.State.BLOCKED)
+                    .count();
+            if (arrived.get() == CALLERS && parked == CALLERS - 1) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Callers did not join the in-flight query");
+    }
+
+    private static Event testEvent() {
+        Event event = new Event("Viral Event", "Everyone wants in", LocalDateTime.of(2030, 1, 1, 10, 0),
+                LocalDateTime.of(2030, 1, 1, 12, 0), "Main Hall", "Organizer", 1000);
+        event.setEventId(EVENT_ID);
+        return event;
+    }
+}